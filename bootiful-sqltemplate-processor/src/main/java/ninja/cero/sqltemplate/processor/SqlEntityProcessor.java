@@ -0,0 +1,702 @@
+package ninja.cero.sqltemplate.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor which generates a reflection-free RowMapper and parameter source
+ * for each class annotated with {@code ninja.cero.sqltemplate.core.entity.SqlEntity}.
+ * <p>
+ * For {@code com.example.Emp}, the class {@code com.example.Emp_SqlEntitySupport} is generated, and registered
+ * to {@code META-INF/services/ninja.cero.sqltemplate.core.entity.SqlEntitySupport}, so that MapperBuilder and
+ * ParamBuilder of bootiful-sqltemplate pick it up at runtime. The generated code calls the setters, getters,
+ * public fields and canonical constructor directly, and follows the mapping rules of BeanMapper, RecordMapper
+ * and BeanParameter.
+ * <p>
+ * The processor refers to bootiful-sqltemplate by names only, so it has no dependencies.
+ */
+public class SqlEntityProcessor extends AbstractProcessor {
+    /** The annotation which marks the entity classes */
+    static final String SQL_ENTITY = "ninja.cero.sqltemplate.core.entity.SqlEntity";
+
+    /** The interface of the generated classes, which is also the name of the service file */
+    static final String SQL_ENTITY_SUPPORT = "ninja.cero.sqltemplate.core.entity.SqlEntitySupport";
+
+    /** The suffix of the generated class name, the same as SqlEntitySupports.SUFFIX */
+    static final String SUFFIX = "_SqlEntitySupport";
+
+    /** The service file */
+    static final String SERVICE_FILE = "META-INF/services/" + SQL_ENTITY_SUPPORT;
+
+    protected Elements elements;
+
+    protected Types types;
+
+    protected Filer filer;
+
+    protected Messager messager;
+
+    /** The generated class names, written to the service file when the processing is over */
+    protected final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(SQL_ENTITY);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!generated.isEmpty()) {
+                writeServiceFile();
+            }
+            return false;
+        }
+
+        TypeElement annotation = elements.getTypeElement(SQL_ENTITY);
+        if (annotation == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                error(element, "@SqlEntity is only applicable to classes and records");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            if (!validate(type)) {
+                continue;
+            }
+
+            try {
+                generate(type);
+            } catch (IOException e) {
+                error(type, "Couldn't generate the SqlEntitySupport: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check that the generated class can instantiate and access the entity class.
+     *
+     * @param type the entity class
+     * @return true if the class is valid
+     */
+    protected boolean validate(TypeElement type) {
+        boolean valid = true;
+        for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "@SqlEntity class must not be private, nor be nested in a private class");
+                valid = false;
+                break;
+            }
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            error(type, "@SqlEntity class must be a top level or static nested class");
+            valid = false;
+        } else if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            error(type, "@SqlEntity class must be a top level or static nested class");
+            valid = false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@SqlEntity class must not be abstract");
+            valid = false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@SqlEntity class must not be generic");
+            valid = false;
+        }
+        if (type.getKind() == ElementKind.CLASS && noArgsConstructor(type) == null) {
+            error(type, "@SqlEntity class must have a non-private constructor without arguments");
+            valid = false;
+        }
+        return valid;
+    }
+
+    protected ExecutableElement noArgsConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generate the SqlEntitySupport of the entity class.
+     *
+     * @param type the entity class
+     * @throws IOException in case of write failure
+     */
+    protected void generate(TypeElement type) throws IOException {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String qualifiedName = supportClassName(type);
+        String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        String entity = type.getQualifiedName().toString();
+
+        List<Property> writable = type.getKind() == ElementKind.RECORD ? recordComponents(type) : writableProperties(type);
+        List<Property> readable = type.getKind() == ElementKind.RECORD ? recordComponents(type) : readableProperties(type);
+
+        SourceWriter out = new SourceWriter();
+        if (!packageName.isEmpty()) {
+            out.line("package " + packageName + ";");
+            out.line();
+        }
+        out.line("import ninja.cero.sqltemplate.core.mapper.GeneratedMapper;");
+        out.line("import ninja.cero.sqltemplate.core.parameter.BeanParameter;");
+        out.line("import ninja.cero.sqltemplate.core.util.JdbcValueUtils;");
+        out.line();
+        out.line("import java.sql.ResultSet;");
+        out.line("import java.sql.SQLException;");
+        out.line("import java.time.ZoneId;");
+        out.line("import java.util.Map;");
+        out.line();
+        out.line("/**");
+        out.line(" * The RowMapper and parameter source of {@link " + entity + "}.");
+        out.line(" */");
+        out.line("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+        out.line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        out.line("public final class " + simpleName + " implements " + SQL_ENTITY_SUPPORT + "<" + entity + "> {");
+        out.indent();
+        out.line("@Override");
+        out.line("public Class<" + entity + "> entityClass() {");
+        out.line("    return " + entity + ".class;");
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public Mapper mapper(ZoneId zoneId) {");
+        out.line("    return new Mapper(zoneId);");
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public BeanParameter parameter(" + entity + " entity, ZoneId zoneId) {");
+        out.line("    return new Parameter(entity, zoneId);");
+        out.line("}");
+        out.line();
+        writeMapper(out, type, entity, writable);
+        out.line();
+        writeParameter(out, entity, readable);
+        out.outdent();
+        out.line("}");
+
+        JavaFileObject file = filer.createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(out.toString());
+        }
+        generated.add(qualifiedName);
+    }
+
+    /**
+     * Get the name of the generated class, the same as SqlEntitySupports.supportClassName.
+     *
+     * @param type the entity class
+     * @return the class name
+     */
+    protected String supportClassName(TypeElement type) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_') + SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    protected void writeMapper(SourceWriter out, TypeElement type, String entity, List<Property> properties) {
+        boolean isRecord = type.getKind() == ElementKind.RECORD;
+
+        out.line("public static final class Mapper extends GeneratedMapper<" + entity + "> {");
+        out.indent();
+        StringBuilder names = new StringBuilder();
+        for (Property property : properties) {
+            names.append(names.length() == 0 ? "" : ", ").append('"').append(property.name).append('"');
+        }
+        out.line("private static final Map<String, Integer> ORDINALS = ordinals(" + names + ");");
+        out.line();
+        out.line("public Mapper(ZoneId zoneId) {");
+        out.line("    super(zoneId, ORDINALS, " + properties.size() + ");");
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public Mapper copy() {");
+        out.line("    return new Mapper(zoneId);");
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public " + entity + " mapRow(ResultSet rs, int rowNum) throws SQLException {");
+        out.indent();
+        out.line("int[] columns = columns(rs);");
+        out.line("Object value;");
+        if (!isRecord) {
+            out.line(entity + " entity = new " + entity + "();");
+        }
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            String getter = property.resultSetGetter();
+            if (getter != null) {
+                // read the primitive without boxing; a null column leaves the default value, like BeanMapper and RecordMapper
+                if (isRecord) {
+                    out.line(property.declaredType() + " p" + i + " = " + property.defaultValue() + ";");
+                    out.line("if (columns[" + i + "] != 0) {");
+                    out.line("    p" + i + " = rs." + getter + "(columns[" + i + "]);");
+                } else {
+                    out.line("if (columns[" + i + "] != 0) {");
+                    out.line("    " + property.declaredType() + " v" + i + " = rs." + getter + "(columns[" + i + "]);");
+                    out.line("    if (!rs.wasNull()) {");
+                    out.line("        " + property.write("v" + i) + ";");
+                    out.line("    }");
+                }
+                out.line("}");
+                continue;
+            }
+
+            if (!property.type.getKind().isPrimitive()) {
+                // set null too, like BeanMapper
+                String read = "(" + property.declaredType() + ") value(rs, columns[" + i + "], " + property.classLiteral() + ")";
+                if (isRecord) {
+                    out.line(property.declaredType() + " p" + i + " = columns[" + i + "] != 0 ? " + read + " : null;");
+                } else {
+                    out.line("if (columns[" + i + "] != 0) {");
+                    out.line("    " + property.write(read) + ";");
+                    out.line("}");
+                }
+                continue;
+            }
+
+            String read = "columns[" + i + "] != 0 && (value = value(rs, columns[" + i + "], " + property.classLiteral() + ")) != null";
+            if (isRecord) {
+                out.line(property.declaredType() + " p" + i + " = " + property.defaultValue() + ";");
+                out.line("if (" + read + ") {");
+                out.line("    p" + i + " = " + property.cast("value") + ";");
+            } else {
+                out.line("if (" + read + ") {");
+                out.line("    " + property.write(property.cast("value")) + ";");
+            }
+            out.line("}");
+        }
+        if (isRecord) {
+            StringBuilder args = new StringBuilder();
+            for (int i = 0; i < properties.size(); i++) {
+                args.append(i == 0 ? "" : ", ").append('p').append(i);
+            }
+            out.line("return new " + entity + "(" + args + ");");
+        } else {
+            out.line("return entity;");
+        }
+        out.outdent();
+        out.line("}");
+        out.outdent();
+        out.line("}");
+    }
+
+    protected void writeParameter(SourceWriter out, String entity, List<Property> properties) {
+        out.line("public static final class Parameter extends BeanParameter {");
+        out.indent();
+        for (int i = 0; i < properties.size(); i++) {
+            out.line("private static final int SQL_TYPE_" + i + " = JdbcValueUtils.getSqlType(" + properties.get(i).classLiteral() + ");");
+        }
+        if (!properties.isEmpty()) {
+            out.line();
+        }
+        out.line("private final " + entity + " bean;");
+        out.line();
+        out.line("public Parameter(" + entity + " entity, ZoneId zoneId) {");
+        out.line("    super(zoneId);");
+        out.line("    this.entity = entity;");
+        out.line("    this.bean = entity;");
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public boolean hasValue(String paramName) {");
+        out.indent();
+        out.line("switch (paramName) {");
+        for (Property property : properties) {
+            out.line("    case \"" + property.name + "\":");
+        }
+        if (!properties.isEmpty()) {
+            out.line("        return true;");
+        }
+        out.line("    default:");
+        out.line("        return false;");
+        out.line("}");
+        out.outdent();
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public Object getValue(String paramName) {");
+        out.indent();
+        out.line("Object value;");
+        out.line("switch (paramName) {");
+        for (Property property : properties) {
+            out.line("    case \"" + property.name + "\":");
+            out.line("        value = " + property.read("bean") + ";");
+            out.line("        break;");
+        }
+        out.line("    default:");
+        out.line("        return null;");
+        out.line("}");
+        out.line("return value == null ? null : JdbcValueUtils.convertIfNecessary(value, zoneId);");
+        out.outdent();
+        out.line("}");
+        out.line();
+        out.line("@Override");
+        out.line("public int getSqlType(String paramName) {");
+        out.indent();
+        out.line("int sqlType = super.getSqlType(paramName);");
+        out.line("if (sqlType != TYPE_UNKNOWN) {");
+        out.line("    return sqlType;");
+        out.line("}");
+        out.line();
+        out.line("switch (paramName) {");
+        for (int i = 0; i < properties.size(); i++) {
+            out.line("    case \"" + properties.get(i).name + "\":");
+            out.line("        return SQL_TYPE_" + i + ";");
+        }
+        out.line("    default:");
+        out.line("        return TYPE_UNKNOWN;");
+        out.line("}");
+        out.outdent();
+        out.line("}");
+        out.outdent();
+        out.line("}");
+    }
+
+    /**
+     * Collect the properties which BeanMapper writes to: the public setters, then the public non-final fields.
+     *
+     * @param type the entity class
+     * @return the properties in ordinal order
+     */
+    protected List<Property> writableProperties(TypeElement type) {
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        Map<String, Property> properties = new LinkedHashMap<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            String methodName = method.getSimpleName().toString();
+            if (!isPublicInstance(method) || method.getParameters().size() != 1
+                    || !methodName.startsWith("set") || methodName.length() == 3) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            String name = decapitalize(methodName.substring(3));
+            properties.putIfAbsent(name, new Property(name, methodType.getParameterTypes().get(0), methodName + "(%s)"));
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(elements.getAllMembers(type))) {
+            if (!isPublicInstance(field) || field.getModifiers().contains(Modifier.FINAL)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            properties.putIfAbsent(name, new Property(name, types.asMemberOf(declaredType, field), name + " = %s"));
+        }
+
+        return new ArrayList<>(properties.values());
+    }
+
+    /**
+     * Collect the properties which BeanParameter reads from: the public getters, then the public fields.
+     *
+     * @param type the entity class
+     * @return the properties
+     */
+    protected List<Property> readableProperties(TypeElement type) {
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        Map<String, Property> properties = new LinkedHashMap<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            String methodName = method.getSimpleName().toString();
+            if (!isPublicInstance(method) || !method.getParameters().isEmpty() || methodName.equals("getClass")) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            TypeMirror returnType = methodType.getReturnType();
+            String name;
+            if (methodName.startsWith("get") && methodName.length() > 3 && returnType.getKind() != TypeKind.VOID) {
+                name = decapitalize(methodName.substring(3));
+            } else if (methodName.startsWith("is") && methodName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+                name = decapitalize(methodName.substring(2));
+            } else {
+                continue;
+            }
+            properties.putIfAbsent(name, new Property(name, returnType, methodName + "()"));
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(elements.getAllMembers(type))) {
+            if (!isPublicInstance(field)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            properties.putIfAbsent(name, new Property(name, types.asMemberOf(declaredType, field), name));
+        }
+
+        return new ArrayList<>(properties.values());
+    }
+
+    /**
+     * Collect the components of the record, which are both the constructor parameters and the parameters.
+     *
+     * @param type the record class
+     * @return the properties in the order of the canonical constructor
+     */
+    protected List<Property> recordComponents(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            String name = component.getSimpleName().toString();
+            properties.add(new Property(name, component.asType(), name + "()"));
+        }
+        return properties;
+    }
+
+    protected boolean isPublicInstance(Element element) {
+        Set<Modifier> modifiers = element.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC);
+    }
+
+    /**
+     * Decapitalize the name by the same rule as {@link java.beans.Introspector#decapitalize(String)}.
+     *
+     * @param name the name
+     * @return the decapitalized name
+     */
+    protected static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Write the service file of the generated classes. The entries of the previous compilation (e.g. incremental builds)
+     * are kept only if their entity classes are still annotated with SqlEntity, so that the renamed or deleted
+     * entities do not leave the stale entries.
+     */
+    protected void writeServiceFile() {
+        Set<String> services = new TreeSet<>(generated);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.strip();
+                    if (!line.isEmpty() && !line.startsWith("#") && !services.contains(line) && isCurrentSupport(line)) {
+                        services.add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // not exists
+        }
+
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String service : services) {
+                    writer.write(service);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Couldn't write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check that the generated class of the previous compilation is still the support of an SqlEntity class.
+     *
+     * @param name the name of the generated class
+     * @return true if the class and its entity class exist, and the entity class is annotated with SqlEntity
+     */
+    protected boolean isCurrentSupport(String name) {
+        TypeElement support = elements.getTypeElement(name);
+        if (support == null) {
+            return false;
+        }
+
+        for (TypeMirror supportInterface : support.getInterfaces()) {
+            if (!(supportInterface instanceof DeclaredType declaredType)
+                    || !((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(SQL_ENTITY_SUPPORT)
+                    || declaredType.getTypeArguments().size() != 1
+                    || declaredType.getTypeArguments().get(0).getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+
+            TypeElement entity = (TypeElement) ((DeclaredType) declaredType.getTypeArguments().get(0)).asElement();
+            boolean annotated = entity.getAnnotationMirrors().stream()
+                    .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(SQL_ENTITY));
+            return annotated && supportClassName(entity).equals(name);
+        }
+        return false;
+    }
+
+    protected void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * A property of the entity class.
+     */
+    protected class Property {
+        /** The property name */
+        final String name;
+
+        /** The property type */
+        final TypeMirror type;
+
+        /** The accessor expression on the entity, with %s for the value in case of writing */
+        final String accessor;
+
+        Property(String name, TypeMirror type, String accessor) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+        }
+
+        String declaredType() {
+            return type.getKind().isPrimitive() ? type.toString() : types.erasure(type).toString();
+        }
+
+        String classLiteral() {
+            return declaredType() + ".class";
+        }
+
+        String cast(String value) {
+            if (type.getKind().isPrimitive()) {
+                return "(" + types.boxedClass((PrimitiveType) type).getQualifiedName() + ") " + value;
+            }
+            return "(" + declaredType() + ") " + value;
+        }
+
+        /**
+         * Get the name of the ResultSet getter which reads the primitive property without boxing.
+         *
+         * @return the getter name, or null if the property is not a primitive which has a getter
+         */
+        String resultSetGetter() {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                    return "getBoolean";
+                case BYTE:
+                    return "getByte";
+                case SHORT:
+                    return "getShort";
+                case INT:
+                    return "getInt";
+                case LONG:
+                    return "getLong";
+                case FLOAT:
+                    return "getFloat";
+                case DOUBLE:
+                    return "getDouble";
+                default:
+                    return null;
+            }
+        }
+
+        String defaultValue() {
+            switch (type.getKind()) {
+                case BOOLEAN:
+                    return "false";
+                case CHAR:
+                    return "'\\0'";
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    return "(" + type + ") 0";
+                default:
+                    return "null";
+            }
+        }
+
+        String read(String bean) {
+            return bean + "." + accessor;
+        }
+
+        String write(String value) {
+            return "entity." + String.format(accessor, value);
+        }
+    }
+
+    /**
+     * A StringBuilder for the generated source with indentation.
+     */
+    protected static class SourceWriter {
+        private final StringBuilder source = new StringBuilder();
+
+        private String indent = "";
+
+        void indent() {
+            indent += "    ";
+        }
+
+        void outdent() {
+            indent = indent.substring(4);
+        }
+
+        void line() {
+            source.append('\n');
+        }
+
+        void line(String line) {
+            source.append(indent).append(line).append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+    }
+}
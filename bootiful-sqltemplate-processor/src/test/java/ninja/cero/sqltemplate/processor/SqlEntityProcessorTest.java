@@ -0,0 +1,134 @@
+package ninja.cero.sqltemplate.processor;
+
+import ninja.cero.sqltemplate.SqlTemplate;
+import ninja.cero.sqltemplate.core.mapper.BeanMapper;
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.BeanParameter;
+import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
+import ninja.cero.sqltemplate.processor.entity.Emp;
+import ninja.cero.sqltemplate.processor.entity.EmpJob;
+import ninja.cero.sqltemplate.processor.entity.EmpRecord;
+import ninja.cero.sqltemplate.processor.entity.Emp_SqlEntitySupport;
+import ninja.cero.sqltemplate.processor.entity.PublicEmp;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlEntityProcessorTest {
+    static EmbeddedDatabase dataSource;
+
+    static SqlTemplate template;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("schema.sql")
+                .addScript("data.sql")
+                .build();
+        template = new SqlTemplate(new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void mapper_sqlEntity_usesGeneratedMapper() {
+        RowMapper<Emp> mapper = new MapperBuilder().mapper(Emp.class);
+
+        assertInstanceOf(Emp_SqlEntitySupport.Mapper.class, mapper);
+        assertFalse(mapper instanceof BeanMapper);
+    }
+
+    @Test
+    void forList_bean() {
+        List<Emp> result = template.query("select * from emp order by empno").forList(Emp.class);
+
+        assertEquals(3, result.size());
+        Emp smith = result.get(0);
+        assertEquals(7369, smith.getEmpno());
+        assertEquals("SMITH", smith.getEname());
+        assertEquals("CLERK", smith.getJob());
+        assertEquals(7902, smith.getMgr());
+        assertEquals(LocalDate.of(1980, 12, 17), smith.getHiredate());
+        assertEquals(0, new BigDecimal("800").compareTo(smith.getSal()));
+        assertEquals(0.0, smith.getComm());
+        assertEquals(20, smith.getDeptno());
+        assertEquals(300.0, result.get(1).getComm());
+    }
+
+    @Test
+    void forList_publicFields() {
+        List<PublicEmp> result = template.query("select empno, ename, hiredate, comm from emp order by empno").forList(PublicEmp.class);
+
+        assertEquals(3, result.size());
+        assertEquals(7369, result.get(0).empno);
+        assertEquals("SMITH", result.get(0).ename);
+        assertEquals(LocalDate.of(1980, 12, 17), result.get(0).hiredate);
+        assertNull(result.get(0).comm);
+        assertEquals(300.0, result.get(1).comm);
+    }
+
+    @Test
+    void forList_record() {
+        List<EmpRecord> result = template.query("select comm, ename, empno from emp order by empno").forList(EmpRecord.class);
+
+        assertEquals(new EmpRecord(7369, "SMITH", null, 0), result.get(0));
+        assertEquals(new EmpRecord(7499, "ALLEN", null, 300), result.get(1));
+    }
+
+    @Test
+    void forList_enum() {
+        List<EmpJob> result = template.query("select empno, job from emp order by empno").forList(EmpJob.class);
+
+        assertEquals(List.of(new EmpJob(7369, EmpJob.Job.CLERK), new EmpJob(7499, EmpJob.Job.SALESMAN),
+                new EmpJob(7521, EmpJob.Job.SALESMAN)), result);
+    }
+
+    @Test
+    void forList_enum_nonStringColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> template.query("select empno, mgr as job from emp").forList(EmpJob.class));
+    }
+
+    @Test
+    void byBean_sqlEntity_usesGeneratedParameter() {
+        Emp emp = new Emp();
+        emp.setEmpno(7499);
+        emp.setHiredate(LocalDate.of(1981, 2, 20));
+
+        BeanParameter parameter = new ParamBuilder(ZoneId.systemDefault()).byBean(emp);
+
+        assertInstanceOf(Emp_SqlEntitySupport.Parameter.class, parameter);
+        assertTrue(parameter.hasValue("empno"));
+        assertFalse(parameter.hasValue("class"));
+        assertFalse(parameter.hasValue("unknown"));
+        assertEquals(7499, parameter.getValue("empno"));
+        assertEquals(Types.DATE, parameter.getSqlType("hiredate"));
+    }
+
+    @Test
+    void param_record() {
+        EmpRecord emp = new EmpRecord(7499, null, null, 0);
+
+        String ename = template.query("select ename from emp where empno = :empno").param(emp).forObject(String.class);
+
+        assertEquals("ALLEN", ename);
+    }
+}
@@ -0,0 +1,82 @@
+package ninja.cero.sqltemplate.processor.entity;
+
+import ninja.cero.sqltemplate.core.entity.SqlEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@SqlEntity
+public class Emp {
+    private int empno;
+    private String ename;
+    private String job;
+    private Integer mgr;
+    private LocalDate hiredate;
+    private BigDecimal sal;
+    private double comm;
+    private int deptno;
+
+    public int getEmpno() {
+        return empno;
+    }
+
+    public void setEmpno(int empno) {
+        this.empno = empno;
+    }
+
+    public String getEname() {
+        return ename;
+    }
+
+    public void setEname(String ename) {
+        this.ename = ename;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public Integer getMgr() {
+        return mgr;
+    }
+
+    public void setMgr(Integer mgr) {
+        this.mgr = mgr;
+    }
+
+    public LocalDate getHiredate() {
+        return hiredate;
+    }
+
+    public void setHiredate(LocalDate hiredate) {
+        this.hiredate = hiredate;
+    }
+
+    public BigDecimal getSal() {
+        return sal;
+    }
+
+    public void setSal(BigDecimal sal) {
+        this.sal = sal;
+    }
+
+    public double getComm() {
+        return comm;
+    }
+
+    public void setComm(double comm) {
+        this.comm = comm;
+    }
+
+    public int getDeptno() {
+        return deptno;
+    }
+
+    public void setDeptno(int deptno) {
+        this.deptno = deptno;
+    }
+}
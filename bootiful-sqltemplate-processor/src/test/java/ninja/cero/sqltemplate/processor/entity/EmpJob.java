@@ -0,0 +1,10 @@
+package ninja.cero.sqltemplate.processor.entity;
+
+import ninja.cero.sqltemplate.core.entity.SqlEntity;
+
+@SqlEntity
+public record EmpJob(int empno, Job job) {
+    public enum Job {
+        CLERK, SALESMAN
+    }
+}
@@ -0,0 +1,9 @@
+package ninja.cero.sqltemplate.processor.entity;
+
+import ninja.cero.sqltemplate.core.entity.SqlEntity;
+
+import java.time.LocalDate;
+
+@SqlEntity
+public record EmpRecord(int empno, String ename, LocalDate hiredate, double comm) {
+}
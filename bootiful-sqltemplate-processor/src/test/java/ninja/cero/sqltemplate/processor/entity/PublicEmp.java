@@ -0,0 +1,13 @@
+package ninja.cero.sqltemplate.processor.entity;
+
+import ninja.cero.sqltemplate.core.entity.SqlEntity;
+
+import java.time.LocalDate;
+
+@SqlEntity
+public class PublicEmp {
+    public int empno;
+    public String ename;
+    public LocalDate hiredate;
+    public Double comm;
+}
@@ -0,0 +1,5 @@
+INSERT INTO emp VALUES
+ (7369, 'SMITH',  'CLERK',     7902, '1980-12-17',  800, NULL, 20)
+,(7499, 'ALLEN',  'SALESMAN',  7698, '1981-02-20', 1600,  300, 30)
+,(7521, 'WARD',   'SALESMAN',  7698, '1981-02-22', 1250,  500, 30)
+;
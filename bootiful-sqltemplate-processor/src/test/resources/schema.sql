@@ -0,0 +1,12 @@
+DROP TABLE IF EXISTS emp;
+
+CREATE TABLE emp(
+    empno INT PRIMARY KEY
+    ,ename VARCHAR(20)
+    ,job VARCHAR(10)
+    ,mgr INT
+    ,hiredate DATE
+    ,sal FLOAT
+    ,comm FLOAT
+    ,deptno INT
+);
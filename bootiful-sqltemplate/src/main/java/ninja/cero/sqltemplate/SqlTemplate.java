@@ -2,7 +2,10 @@ package ninja.cero.sqltemplate;
 
 import ninja.cero.sqltemplate.core.ArrayBuilder;
 import ninja.cero.sqltemplate.core.BatchBuilder;
+import ninja.cero.sqltemplate.core.WarmUp;
+import ninja.cero.sqltemplate.core.executor.CompiledNamedParameterJdbcTemplate;
 import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.InListBuckets;
 import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
 import ninja.cero.sqltemplate.core.template.TemplateEngine;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -19,6 +22,9 @@ public class SqlTemplate {
 
     protected MapperBuilder mapperBuilder;
 
+    /** The template engine of {@link #file(String)} */
+    protected TemplateEngine templateEngine = TemplateEngine.FREEMARKER;
+
     public SqlTemplate(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
         this(jdbcTemplate, namedJdbcTemplate, new ParamBuilder(), new MapperBuilder());
     }
@@ -29,13 +35,45 @@ public class SqlTemplate {
 
     public SqlTemplate(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate, ParamBuilder paramBuilder, MapperBuilder mapperBuilder) {
         this.jdbcTemplate = jdbcTemplate;
-        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.namedJdbcTemplate = compiled(namedJdbcTemplate);
         this.paramBuilder = paramBuilder;
         this.mapperBuilder = mapperBuilder;
     }
 
+    /**
+     * Replace a plain NamedParameterJdbcTemplate with a {@link CompiledNamedParameterJdbcTemplate} of the same JdbcOperations.
+     * A subclass is kept as is, not to lose its behavior.
+     *
+     * @param namedJdbcTemplate the NamedParameterJdbcTemplate
+     * @return the NamedParameterJdbcTemplate to execute the named SQL
+     */
+    protected static NamedParameterJdbcTemplate compiled(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        if (namedJdbcTemplate.getClass() != NamedParameterJdbcTemplate.class) {
+            return namedJdbcTemplate;
+        }
+
+        CompiledNamedParameterJdbcTemplate compiled = new CompiledNamedParameterJdbcTemplate(namedJdbcTemplate.getJdbcOperations());
+        compiled.setCacheLimit(namedJdbcTemplate.getCacheLimit());
+        return compiled;
+    }
+
+    /**
+     * Set the buckets which the collection parameters of the IN clauses are expanded to, so that the lists of
+     * various sizes share a few SQL strings. Only the collections of IN clauses may be padded, see {@link InListBuckets}.
+     *
+     * @param inListBuckets the buckets, or null not to pad the collections
+     * @throws IllegalStateException if the NamedParameterJdbcTemplate is a subclass which is not compiled
+     */
+    public void setInListBuckets(InListBuckets inListBuckets) {
+        if (!(namedJdbcTemplate instanceof CompiledNamedParameterJdbcTemplate compiled)) {
+            throw new IllegalStateException("InListBuckets need a CompiledNamedParameterJdbcTemplate, not "
+                    + namedJdbcTemplate.getClass().getName());
+        }
+        compiled.setInListBuckets(inListBuckets);
+    }
+
     public ArrayBuilder file(String filename) {
-        return new ArrayBuilder(jdbcTemplate, namedJdbcTemplate, paramBuilder, mapperBuilder, TemplateEngine.FREEMARKER, filename);
+        return new ArrayBuilder(jdbcTemplate, namedJdbcTemplate, paramBuilder, mapperBuilder, templateEngine, filename);
     }
 
     public ArrayBuilder query(String query) {
@@ -45,4 +83,14 @@ public class SqlTemplate {
     public BatchBuilder batchUpdate() {
         return new BatchBuilder(jdbcTemplate, namedJdbcTemplate, paramBuilder, mapperBuilder);
     }
+
+    /**
+     * Create a builder of the warm-up, which pre-builds the mappers of the entity classes and loads the templates
+     * with the template engine of {@link #file(String)}.
+     *
+     * @return the builder
+     */
+    public WarmUp warmUp() {
+        return new WarmUp(mapperBuilder, templateEngine);
+    }
 }
@@ -1,14 +1,17 @@
 package ninja.cero.sqltemplate.core;
 
 import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.BatchArgsParameter;
 import ninja.cero.sqltemplate.core.parameter.BeanParameter;
 import ninja.cero.sqltemplate.core.parameter.MapParameter;
 import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
+import ninja.cero.sqltemplate.core.parameter.SingleParamBatchArgsParameter;
 import ninja.cero.sqltemplate.core.template.TemplateEngine;
 import ninja.cero.sqltemplate.core.util.TypeUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +25,9 @@ public class BatchArgsBuilder {
     protected TemplateEngine templateEngine;
     protected String template;
 
+    /** The maximum number of the rows of a multi-row INSERT, or 0 to execute the batch as a JDBC batch */
+    protected int multiRowInsertRows;
+
     public BatchArgsBuilder(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate, ParamBuilder paramBuilder, MapperBuilder mapperBuilder, TemplateEngine templateEngine, String template) {
         this.jdbcTemplate = jdbcTemplate;
         this.namedJdbcTemplate = namedJdbcTemplate;
@@ -31,6 +37,31 @@ public class BatchArgsBuilder {
         this.template = template;
     }
 
+    /**
+     * Execute a batch of a single-row {@code INSERT ... VALUES (...)} as multi-row INSERTs of up to 1000 rows,
+     * see {@link MultiRowInsert}. The other statements are executed as a JDBC batch.
+     *
+     * @return this builder
+     */
+    public BatchArgsBuilder multiRowInsert() {
+        return multiRowInsert(1000);
+    }
+
+    /**
+     * Execute a batch of a single-row {@code INSERT ... VALUES (...)} as multi-row INSERTs, see {@link MultiRowInsert}.
+     * The other statements are executed as a JDBC batch.
+     *
+     * @param maxRows the maximum number of the rows of a statement, which is also limited by the bind parameter limit
+     * @return this builder
+     */
+    public BatchArgsBuilder multiRowInsert(int maxRows) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows must be positive: " + maxRows);
+        }
+        this.multiRowInsertRows = maxRows;
+        return this;
+    }
+
     public BatchArrayArgsBuilder addBatch(Object... batchArgs) {
         return new BatchArrayArgsBuilder(batchArgs);
     }
@@ -73,7 +104,12 @@ public class BatchArgsBuilder {
         public int[] execute() {
             String sql = templateEngine.get(template);
             Object[][] args = batchArgList.toArray(new Object[batchArgList.size()][]);
-            return jdbcTemplate.batchUpdate(sql, paramBuilder.byBatchArgs(args));
+            BatchArgsParameter batchArgs = paramBuilder.byBatchArgs(args);
+            MultiRowInsert insert = multiRowInsert(sql);
+            if (insert != null) {
+                return insert.execute(jdbcTemplate, args.length, multiRowInsertRows, batchArgs::setValues);
+            }
+            return jdbcTemplate.batchUpdate(sql, batchArgs);
         }
     }
 
@@ -93,13 +129,18 @@ public class BatchArgsBuilder {
             String sql = templateEngine.get(template);
             if (TypeUtils.isSimpleValueType(batchEntities.get(0).getClass())) {
                 Object[] args = batchEntities.toArray(new Object[0]);
-                return jdbcTemplate.batchUpdate(sql, paramBuilder.byBatchArgs(args));
+                SingleParamBatchArgsParameter batchArgs = paramBuilder.byBatchArgs(args);
+                MultiRowInsert insert = multiRowInsert(sql);
+                if (insert != null) {
+                    return insert.execute(jdbcTemplate, args.length, multiRowInsertRows, batchArgs::setValues);
+                }
+                return jdbcTemplate.batchUpdate(sql, batchArgs);
             }
 
             BeanParameter[] beanParameters = batchEntities.stream()
                     .map(paramBuilder::byBean)
                     .toArray(BeanParameter[]::new);
-            return namedJdbcTemplate.batchUpdate(sql, beanParameters);
+            return namedBatchUpdate(sql, beanParameters);
         }
     }
 
@@ -121,7 +162,7 @@ public class BatchArgsBuilder {
                     .toArray(MapParameter[]::new);
 
             String sql = templateEngine.get(template);
-            return namedJdbcTemplate.batchUpdate(sql, mapParameters);
+            return namedBatchUpdate(sql, mapParameters);
         }
     }
 
@@ -150,7 +191,35 @@ public class BatchArgsBuilder {
             }
 
             String sql = templateEngine.get(template);
-            return namedJdbcTemplate.batchUpdate(sql, batchParameters);
+            return namedBatchUpdate(sql, batchParameters);
+        }
+    }
+
+    /**
+     * Get the multi-row INSERT of the SQL if enabled.
+     *
+     * @param sql the SQL
+     * @return the multi-row INSERT, or null to execute the batch as a JDBC batch
+     */
+    protected MultiRowInsert multiRowInsert(String sql) {
+        return multiRowInsertRows > 0 ? MultiRowInsert.of(sql) : null;
+    }
+
+    /**
+     * Execute the batch of the named SQL, as multi-row INSERTs if enabled and possible.
+     *
+     * @param sql          the named SQL
+     * @param batchSources the parameter sources
+     * @return the update count of each row
+     */
+    protected int[] namedBatchUpdate(String sql, SqlParameterSource[] batchSources) {
+        MultiRowInsert insert = multiRowInsert(sql);
+        if (insert != null) {
+            int[] counts = insert.execute(jdbcTemplate, batchSources, multiRowInsertRows);
+            if (counts != null) {
+                return counts;
+            }
         }
+        return namedJdbcTemplate.batchUpdate(sql, batchSources);
     }
 }
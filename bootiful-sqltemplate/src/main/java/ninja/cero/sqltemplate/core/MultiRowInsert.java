@@ -0,0 +1,274 @@
+package ninja.cero.sqltemplate.core;
+
+import ninja.cero.sqltemplate.core.parameter.NamedSql;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A single-row {@code INSERT ... VALUES (...)} rewritten into the multi-row {@code VALUES (...), (...)} statements,
+ * which insert a batch in a few round trips even if the driver executes a JDBC batch row by row.
+ * <p>
+ * A statement has as many rows as the bind parameter limit of the database allows, up to the given maximum,
+ * and the rest of the batch is inserted in the chunks of the powers of two, so that a template has a few distinct
+ * SQL strings and prepared statements whatever the batch sizes are.
+ * The update count of each row is 1 if a statement reports as many rows as it has,
+ * or {@link Statement#SUCCESS_NO_INFO} if not (e.g. an upsert or {@code ON CONFLICT DO NOTHING}).
+ * <p>
+ * The database must support the multi-row {@code VALUES}, which Oracle does not before 23ai.
+ */
+public class MultiRowInsert {
+    /** The cache of the parsed SQL by the template SQL, empty if it is not a single-row INSERT */
+    protected static final ConcurrentLruCache<String, Optional<MultiRowInsert>> CACHE =
+            new ConcurrentLruCache<>(256, sql -> Optional.ofNullable(parse(sql)));
+
+    /** The bind parameter limits by the database product name */
+    protected static final Map<String, Integer> MAX_PARAMETERS = Map.of(
+            "PostgreSQL", 32767,
+            "MySQL", 65535,
+            "MariaDB", 65535,
+            "Microsoft SQL Server", 2099);
+
+    /** The bind parameter limit of the other databases */
+    protected static final int DEFAULT_MAX_PARAMETERS = 32767;
+
+    /** The detected bind parameter limits by DataSource */
+    protected static final Map<DataSource, Integer> DATA_SOURCE_MAX_PARAMETERS =
+            new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+    /** The positional SQL before the row */
+    protected final String prefix;
+
+    /** The row of the positional SQL, e.g. "(?, ?)" */
+    protected final String row;
+
+    /** The positional SQL after the row */
+    protected final String suffix;
+
+    /** The parameter names of the row in order, empty for a positional SQL */
+    protected final String[] parameterNames;
+
+    /** The number of the parameters of a row */
+    protected final int parametersPerRow;
+
+    /** The SQL by the number of the rows, only the full chunks and the powers of two */
+    protected final Map<Integer, String> sqlByRows = new ConcurrentHashMap<>();
+
+    protected MultiRowInsert(String prefix, String row, String suffix, String[] parameterNames, int parametersPerRow) {
+        this.prefix = prefix;
+        this.row = row;
+        this.suffix = suffix;
+        this.parameterNames = parameterNames;
+        this.parametersPerRow = parametersPerRow;
+    }
+
+    /**
+     * Get the multi-row INSERT of the SQL.
+     *
+     * @param sql the named or positional SQL
+     * @return the multi-row INSERT, or null if the SQL is not a single-row INSERT with all the parameters in the row
+     */
+    public static MultiRowInsert of(String sql) {
+        return CACHE.get(sql).orElse(null);
+    }
+
+    /**
+     * Parse the SQL.
+     *
+     * @param sql the named or positional SQL
+     * @return the multi-row INSERT, or null if the SQL is not a single-row INSERT with all the parameters in the row
+     */
+    protected static MultiRowInsert parse(String sql) {
+        NamedSql namedSql = NamedSql.of(sql);
+        String positional = namedSql.getSql();
+        if (positional == null) {
+            return null;
+        }
+        positional = positional.strip();
+        if (positional.endsWith(";")) {
+            positional = positional.substring(0, positional.length() - 1).stripTrailing();
+        }
+        if (!positional.regionMatches(true, 0, "INSERT", 0, 6)) {
+            return null;
+        }
+
+        int values = -1;
+        int rowStart = -1;
+        int rowEnd = -1;
+        int parameters = 0;
+        int rowParameters = 0;
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < positional.length(); i++) {
+            char c = positional.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+
+            if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?') {
+                parameters++;
+                if (rowStart >= 0 && rowEnd < 0) {
+                    rowParameters++;
+                }
+            } else if (c == '(') {
+                if (depth == 0 && values >= 0 && rowStart < 0) {
+                    if (!positional.substring(values + 6, i).isBlank()) {
+                        return null;
+                    }
+                    rowStart = i;
+                }
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0 && rowStart >= 0 && rowEnd < 0) {
+                    rowEnd = i + 1;
+                }
+            } else if (depth == 0 && positional.regionMatches(true, i, "VALUES", 0, 6) && isWord(positional, i, 6)) {
+                if (values >= 0) {
+                    return null;
+                }
+                values = i;
+            }
+        }
+
+        if (rowEnd < 0 || parameters == 0 || parameters != rowParameters
+                || positional.substring(rowEnd).stripLeading().startsWith(",")) {
+            return null;
+        }
+        return new MultiRowInsert(positional.substring(0, rowStart), positional.substring(rowStart, rowEnd),
+                positional.substring(rowEnd), namedSql.getParameterNames(), parameters);
+    }
+
+    private static boolean isWord(String sql, int start, int length) {
+        boolean before = start == 0 || !Character.isLetterOrDigit(sql.charAt(start - 1)) && sql.charAt(start - 1) != '_';
+        int end = start + length;
+        boolean after = end == sql.length() || !Character.isLetterOrDigit(sql.charAt(end)) && sql.charAt(end) != '_';
+        return before && after;
+    }
+
+    /**
+     * Get the positional SQL of the given number of the rows. It is cached, so only a few numbers should be passed.
+     *
+     * @param rows the number of the rows
+     * @return the positional SQL
+     */
+    public String getSql(int rows) {
+        return sqlByRows.computeIfAbsent(rows, n -> prefix + String.join(", ", Collections.nCopies(n, row)) + suffix);
+    }
+
+    /**
+     * Execute the batch of the positional parameters.
+     *
+     * @param jdbcTemplate the JdbcTemplate
+     * @param rowCount     the number of the rows
+     * @param maxRows      the maximum number of the rows of a statement
+     * @param binder       the binder of the parameters of a row
+     * @return the update count of each row
+     */
+    public int[] execute(JdbcTemplate jdbcTemplate, int rowCount, int maxRows, RowBinder binder) {
+        int rowsPerStatement = Math.max(1, Math.min(maxRows, maxParameters(jdbcTemplate) / parametersPerRow));
+
+        int[] counts = new int[rowCount];
+        int first = 0;
+        while (first < rowCount) {
+            int start = first;
+            // the rest in the chunks of the powers of two, e.g. 13 rows in 8 + 4 + 1
+            int rows = rowCount - start >= rowsPerStatement ? rowsPerStatement : Integer.highestOneBit(rowCount - start);
+            int updated = jdbcTemplate.update(getSql(rows), ps -> {
+                for (int i = 0; i < rows; i++) {
+                    binder.bind(ps, 1 + i * parametersPerRow, start + i);
+                }
+            });
+            Arrays.fill(counts, start, start + rows, updated == rows ? 1 : Statement.SUCCESS_NO_INFO);
+            first += rows;
+        }
+        return counts;
+    }
+
+    /**
+     * Execute the batch of the named parameters.
+     *
+     * @param jdbcTemplate the JdbcTemplate
+     * @param sources      the parameter sources of the rows
+     * @param maxRows      the maximum number of the rows of a statement
+     * @return the update count of each row, or null if the first row has a parameter which Spring expands into
+     * several placeholders, to execute the batch as usual
+     */
+    public int[] execute(JdbcTemplate jdbcTemplate, SqlParameterSource[] sources, int maxRows) {
+        if (sources.length > 0) {
+            for (String name : parameterNames) {
+                Object value = sources[0].getValue(name);
+                if (value instanceof Iterable<?> || value instanceof SqlParameterValue parameterValue && parameterValue.getValue() instanceof Iterable<?>) {
+                    return null;
+                }
+            }
+        }
+
+        return execute(jdbcTemplate, sources.length, maxRows, (ps, firstIndex, i) -> {
+            SqlParameterSource source = sources[i];
+            for (int j = 0; j < parameterNames.length; j++) {
+                String name = parameterNames[j];
+                StatementCreatorUtils.setParameterValue(ps, firstIndex + j,
+                        source.getSqlType(name), source.getTypeName(name), source.getValue(name));
+            }
+        });
+    }
+
+    /**
+     * Get the bind parameter limit of the database, detected by the database product name once per DataSource.
+     *
+     * @param jdbcTemplate the JdbcTemplate
+     * @return the bind parameter limit
+     */
+    protected static int maxParameters(JdbcTemplate jdbcTemplate) {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        if (dataSource == null) {
+            return DEFAULT_MAX_PARAMETERS;
+        }
+        return DATA_SOURCE_MAX_PARAMETERS.computeIfAbsent(dataSource, ds -> {
+            try {
+                String productName = JdbcUtils.extractDatabaseMetaData(ds, DatabaseMetaData::getDatabaseProductName);
+                return MAX_PARAMETERS.getOrDefault(productName, DEFAULT_MAX_PARAMETERS);
+            } catch (MetaDataAccessException e) {
+                return DEFAULT_MAX_PARAMETERS;
+            }
+        });
+    }
+
+    /**
+     * The binder of the parameters of a row.
+     */
+    @FunctionalInterface
+    public interface RowBinder {
+        /**
+         * Bind the parameters of the row.
+         *
+         * @param ps         the PreparedStatement
+         * @param firstIndex the parameter index of the first parameter of the row
+         * @param i          the index of the row
+         * @throws SQLException if thrown by the JDBC driver
+         */
+        void bind(PreparedStatement ps, int firstIndex, int i) throws SQLException;
+    }
+}
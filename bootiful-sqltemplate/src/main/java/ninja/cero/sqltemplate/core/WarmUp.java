@@ -0,0 +1,331 @@
+package ninja.cero.sqltemplate.core;
+
+import ninja.cero.sqltemplate.core.entity.SqlEntitySupports;
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.BeanParameter;
+import ninja.cero.sqltemplate.core.template.TemplateEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CustomizableThreadCreator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builder of the warm-up of a {@link ninja.cero.sqltemplate.SqlTemplate}, which pre-builds and caches
+ * the row mappers and the bean accessors of the entity classes, and loads and caches the templates,
+ * so that the first requests after startup do not pay for them.
+ * <pre>{@code
+ * WarmUp.Report report = sqlTemplate.warmUp()
+ *         .packages("com.example.entity")
+ *         .templates("sql")
+ *         .execute();
+ * }</pre>
+ * The column layouts of the {@link ninja.cero.sqltemplate.core.mapper.BytecodeMapper}s are only known by the queries,
+ * so their classes are still generated on the first query of each layout.
+ */
+public class WarmUp {
+    /** Logger available to subclasses */
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected MapperBuilder mapperBuilder;
+
+    /** The template engine of {@link ninja.cero.sqltemplate.SqlTemplate#file(String)} */
+    protected TemplateEngine templateEngine;
+
+    /** The entity classes */
+    protected Set<Class<?>> entities = new LinkedHashSet<>();
+
+    /** The packages to scan for the entity classes */
+    protected List<String> packages = new ArrayList<>();
+
+    /** The classpath directories to scan for the templates */
+    protected List<String> templateDirectories = new ArrayList<>();
+
+    /** The classpath directories to scan for the SQL files of the batch updates */
+    protected List<String> batchDirectories = new ArrayList<>();
+
+    /** The number of the threads */
+    protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public WarmUp(MapperBuilder mapperBuilder) {
+        this(mapperBuilder, TemplateEngine.FREEMARKER);
+    }
+
+    public WarmUp(MapperBuilder mapperBuilder, TemplateEngine templateEngine) {
+        this.mapperBuilder = mapperBuilder;
+        this.templateEngine = templateEngine;
+    }
+
+    /**
+     * Add the entity classes.
+     *
+     * @param entities the entity classes
+     * @return this builder
+     */
+    public WarmUp entities(Class<?>... entities) {
+        Collections.addAll(this.entities, entities);
+        return this;
+    }
+
+    /**
+     * Add the packages to scan for the entity classes, including the sub packages.
+     * The concrete classes are warmed up, except enums.
+     *
+     * @param packages the package names
+     * @return this builder
+     */
+    public WarmUp packages(String... packages) {
+        Collections.addAll(this.packages, packages);
+        return this;
+    }
+
+    /**
+     * Add the classpath directories to scan for the templates of {@link ninja.cero.sqltemplate.SqlTemplate#file(String)},
+     * including the sub directories. They are loaded by its template engine.
+     *
+     * @param directories the directories such as "sql"
+     * @return this builder
+     */
+    public WarmUp templates(String... directories) {
+        Collections.addAll(this.templateDirectories, directories);
+        return this;
+    }
+
+    /**
+     * Add the classpath directories to scan for the SQL files of {@link BatchBuilder#file(String)},
+     * including the sub directories. They are loaded as plain text.
+     *
+     * @param directories the directories such as "sql"
+     * @return this builder
+     */
+    public WarmUp batchTemplates(String... directories) {
+        Collections.addAll(this.batchDirectories, directories);
+        return this;
+    }
+
+    /**
+     * Set the number of the threads, the number of the processors by default.
+     *
+     * @param parallelism the number of the threads
+     * @return this builder
+     */
+    public WarmUp parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Execute the warm-up. The failure to scan or warm up a class or template does not stop the others, and is reported.
+     *
+     * @return the report
+     */
+    public Report execute() {
+        CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("sqltemplate-warmup-");
+        threadCreator.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadCreator::createThread);
+        try {
+            Map<String, Throwable> failures = new LinkedHashMap<>();
+
+            long start = System.nanoTime();
+            List<Class<?>> classes = new ArrayList<>(entities);
+            for (String packageName : packages) {
+                for (Class<?> clazz : scanClasses(packageName, failures)) {
+                    if (!classes.contains(clazz)) {
+                        classes.add(clazz);
+                    }
+                }
+            }
+            List<Class<?>> warmedEntities = run(executor, classes, Class::getName, this::warmUpEntity, failures);
+            Duration entityTime = Duration.ofNanos(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<String> templates = new ArrayList<>();
+            for (String directory : templateDirectories) {
+                templates.addAll(scanTemplates(directory, failures));
+            }
+            List<String> warmedTemplates = new ArrayList<>(run(executor, templates, name -> name, this::warmUpTemplate, failures));
+
+            List<String> batchTemplates = new ArrayList<>();
+            for (String directory : batchDirectories) {
+                batchTemplates.addAll(scanTemplates(directory, failures));
+            }
+            for (String name : run(executor, batchTemplates, name -> name, this::warmUpBatchTemplate, failures)) {
+                if (!warmedTemplates.contains(name)) {
+                    warmedTemplates.add(name);
+                }
+            }
+            Duration templateTime = Duration.ofNanos(System.nanoTime() - start);
+
+            Report report = new Report(warmedEntities, entityTime, warmedTemplates, templateTime, failures);
+            if (logger.isInfoEnabled()) {
+                logger.info("Warmed up " + warmedEntities.size() + " entities in " + entityTime.toMillis() + " ms and "
+                        + warmedTemplates.size() + " templates in " + templateTime.toMillis() + " ms, "
+                        + failures.size() + " failures");
+            }
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Warm up an entity class: the row mapper and the descriptor of the parameter.
+     *
+     * @param clazz the entity class
+     */
+    protected void warmUpEntity(Class<?> clazz) {
+        mapperBuilder.mapper(clazz);
+        if (SqlEntitySupports.find(clazz) == null) {
+            BeanParameter.Descriptor.of(clazz);
+        }
+    }
+
+    /**
+     * Warm up a template of {@link ninja.cero.sqltemplate.SqlTemplate#file(String)}.
+     *
+     * @param name the template name
+     */
+    protected void warmUpTemplate(String name) {
+        templateEngine.load(name);
+    }
+
+    /**
+     * Warm up an SQL file of {@link BatchBuilder#file(String)}.
+     *
+     * @param name the file name
+     */
+    protected void warmUpBatchTemplate(String name) {
+        TemplateEngine.TEXT_FILE.load(name);
+    }
+
+    /**
+     * Run the task for the items in parallel.
+     *
+     * @param executor the executor
+     * @param items    the items
+     * @param name     the function which names an item in the failures
+     * @param task     the task
+     * @param failures the failures to add to
+     * @param <T>      the type of the items
+     * @return the items which the task succeeded for
+     */
+    protected <T> List<T> run(ExecutorService executor, List<T> items, Function<T, String> name,
+                              Consumer<T> task, Map<String, Throwable> failures) {
+        List<Future<?>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit((Callable<Void>) () -> {
+                task.accept(item);
+                return null;
+            }));
+        }
+
+        List<T> succeeded = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                futures.get(i).get();
+                succeeded.add(items.get(i));
+            } catch (ExecutionException e) {
+                failures.put(name.apply(items.get(i)), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Warm-up interrupted", e);
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * Scan the package for the concrete classes.
+     *
+     * @param packageName the package name
+     * @param failures    the failures to add the classes which cannot be loaded, or the package which cannot be read, to
+     * @return the classes
+     */
+    protected List<Class<?>> scanClasses(String packageName, Map<String, Throwable> failures) {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        CachingMetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+        List<Class<?>> classes = new ArrayList<>();
+        try {
+            String pattern = "classpath*:" + ClassUtils.convertClassNameToResourcePath(packageName) + "/**/*.class";
+            for (Resource resource : resolver.getResources(pattern)) {
+                ClassMetadata metadata = readerFactory.getMetadataReader(resource).getClassMetadata();
+                if (!metadata.isConcrete() || !metadata.isIndependent() || metadata.isAnnotation()) {
+                    continue;
+                }
+                try {
+                    Class<?> clazz = ClassUtils.forName(metadata.getClassName(), classLoader);
+                    if (!clazz.isEnum() && !clazz.isAnonymousClass() && !clazz.isSynthetic()) {
+                        classes.add(clazz);
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    failures.put(metadata.getClassName(), e);
+                }
+            }
+        } catch (IOException e) {
+            failures.put(packageName, new UncheckedIOException(e));
+        }
+        return classes;
+    }
+
+    /**
+     * Scan the classpath directory for the templates.
+     *
+     * @param directory the directory
+     * @param failures  the failures to add the directory to if it cannot be read
+     * @return the template names
+     */
+    protected List<String> scanTemplates(String directory, Map<String, Throwable> failures) {
+        String root = directory.replaceAll("^/+|/+$", "");
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Set<String> names = new LinkedHashSet<>();
+        try {
+            for (Resource rootResource : resolver.getResources("classpath*:" + root + "/")) {
+                String rootUrl = rootResource.getURL().toString();
+                for (Resource resource : resolver.getResources(rootUrl + "**/*")) {
+                    String url = resource.getURL().toString();
+                    if (resource.isReadable() && !url.endsWith("/") && url.startsWith(rootUrl)) {
+                        names.add(root + "/" + url.substring(rootUrl.length()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            failures.put(directory, new UncheckedIOException(e));
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * The report of a warm-up.
+     *
+     * @param entities     the entity classes warmed up
+     * @param entityTime   the time taken to scan and warm up the entity classes
+     * @param templates    the template names warmed up
+     * @param templateTime the time taken to scan and warm up the templates
+     * @param failures     the failures by class, package, template or directory name
+     */
+    public record Report(List<Class<?>> entities, Duration entityTime, List<String> templates, Duration templateTime,
+                         Map<String, Throwable> failures) {
+    }
+}
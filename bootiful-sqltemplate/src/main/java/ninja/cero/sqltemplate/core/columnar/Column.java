@@ -0,0 +1,115 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of {@link ColumnarResult}, which stores the values of all rows in a growable array
+ * and the nulls in a bitmap.
+ */
+public abstract class Column {
+    /** The initial capacity of the arrays */
+    protected static final int INITIAL_CAPACITY = 16;
+
+    /** The column label */
+    protected final String name;
+
+    /** The number of the rows */
+    protected int size;
+
+    /** The bitmap of the null rows */
+    protected long[] nulls = new long[1];
+
+    protected Column(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the column label.
+     *
+     * @return the column label
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Get the number of the rows.
+     *
+     * @return the number of the rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check whether the value of the row is null.
+     *
+     * @param row the row index, 0-based
+     * @return true if null
+     */
+    public boolean isNull(int row) {
+        checkIndex(row);
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Get the value of the row as an object.
+     *
+     * @param row the row index, 0-based
+     * @return the value, or null
+     */
+    public abstract Object get(int row);
+
+    /**
+     * Read the column value of the current row of the ResultSet, and append it.
+     *
+     * @param rs    ResultSet
+     * @param index column index
+     * @throws SQLException in case of extraction failure
+     */
+    protected abstract void read(ResultSet rs, int index) throws SQLException;
+
+    /**
+     * Shrink the arrays to the number of the rows, after all rows are read.
+     */
+    protected abstract void trimToSize();
+
+    /**
+     * Get the new capacity of the arrays to append a row.
+     *
+     * @param capacity the current capacity
+     * @return the new capacity, or the current one if the row fits
+     */
+    protected int grow(int capacity) {
+        if (size < capacity) {
+            return capacity;
+        }
+        return Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+    }
+
+    /**
+     * Mark the row which is being appended as null.
+     */
+    protected void appendNull() {
+        int word = size >>> 6;
+        if (word >= nulls.length) {
+            nulls = Arrays.copyOf(nulls, Math.max(word + 1, nulls.length * 2));
+        }
+        nulls[word] |= 1L << size;
+    }
+
+    protected void trimNulls() {
+        int words = (size + 63) >>> 6;
+        if (words < nulls.length) {
+            nulls = Arrays.copyOf(nulls, Math.max(words, 1));
+        }
+    }
+
+    protected void checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " rows");
+        }
+    }
+}
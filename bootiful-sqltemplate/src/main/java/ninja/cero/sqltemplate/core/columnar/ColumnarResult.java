@@ -0,0 +1,131 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-oriented query result, returned by {@link ninja.cero.sqltemplate.core.executor.QueryExecutor#forColumns()}.
+ * <p>
+ * Integer, bigint and floating point columns are stored in primitive arrays with a null bitmap
+ * ({@link IntColumn}, {@link LongColumn}, {@link DoubleColumn}), character columns are dictionary-encoded
+ * ({@link StringColumn}), and the other columns are stored as objects ({@link ObjectColumn}).
+ * The columns are looked up by label, case-insensitively.
+ */
+public class ColumnarResult {
+    /** The columns in the order of the ResultSet */
+    protected final List<Column> columns;
+
+    /** The columns by label */
+    protected final Map<String, Column> columnsByName;
+
+    /** The number of the rows */
+    protected final int rowCount;
+
+    public ColumnarResult(List<Column> columns, int rowCount) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.rowCount = rowCount;
+        this.columnsByName = new LinkedCaseInsensitiveMap<>(columns.size());
+        for (Column column : columns) {
+            columnsByName.putIfAbsent(column.name(), column);
+        }
+    }
+
+    /**
+     * Get the number of the rows.
+     *
+     * @return the number of the rows
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the columns.
+     *
+     * @return the columns in the order of the ResultSet
+     */
+    public List<Column> columns() {
+        return columns;
+    }
+
+    /**
+     * Get the column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column
+     */
+    public Column column(String name) {
+        Column column = columnsByName.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No column '" + name + "' in " + columnsByName.keySet());
+        }
+        return column;
+    }
+
+    /**
+     * Get the int column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column, or it is not an int column
+     */
+    public IntColumn intColumn(String name) {
+        return column(name, IntColumn.class);
+    }
+
+    /**
+     * Get the long column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column, or it is not a long column
+     */
+    public LongColumn longColumn(String name) {
+        return column(name, LongColumn.class);
+    }
+
+    /**
+     * Get the double column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column, or it is not a double column
+     */
+    public DoubleColumn doubleColumn(String name) {
+        return column(name, DoubleColumn.class);
+    }
+
+    /**
+     * Get the String column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column, or it is not a String column
+     */
+    public StringColumn stringColumn(String name) {
+        return column(name, StringColumn.class);
+    }
+
+    /**
+     * Get the object column.
+     *
+     * @param name the column label, case-insensitive
+     * @return the column
+     * @throws IllegalArgumentException if the result does not have the column, or it is not an object column
+     */
+    public ObjectColumn objectColumn(String name) {
+        return column(name, ObjectColumn.class);
+    }
+
+    protected <C extends Column> C column(String name, Class<C> type) {
+        Column column = column(name);
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column '" + name + "' is " + column.getClass().getSimpleName() + ", not " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+}
@@ -0,0 +1,80 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ResultSetExtractor} implementation which reads all rows into a {@link ColumnarResult}.
+ * The column types are chosen once from the ResultSet metadata.
+ */
+public class ColumnarResultExtractor implements ResultSetExtractor<ColumnarResult> {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ColumnarResult extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Column[] columns = new Column[columnCount];
+        for (int index = 1; index <= columnCount; index++) {
+            columns[index - 1] = createColumn(metaData, index);
+        }
+
+        int rowCount = 0;
+        while (rs.next()) {
+            for (int index = 1; index <= columnCount; index++) {
+                columns[index - 1].read(rs, index);
+            }
+            rowCount++;
+        }
+
+        List<Column> result = new ArrayList<>(columnCount);
+        for (Column column : columns) {
+            column.trimToSize();
+            result.add(column);
+        }
+        return new ColumnarResult(result, rowCount);
+    }
+
+    /**
+     * Create the column for the SQL type of the column.
+     *
+     * @param metaData the ResultSet metadata
+     * @param index    column index
+     * @return the column
+     * @throws SQLException in case of metadata failure
+     */
+    protected Column createColumn(ResultSetMetaData metaData, int index) throws SQLException {
+        String name = JdbcUtils.lookupColumnName(metaData, index);
+        switch (metaData.getColumnType(index)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return new IntColumn(name);
+            case Types.INTEGER:
+                // unsigned integers (e.g. MySQL INT UNSIGNED) overflow int
+                return metaData.isSigned(index) ? new IntColumn(name) : new LongColumn(name);
+            case Types.BIGINT:
+                return metaData.isSigned(index) ? new LongColumn(name) : new ObjectColumn(name);
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return new DoubleColumn(name);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new StringColumn(name);
+            default:
+                return new ObjectColumn(name);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of int values, read with {@link ResultSet#getInt(int)}.
+ */
+public class IntColumn extends Column {
+    /** The values, 0 for nulls */
+    protected int[] values = new int[0];
+
+    public IntColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of the row.
+     *
+     * @param row the row index, 0-based
+     * @return the value, 0 if null
+     */
+    public int getInt(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    /**
+     * Get the values of all rows.
+     *
+     * @return a copy of the values, 0 for nulls
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    protected void read(ResultSet rs, int index) throws SQLException {
+        int capacity = grow(values.length);
+        if (capacity != values.length) {
+            values = Arrays.copyOf(values, capacity);
+        }
+        values[size] = rs.getInt(index);
+        if (rs.wasNull()) {
+            appendNull();
+        }
+        size++;
+    }
+
+    @Override
+    protected void trimToSize() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+        trimNulls();
+    }
+}
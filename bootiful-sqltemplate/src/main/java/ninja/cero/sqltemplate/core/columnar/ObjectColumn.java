@@ -0,0 +1,57 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A column of the values which do not have a primitive representation (e.g. DECIMAL, DATE, BLOB),
+ * read with {@link JdbcUtils#getResultSetValue(ResultSet, int)} like {@link org.springframework.jdbc.core.ColumnMapRowMapper}.
+ */
+public class ObjectColumn extends Column {
+    /** The values */
+    protected Object[] values = new Object[0];
+
+    public ObjectColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the values of all rows.
+     *
+     * @return a copy of the values
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Object get(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    @Override
+    protected void read(ResultSet rs, int index) throws SQLException {
+        int capacity = grow(values.length);
+        if (capacity != values.length) {
+            values = Arrays.copyOf(values, capacity);
+        }
+        Object value = JdbcUtils.getResultSetValue(rs, index);
+        values[size] = value;
+        if (value == null) {
+            appendNull();
+        }
+        size++;
+    }
+
+    @Override
+    protected void trimToSize() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+        trimNulls();
+    }
+}
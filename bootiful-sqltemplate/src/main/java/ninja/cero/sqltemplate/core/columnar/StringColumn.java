@@ -0,0 +1,116 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A dictionary-encoded column of String values, read with {@link ResultSet#getString(int)}.
+ * Each distinct value is stored once in the dictionary, and the rows hold the codes of the values.
+ */
+public class StringColumn extends Column {
+    /** The code of null values */
+    public static final int NULL_CODE = -1;
+
+    /** The codes of the values by row, {@link #NULL_CODE} for nulls */
+    protected int[] codes = new int[0];
+
+    /** The distinct values by code */
+    protected String[] dictionary = new String[0];
+
+    /** The number of the distinct values */
+    protected int dictionarySize;
+
+    /** The codes by value, only while reading the rows */
+    protected Map<String, Integer> encoder = new HashMap<>();
+
+    public StringColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of the row.
+     *
+     * @param row the row index, 0-based
+     * @return the value, or null
+     */
+    public String getString(int row) {
+        checkIndex(row);
+        int code = codes[row];
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    /**
+     * Get the dictionary code of the row.
+     *
+     * @param row the row index, 0-based
+     * @return the index of the value in {@link #dictionary()}, or {@link #NULL_CODE} if null
+     */
+    public int getCode(int row) {
+        checkIndex(row);
+        return codes[row];
+    }
+
+    /**
+     * Get the distinct values in order of appearance.
+     *
+     * @return a copy of the dictionary
+     */
+    public String[] dictionary() {
+        return Arrays.copyOf(dictionary, dictionarySize);
+    }
+
+    /**
+     * Get the codes of all rows.
+     *
+     * @return a copy of the codes, {@link #NULL_CODE} for nulls
+     */
+    public int[] codes() {
+        return Arrays.copyOf(codes, size);
+    }
+
+    @Override
+    public Object get(int row) {
+        return getString(row);
+    }
+
+    @Override
+    protected void read(ResultSet rs, int index) throws SQLException {
+        int capacity = grow(codes.length);
+        if (capacity != codes.length) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        String value = rs.getString(index);
+        if (value == null) {
+            codes[size] = NULL_CODE;
+            appendNull();
+        } else {
+            Integer code = encoder.get(value);
+            if (code == null) {
+                code = dictionarySize;
+                encoder.put(value, code);
+                if (dictionarySize == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, Math.max(INITIAL_CAPACITY, dictionarySize * 2));
+                }
+                dictionary[dictionarySize++] = value;
+            }
+            codes[size] = code;
+        }
+        size++;
+    }
+
+    @Override
+    protected void trimToSize() {
+        if (codes.length != size) {
+            codes = Arrays.copyOf(codes, size);
+        }
+        if (dictionary.length != dictionarySize) {
+            dictionary = Arrays.copyOf(dictionary, dictionarySize);
+        }
+        encoder = null;
+        trimNulls();
+    }
+}
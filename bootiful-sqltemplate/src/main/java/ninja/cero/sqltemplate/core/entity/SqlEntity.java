@@ -0,0 +1,22 @@
+package ninja.cero.sqltemplate.core.entity;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a value object class or record for which the {@code bootiful-sqltemplate-processor} annotation processor
+ * generates a reflection-free {@link org.springframework.jdbc.core.RowMapper} and parameter source at compile time.
+ * <p>
+ * {@link ninja.cero.sqltemplate.core.mapper.MapperBuilder} and {@link ninja.cero.sqltemplate.core.parameter.ParamBuilder}
+ * use the generated classes automatically, and fall back to the reflective
+ * {@link ninja.cero.sqltemplate.core.mapper.BeanMapper} / {@link ninja.cero.sqltemplate.core.parameter.BeanParameter}
+ * if they are not found (e.g. the processor is not on the annotation processor path).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SqlEntity {
+}
@@ -0,0 +1,40 @@
+package ninja.cero.sqltemplate.core.entity;
+
+import ninja.cero.sqltemplate.core.parameter.BeanParameter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.ZoneId;
+
+/**
+ * The mapper and the parameter source of a {@link SqlEntity} class, generated at compile time.
+ * The annotation processor registers the implementations in {@code META-INF/services}, and {@link SqlEntitySupports}
+ * loads the one of an entity class with {@link java.util.ServiceLoader}, choosing the provider by its class name,
+ * see {@link SqlEntitySupports#supportClassName(Class)}.
+ *
+ * @param <T> the entity class
+ */
+public interface SqlEntitySupport<T> {
+    /**
+     * Get the entity class.
+     *
+     * @return the entity class
+     */
+    Class<T> entityClass();
+
+    /**
+     * Create a new RowMapper of the entity class.
+     *
+     * @param zoneId the zoneId of JSR-310 DateTime
+     * @return the RowMapper
+     */
+    RowMapper<T> mapper(ZoneId zoneId);
+
+    /**
+     * Create a new parameter source of the entity.
+     *
+     * @param entity the value object for parameters
+     * @param zoneId the zoneId of JSR-310 DateTime
+     * @return the parameter source
+     */
+    BeanParameter parameter(T entity, ZoneId zoneId);
+}
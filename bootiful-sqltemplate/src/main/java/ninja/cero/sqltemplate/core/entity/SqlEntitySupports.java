@@ -0,0 +1,63 @@
+package ninja.cero.sqltemplate.core.entity;
+
+import ninja.cero.sqltemplate.core.util.ClassCache;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * The lookup of the generated {@link SqlEntitySupport} of {@link SqlEntity} classes.
+ */
+public class SqlEntitySupports {
+    /** The suffix of the generated class name */
+    public static final String SUFFIX = "_SqlEntitySupport";
+
+    /** The cache of the lookup results of classes. */
+    protected static final ClassCache<Optional<SqlEntitySupport<?>>> CACHE = new ClassCache<>(1024);
+
+    /**
+     * Find the generated support of the given class.
+     *
+     * @param clazz the entity class
+     * @param <T>   the entity class
+     * @return the support, or null if the class is not annotated with {@link SqlEntity} or the support is not generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SqlEntitySupport<T> find(Class<T> clazz) {
+        return (SqlEntitySupport<T>) CACHE.get(clazz, null, SqlEntitySupports::load).orElse(null);
+    }
+
+    /**
+     * Get the name of the generated support class, e.g. {@code com.example.Outer_Inner_SqlEntitySupport}
+     * for {@code com.example.Outer.Inner}.
+     *
+     * @param clazz the entity class
+     * @return the class name
+     */
+    public static String supportClassName(Class<?> clazz) {
+        String packageName = clazz.getPackageName();
+        String simpleNames = clazz.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleNames + SUFFIX;
+    }
+
+    /**
+     * Load the generated support of the class from the {@link ServiceLoader} providers of its ClassLoader,
+     * which GraalVM native images register without a reflection configuration.
+     *
+     * @param clazz the entity class
+     * @return the support, or empty if the class is not annotated with {@link SqlEntity} or the support is not generated
+     */
+    protected static Optional<SqlEntitySupport<?>> load(Class<?> clazz) {
+        if (!clazz.isAnnotationPresent(SqlEntity.class)) {
+            return Optional.empty();
+        }
+
+        // the provider types are compared by name, so that only the support of the class is instantiated
+        String name = supportClassName(clazz);
+        return ServiceLoader.load(SqlEntitySupport.class, clazz.getClassLoader())
+                .stream()
+                .filter(provider -> provider.type().getName().equals(name))
+                .findFirst()
+                .map(provider -> (SqlEntitySupport<?>) provider.get());
+    }
+}
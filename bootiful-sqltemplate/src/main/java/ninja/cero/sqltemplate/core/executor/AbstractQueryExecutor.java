@@ -1,10 +1,20 @@
 package ninja.cero.sqltemplate.core.executor;
 
+import ninja.cero.sqltemplate.core.columnar.ColumnarResult;
+import ninja.cero.sqltemplate.core.columnar.ColumnarResultExtractor;
+import ninja.cero.sqltemplate.core.mapper.Aggregate;
+import ninja.cero.sqltemplate.core.mapper.AggregateMapper;
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
 import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public abstract class AbstractQueryExecutor implements QueryExecutor {
@@ -29,4 +39,67 @@ public abstract class AbstractQueryExecutor implements QueryExecutor {
     public Optional<Map<String, Object>> forOptional() {
         return forStream(Stream::findFirst);
     }
+
+    @Override
+    public <V> Stream<V> forViewStream(Class<V> viewInterface) {
+        return queryForStream(getMapperBuilder().viewMapper(viewInterface));
+    }
+
+    @Override
+    public <T> void forEachRow(Class<T> clazz, Consumer<? super T> action) {
+        queryRows(getMapperBuilder().reusableMapper(clazz).reusing(action));
+    }
+
+    @Override
+    public List<Object[]> forArrays() {
+        return extract(new RowMapperResultSetExtractor<>(getMapperBuilder().arrayMapper()));
+    }
+
+    @Override
+    public Stream<Object[]> forArrayStream() {
+        return queryForStream(getMapperBuilder().arrayMapper());
+    }
+
+    @Override
+    public <P, C> Stream<P> forAggregateStream(Aggregate<P, C> aggregate) {
+        AggregateMapper<P, C> mapper = getMapperBuilder().aggregateMapper(aggregate);
+        return mapper.aggregate(queryForStream(mapper));
+    }
+
+    @Override
+    public ColumnarResult forColumns() {
+        return extract(new ColumnarResultExtractor());
+    }
+
+    /**
+     * Get the MapperBuilder of the row mappers.
+     *
+     * @return the MapperBuilder
+     */
+    protected abstract MapperBuilder getMapperBuilder();
+
+    /**
+     * Executes the query and maps each row with the given mapper into a {@code Stream}, which must be closed.
+     *
+     * @param rowMapper the row mapper
+     * @param <T>       the row type
+     * @return the Stream of the mapped rows
+     */
+    protected abstract <T> Stream<T> queryForStream(RowMapper<T> rowMapper);
+
+    /**
+     * Executes the query and passes each row to the given handler.
+     *
+     * @param handler the handler of the rows
+     */
+    protected abstract void queryRows(RowCallbackHandler handler);
+
+    /**
+     * Executes the query and extracts the result with the given extractor.
+     *
+     * @param extractor the extractor which reads the whole ResultSet
+     * @param <T>       the result type
+     * @return the result of the extractor
+     */
+    protected abstract <T> T extract(ResultSetExtractor<T> extractor);
 }
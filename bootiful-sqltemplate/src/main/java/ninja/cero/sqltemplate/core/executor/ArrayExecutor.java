@@ -3,7 +3,9 @@ package ninja.cero.sqltemplate.core.executor;
 import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
 import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
 import ninja.cero.sqltemplate.core.template.TemplateEngine;
-import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.List;
@@ -37,7 +39,7 @@ public class ArrayExecutor extends AbstractQueryExecutor {
     @Override
     public List<Map<String, Object>> forList() {
         String sql = templateEngine.get(template, params);
-        return jdbcTemplate.query(sql, paramBuilder.byArgs(params), new ColumnMapRowMapper());
+        return jdbcTemplate.query(sql, paramBuilder.byArgs(params), mapperBuilder.mapMapper());
     }
 
     @Override
@@ -51,7 +53,7 @@ public class ArrayExecutor extends AbstractQueryExecutor {
     @Override
     public <U> U forStream(Function<? super Stream<Map<String, Object>>, U> handler) {
         String sql = templateEngine.get(template, params);
-        try (Stream<Map<String, Object>> stream = jdbcTemplate.queryForStream(sql, paramBuilder.byArgs(params), new ColumnMapRowMapper())) {
+        try (Stream<Map<String, Object>> stream = jdbcTemplate.queryForStream(sql, paramBuilder.byArgs(params), mapperBuilder.mapMapper())) {
             return handler.apply(stream);
         }
     }
@@ -65,7 +67,30 @@ public class ArrayExecutor extends AbstractQueryExecutor {
     @Override
     public Stream<Map<String, Object>> forStream() {
         String sql = templateEngine.get(template, params);
-        return jdbcTemplate.queryForStream(sql, paramBuilder.byArgs(params), new ColumnMapRowMapper());
+        return jdbcTemplate.queryForStream(sql, paramBuilder.byArgs(params), mapperBuilder.mapMapper());
+    }
+
+    @Override
+    protected MapperBuilder getMapperBuilder() {
+        return mapperBuilder;
+    }
+
+    @Override
+    protected <T> Stream<T> queryForStream(RowMapper<T> rowMapper) {
+        String sql = templateEngine.get(template, params);
+        return jdbcTemplate.queryForStream(sql, paramBuilder.byArgs(params), rowMapper);
+    }
+
+    @Override
+    protected void queryRows(RowCallbackHandler handler) {
+        String sql = templateEngine.get(template, params);
+        jdbcTemplate.query(sql, paramBuilder.byArgs(params), handler);
+    }
+
+    @Override
+    protected <T> T extract(ResultSetExtractor<T> extractor) {
+        String sql = templateEngine.get(template, params);
+        return jdbcTemplate.query(sql, paramBuilder.byArgs(params), extractor);
     }
 
     @Override
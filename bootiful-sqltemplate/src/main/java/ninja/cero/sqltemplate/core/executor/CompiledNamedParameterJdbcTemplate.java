@@ -0,0 +1,170 @@
+package ninja.cero.sqltemplate.core.executor;
+
+import ninja.cero.sqltemplate.core.parameter.InListBuckets;
+import ninja.cero.sqltemplate.core.parameter.NamedSql;
+import ninja.cero.sqltemplate.core.parameter.SqlArray;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link NamedParameterJdbcTemplate} which executes the queries and updates with the {@link NamedSql} compiled once per SQL,
+ * binding the parameter values straight into the PreparedStatement.
+ * <p>
+ * The collection parameters of an IN clause are expanded to the sizes of {@link #setInListBuckets(InListBuckets) the buckets}
+ * if set. Without the buckets, the collection parameters, the missing parameters,
+ * the batch updates and the updates with generated keys are processed by {@link NamedParameterJdbcTemplate} as usual.
+ * <p>
+ * If the database does not support the SQL arrays, the comparisons of the {@link SqlArray} parameters with
+ * {@code ANY} / {@code ALL} are rewritten into the IN clauses of their elements.
+ */
+public class CompiledNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+    /** The buckets of the collection parameters, or null not to expand them */
+    protected InListBuckets inListBuckets;
+
+    /** The product names of the databases which support createArrayOf and {@code = ANY(?)} */
+    protected static final Set<String> ARRAY_DATABASES = Set.of("H2", "PostgreSQL", "HSQL Database Engine");
+
+    /** Whether the database supports the SQL arrays, or null to detect it on first use */
+    protected volatile Boolean arraysSupported;
+
+    /**
+     * Create a new CompiledNamedParameterJdbcTemplate.
+     *
+     * @param classicJdbcTemplate the classic Spring JdbcTemplate to wrap
+     */
+    public CompiledNamedParameterJdbcTemplate(JdbcOperations classicJdbcTemplate) {
+        super(classicJdbcTemplate);
+    }
+
+    /**
+     * Set the buckets which the collection parameters are expanded to, padded by repeating the last element.
+     * Only the collections of IN clauses may be padded, see {@link InListBuckets}.
+     *
+     * @param inListBuckets the buckets, or null not to expand the collections by this class
+     */
+    public void setInListBuckets(InListBuckets inListBuckets) {
+        this.inListBuckets = inListBuckets;
+    }
+
+    /**
+     * Get the buckets which the collection parameters are expanded to.
+     *
+     * @return the buckets, or null
+     */
+    public InListBuckets getInListBuckets() {
+        return inListBuckets;
+    }
+
+    /**
+     * Set whether the database supports the SQL arrays, instead of detecting it by the database product name.
+     *
+     * @param arraysSupported true to bind the {@link SqlArray}s as arrays, false to rewrite them into IN clauses,
+     *                        or null to detect it
+     */
+    public void setArraysSupported(Boolean arraysSupported) {
+        this.arraysSupported = arraysSupported;
+    }
+
+    /**
+     * Whether the database supports the SQL arrays, detected by the database product name on first use.
+     * The database is assumed to support them if it cannot be detected.
+     *
+     * @return true if the database supports the SQL arrays
+     */
+    public boolean isArraysSupported() {
+        Boolean supported = arraysSupported;
+        if (supported == null) {
+            supported = true;
+            if (getJdbcOperations() instanceof JdbcTemplate jdbcTemplate && jdbcTemplate.getDataSource() != null) {
+                try {
+                    String productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+                    supported = ARRAY_DATABASES.contains(productName);
+                } catch (MetaDataAccessException e) {
+                    // keep binding the arrays, the driver reports if it cannot
+                }
+            }
+            arraysSupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource) {
+        if (!isArraysSupported()) {
+            List<String> arrayNames = new ArrayList<>();
+            List<String> emptyNames = new ArrayList<>();
+            for (String name : NamedSql.of(sql).getParameterNames()) {
+                if (!arrayNames.contains(name) && paramSource.hasValue(name) && paramSource.getValue(name) instanceof SqlArray sqlArray) {
+                    arrayNames.add(name);
+                    if (sqlArray.toList().isEmpty()) {
+                        emptyNames.add(name);
+                    }
+                }
+            }
+            if (!arrayNames.isEmpty()) {
+                String rewritten = SqlArray.rewriteToInClauses(sql, arrayNames, emptyNames);
+                if (!rewritten.equals(sql)) {
+                    sql = rewritten;
+                    paramSource = new ArrayElementsParameterSource(paramSource);
+                }
+            }
+        }
+
+        PreparedStatementCreator creator = NamedSql.of(sql).newPreparedStatementCreator(paramSource, inListBuckets);
+        if (creator != null) {
+            return creator;
+        }
+        return super.getPreparedStatementCreator(sql, paramSource);
+    }
+
+    /**
+     * The SqlParameterSource which gives the elements of the {@link SqlArray} parameters as Lists, for the IN clauses.
+     */
+    protected static class ArrayElementsParameterSource implements SqlParameterSource {
+        /** The parameter source */
+        protected final SqlParameterSource delegate;
+
+        protected ArrayElementsParameterSource(SqlParameterSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasValue(String paramName) {
+            return delegate.hasValue(paramName);
+        }
+
+        @Override
+        public Object getValue(String paramName) {
+            Object value = delegate.getValue(paramName);
+            return value instanceof SqlArray sqlArray ? sqlArray.toList() : value;
+        }
+
+        @Override
+        public int getSqlType(String paramName) {
+            return delegate.getSqlType(paramName);
+        }
+
+        @Override
+        public String getTypeName(String paramName) {
+            return delegate.getTypeName(paramName);
+        }
+
+        @Override
+        public String[] getParameterNames() {
+            return delegate.getParameterNames();
+        }
+    }
+}
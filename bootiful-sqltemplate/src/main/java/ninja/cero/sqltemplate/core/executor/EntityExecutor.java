@@ -3,7 +3,9 @@ package ninja.cero.sqltemplate.core.executor;
 import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
 import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
 import ninja.cero.sqltemplate.core.template.TemplateEngine;
-import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import java.util.List;
@@ -37,7 +39,7 @@ public class EntityExecutor extends AbstractQueryExecutor {
     @Override
     public List<Map<String, Object>> forList() {
         String sql = templateEngine.get(template, entity);
-        return namedJdbcTemplate.queryForList(sql, paramBuilder.byBean(entity));
+        return namedJdbcTemplate.query(sql, paramBuilder.byBean(entity), mapperBuilder.mapMapper());
     }
 
     @Override
@@ -51,7 +53,7 @@ public class EntityExecutor extends AbstractQueryExecutor {
     @Override
     public <U> U forStream(Function<? super Stream<Map<String, Object>>, U> handler) {
         String sql = templateEngine.get(template, entity);
-        try (Stream<Map<String, Object>> stream = namedJdbcTemplate.queryForStream(sql, paramBuilder.byBean(entity), new ColumnMapRowMapper())) {
+        try (Stream<Map<String, Object>> stream = namedJdbcTemplate.queryForStream(sql, paramBuilder.byBean(entity), mapperBuilder.mapMapper())) {
             return handler.apply(stream);
         }
     }
@@ -65,7 +67,30 @@ public class EntityExecutor extends AbstractQueryExecutor {
     @Override
     public Stream<Map<String, Object>> forStream() {
         String sql = templateEngine.get(template, entity);
-        return namedJdbcTemplate.queryForStream(sql, paramBuilder.byBean(entity), new ColumnMapRowMapper());
+        return namedJdbcTemplate.queryForStream(sql, paramBuilder.byBean(entity), mapperBuilder.mapMapper());
+    }
+
+    @Override
+    protected MapperBuilder getMapperBuilder() {
+        return mapperBuilder;
+    }
+
+    @Override
+    protected <T> Stream<T> queryForStream(RowMapper<T> rowMapper) {
+        String sql = templateEngine.get(template, entity);
+        return namedJdbcTemplate.queryForStream(sql, paramBuilder.byBean(entity), rowMapper);
+    }
+
+    @Override
+    protected void queryRows(RowCallbackHandler handler) {
+        String sql = templateEngine.get(template, entity);
+        namedJdbcTemplate.query(sql, paramBuilder.byBean(entity), handler);
+    }
+
+    @Override
+    protected <T> T extract(ResultSetExtractor<T> extractor) {
+        String sql = templateEngine.get(template, entity);
+        return namedJdbcTemplate.query(sql, paramBuilder.byBean(entity), extractor);
     }
 
     @Override
@@ -1,8 +1,12 @@
 package ninja.cero.sqltemplate.core.executor;
 
+import ninja.cero.sqltemplate.core.columnar.ColumnarResult;
+import ninja.cero.sqltemplate.core.mapper.Aggregate;
+
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -39,5 +43,109 @@ public interface QueryExecutor {
      */
     Stream<Map<String, Object>> forStream();
 
+    /**
+     * Executes the query and passes the rows as lazy views of the interface to the handler.
+     * The {@code Stream} is closed automatically.
+     *
+     * @see #forViewStream(Class)
+     */
+    default <V, U> U forViewStream(Class<V> viewInterface, Function<? super Stream<V>, U> handler) {
+        try (Stream<V> stream = forViewStream(viewInterface)) {
+            return handler.apply(stream);
+        }
+    }
+
+    /**
+     * Executes the query and returns the rows as a {@link Stream} of lazy views of the interface.
+     * <p>The getters of a view decode their columns from the current row only when they are called,
+     * so a filter can reject a row without decoding its wide columns. A view is only valid until the stream
+     * moves to the next row, so it must be consumed within the stream pipeline and not collected.
+     * Like {@link #forStream()}, the returned {@code Stream} is <em>not</em>
+     * closed automatically. The caller must close it (for example, with a try-with-resources block),
+     * otherwise the underlying JDBC resources (Connection, etc.) will leak.
+     * <p>The default implementation throws {@link UnsupportedOperationException}.
+     */
+    default <V> Stream<V> forViewStream(Class<V> viewInterface) {
+        throw new UnsupportedOperationException("forViewStream is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Executes the query and passes every row to the action, mapped into one reused instance of the mutable class.
+     * <p>The instance is refilled in place for each row, so it is only valid inside the action:
+     * copy the values which must outlive it. Unlike {@link #forStream(Class, Function)}, almost nothing is
+     * allocated per row.
+     * <p>The default implementation maps a new instance for each row with {@link #forStream(Class, Function)}.
+     */
+    default <T> void forEachRow(Class<T> clazz, Consumer<? super T> action) {
+        forStream(clazz, stream -> {
+            stream.forEach(action);
+            return null;
+        });
+    }
+
+    /**
+     * Executes the query and returns each row as an {@code Object[]} in column order.
+     * <p>The type of each column is resolved once per query, and no bean or map is created for the rows.
+     * <p>The default implementation converts the maps of {@link #forList()}.
+     */
+    default List<Object[]> forArrays() {
+        return forList().stream()
+                .map(row -> row.values().toArray())
+                .toList();
+    }
+
+    /**
+     * Executes the query and passes the rows as {@code Object[]} in column order to the handler.
+     * The {@code Stream} is closed automatically.
+     */
+    default <U> U forArrayStream(Function<? super Stream<Object[]>, U> handler) {
+        try (Stream<Object[]> stream = forArrayStream()) {
+            return handler.apply(stream);
+        }
+    }
+
+    /**
+     * Executes the query and returns the rows as a {@link Stream} of {@code Object[]} in column order.
+     * <p>Like {@link #forStream()}, the returned {@code Stream} is <em>not</em>
+     * closed automatically. The caller must close it (for example, with a try-with-resources block),
+     * otherwise the underlying JDBC resources (Connection, etc.) will leak.
+     * <p>The default implementation converts the maps of {@link #forStream()}.
+     */
+    default Stream<Object[]> forArrayStream() {
+        return forStream().map(row -> row.values().toArray());
+    }
+
+    /**
+     * Executes an ordered join query and passes the completed parents of the aggregate to the handler.
+     * The {@code Stream} is closed automatically.
+     */
+    default <P, C, U> U forAggregateStream(Aggregate<P, C> aggregate, Function<? super Stream<P>, U> handler) {
+        try (Stream<P> stream = forAggregateStream(aggregate)) {
+            return handler.apply(stream);
+        }
+    }
+
+    /**
+     * Executes an ordered join query and returns the completed parents of the aggregate as a {@link Stream}.
+     * <p>The rows must be ordered by the key column of the aggregate. Only the current group is held in memory.
+     * Like {@link #forStream()}, the returned {@code Stream} is <em>not</em>
+     * closed automatically. The caller must close it (for example, with a try-with-resources block),
+     * otherwise the underlying JDBC resources (Connection, etc.) will leak.
+     * <p>The default implementation throws {@link UnsupportedOperationException}.
+     */
+    default <P, C> Stream<P> forAggregateStream(Aggregate<P, C> aggregate) {
+        throw new UnsupportedOperationException("forAggregateStream is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Executes the query and returns the result column by column.
+     * <p>The numeric columns are stored in primitive arrays with a null bitmap and the character columns are
+     * dictionary-encoded, so a large result takes much less heap than {@link #forList()}.
+     * <p>The default implementation throws {@link UnsupportedOperationException}.
+     */
+    default ColumnarResult forColumns() {
+        throw new UnsupportedOperationException("forColumns is not supported by " + getClass().getName());
+    }
+
     int update();
 }
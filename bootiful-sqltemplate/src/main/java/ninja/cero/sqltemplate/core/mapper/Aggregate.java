@@ -0,0 +1,53 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * The one-to-many mapping of an ordered join query, for {@link ninja.cero.sqltemplate.core.executor.QueryExecutor#forAggregateStream(Aggregate)}.
+ * <p>
+ * The consecutive rows with the same value of the key column make a group. The parent is mapped from the first row
+ * of a group and the children from every row, then they are combined into the completed parent.
+ * <pre>{@code
+ * Aggregate<Dept, Emp> aggregate = Aggregate.of(Dept.class, "deptno", Emp.class, (dept, emps) -> {
+ *     dept.emps = emps;
+ *     return dept;
+ * }).childKey("empno");
+ * }</pre>
+ *
+ * @param parentClass    the parent class
+ * @param keyColumn      the column label of the parent key, which the rows must be ordered by
+ * @param childClass     the child class
+ * @param childKeyColumn the column label of the child key, or null. If given, the rows where it is null
+ *                       (e.g. the parents without children of an outer join) have no child
+ * @param combiner       the function which sets the children to the parent, and returns the completed parent
+ * @param <P>            the parent class
+ * @param <C>            the child class
+ */
+public record Aggregate<P, C>(Class<P> parentClass, String keyColumn, Class<C> childClass, String childKeyColumn,
+                              BiFunction<P, List<C>, P> combiner) {
+    /**
+     * Create a new Aggregate without the child key column.
+     *
+     * @param parentClass the parent class
+     * @param keyColumn   the column label of the parent key, which the rows must be ordered by
+     * @param childClass  the child class
+     * @param combiner    the function which sets the children to the parent, and returns the completed parent
+     * @param <P>         the parent class
+     * @param <C>         the child class
+     * @return the Aggregate
+     */
+    public static <P, C> Aggregate<P, C> of(Class<P> parentClass, String keyColumn, Class<C> childClass, BiFunction<P, List<C>, P> combiner) {
+        return new Aggregate<>(parentClass, keyColumn, childClass, null, combiner);
+    }
+
+    /**
+     * Get a copy of this Aggregate with the child key column.
+     *
+     * @param childKeyColumn the column label of the child key
+     * @return the Aggregate
+     */
+    public Aggregate<P, C> childKey(String childKeyColumn) {
+        return new Aggregate<>(parentClass, keyColumn, childClass, childKeyColumn, combiner);
+    }
+}
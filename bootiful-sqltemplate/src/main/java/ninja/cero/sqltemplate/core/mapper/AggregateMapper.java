@@ -0,0 +1,147 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link RowMapper} implementation which maps the rows of an ordered join query for an {@link Aggregate}.
+ * <p>
+ * It maps the parent only on the first row of each group and the child on every row, with the mappers of
+ * {@link MapperBuilder#mapper(Class)}. {@link #aggregate(Stream)} then combines the consecutive rows into
+ * the completed parents, holding only the current group in memory.
+ * An instance must be created for each query.
+ *
+ * @param <P> the parent class
+ * @param <C> the child class
+ */
+public class AggregateMapper<P, C> implements RowMapper<AggregateMapper.Row<P, C>> {
+    /** The mapping */
+    protected Aggregate<P, C> aggregate;
+
+    /** The mapper of the parent class */
+    protected RowMapper<P> parentMapper;
+
+    /** The mapper of the child class */
+    protected RowMapper<C> childMapper;
+
+    /** The ResultSet which the key indexes are resolved for */
+    protected ResultSet boundResultSet;
+
+    /** The column index of the parent key */
+    protected int keyIndex;
+
+    /** The column index of the child key, 0 if not given */
+    protected int childKeyIndex;
+
+    /** The parent key of the current group */
+    protected Object currentKey;
+
+    /**
+     * Create a new AggregateMapper.
+     *
+     * @param aggregate    the mapping
+     * @param parentMapper the mapper of the parent class
+     * @param childMapper  the mapper of the child class
+     */
+    public AggregateMapper(Aggregate<P, C> aggregate, RowMapper<P> parentMapper, RowMapper<C> childMapper) {
+        this.aggregate = aggregate;
+        this.parentMapper = parentMapper;
+        this.childMapper = childMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Row<P, C> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        boolean first = false;
+        if (rs != boundResultSet) {
+            keyIndex = rs.findColumn(aggregate.keyColumn());
+            childKeyIndex = aggregate.childKeyColumn() == null ? 0 : rs.findColumn(aggregate.childKeyColumn());
+            boundResultSet = rs;
+            first = true;
+        }
+
+        Object key = JdbcUtils.getResultSetValue(rs, keyIndex);
+        P parent = null;
+        if (first || !Objects.equals(key, currentKey)) {
+            currentKey = key;
+            parent = parentMapper.mapRow(rs, rowNum);
+        }
+
+        C child = null;
+        if (childKeyIndex == 0 || JdbcUtils.getResultSetValue(rs, childKeyIndex) != null) {
+            child = childMapper.mapRow(rs, rowNum);
+        }
+        return new Row<>(parent, child);
+    }
+
+    /**
+     * Combine the mapped rows into the completed parents. Closing the returned stream closes the rows.
+     *
+     * @param rows the rows mapped by this mapper
+     * @return the completed parents
+     */
+    public Stream<P> aggregate(Stream<Row<P, C>> rows) {
+        Iterator<Row<P, C>> iterator = rows.iterator();
+        Spliterator<P> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            P parent;
+            List<C> children;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super P> action) {
+                while (iterator.hasNext()) {
+                    Row<P, C> row = iterator.next();
+                    P completed = null;
+                    if (row.parent() != null) {
+                        if (parent != null) {
+                            completed = aggregate.combiner().apply(parent, children);
+                        }
+                        parent = row.parent();
+                        children = new ArrayList<>();
+                    }
+                    if (row.child() != null) {
+                        children.add(row.child());
+                    }
+                    if (completed != null) {
+                        action.accept(completed);
+                        return true;
+                    }
+                }
+
+                if (parent != null) {
+                    P completed = aggregate.combiner().apply(parent, children);
+                    parent = null;
+                    children = null;
+                    action.accept(completed);
+                    return true;
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(rows::close);
+    }
+
+    /**
+     * A mapped row.
+     *
+     * @param parent the parent if the row is the first of a group, otherwise null
+     * @param child  the child, or null if the row has no child
+     * @param <P>    the parent class
+     * @param <C>    the child class
+     */
+    public record Row<P, C>(P parent, C child) {
+    }
+}
@@ -0,0 +1,172 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * {@link org.springframework.jdbc.core.RowMapper} implementation which maps each row to a plain {@code Object[]} in column order.
+ * It is the cheapest row representation, without bean instantiation or map construction.
+ * <p>
+ * The Java type of each column is resolved once on the first row of a ResultSet from its SQL type:
+ * the date and time columns are read as JSR-310 types, the well-known numeric, character and binary columns
+ * with their typed getters, and the others as {@link org.springframework.jdbc.support.JdbcUtils#getResultSetValue(ResultSet, int)} does.
+ * An instance is thread-safe, but concurrent queries on one instance resolve their columns again and again,
+ * so use {@link #copy()} for each query.
+ */
+public class ArrayMapper implements ResultSetBoundMapper<Object[]> {
+    /** ZoneId for OffsetDateTime */
+    protected ZoneId zoneId;
+
+    /** The columns of the ResultSet mapped last, or null */
+    protected ResultSetColumns resultSetColumns;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
+    /**
+     * Create a new ArrayMapper.
+     *
+     * @param zoneId the zoneId of JSR-310 DateTime
+     */
+    public ArrayMapper(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Create a new ArrayMapper which deduplicates the String values.
+     *
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public ArrayMapper(ZoneId zoneId, StringDeduplication stringDeduplication) {
+        this.zoneId = zoneId;
+        this.stringDeduplication = stringDeduplication;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArrayMapper copy() {
+        return new ArrayMapper(zoneId, stringDeduplication);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] mapRow(ResultSet rs, int rowNum) throws SQLException {
+        ResultSetColumns resultSetColumns = this.resultSetColumns;
+        if (resultSetColumns == null || resultSetColumns.get() != rs) {
+            // published as one object, so a thread never reads the columns of another thread's ResultSet
+            resultSetColumns = resolveColumns(rs);
+            this.resultSetColumns = resultSetColumns;
+        }
+
+        Class<?>[] types = resultSetColumns.types;
+        boolean[] deduplicated = resultSetColumns.deduplicated;
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Object value = JdbcValueUtils.getResultSetValue(rs, i + 1, types[i], zoneId);
+            if (deduplicated[i] && value instanceof String string) {
+                value = resultSetColumns.stringTable.canonicalize(string);
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Resolve the required types and the deduplicated columns of the ResultSet.
+     *
+     * @param rs ResultSet
+     * @return the columns of the ResultSet
+     * @throws SQLException in case of metadata failure
+     */
+    protected ResultSetColumns resolveColumns(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Class<?>[] types = new Class<?>[metaData.getColumnCount()];
+        boolean[] deduplicated = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = requiredType(metaData, i + 1);
+            deduplicated[i] = stringDeduplication != null && stringDeduplication.appliesTo(metaData, i + 1);
+        }
+        return new ResultSetColumns(rs, types, deduplicated, stringDeduplication == null ? null : stringDeduplication.newTable());
+    }
+
+    /**
+     * Determine the required type of the column.
+     *
+     * @param metaData ResultSetMetaData
+     * @param index    column index
+     * @return the required type, or null for the generic value
+     * @throws SQLException in case of metadata failure
+     */
+    protected Class<?> requiredType(ResultSetMetaData metaData, int index) throws SQLException {
+        switch (metaData.getColumnType(index)) {
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR:
+                return String.class;
+            case Types.BOOLEAN, Types.BIT:
+                return metaData.getPrecision(index) > 1 ? null : Boolean.class;
+            case Types.SMALLINT, Types.TINYINT:
+                return Integer.class;
+            case Types.INTEGER:
+                return metaData.isSigned(index) ? Integer.class : Long.class;
+            case Types.BIGINT:
+                // an unsigned BIGINT does not fit in a long
+                return metaData.isSigned(index) ? Long.class : null;
+            case Types.REAL:
+                return Float.class;
+            case Types.FLOAT, Types.DOUBLE:
+                return Double.class;
+            case Types.NUMERIC, Types.DECIMAL:
+                return BigDecimal.class;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY:
+                return byte[].class;
+            case Types.DATE:
+                return LocalDate.class;
+            case Types.TIME:
+                return LocalTime.class;
+            case Types.TIMESTAMP:
+                return LocalDateTime.class;
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return OffsetDateTime.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The columns of a ResultSet and the state of its query. The ResultSet is referred to weakly,
+     * so that the mapper does not retain it after the query.
+     */
+    protected static class ResultSetColumns extends WeakReference<ResultSet> {
+        /** The required types of the columns by column index - 1, null for the generic value */
+        protected final Class<?>[] types;
+
+        /** Whether the String values of the columns are deduplicated, by column index - 1 */
+        protected final boolean[] deduplicated;
+
+        /** The canonicalizing table, or null */
+        protected final StringDeduplication.Table stringTable;
+
+        protected ResultSetColumns(ResultSet rs, Class<?>[] types, boolean[] deduplicated, StringDeduplication.Table stringTable) {
+            super(rs);
+            this.types = types;
+            this.deduplicated = deduplicated;
+            this.stringTable = stringTable;
+        }
+    }
+}
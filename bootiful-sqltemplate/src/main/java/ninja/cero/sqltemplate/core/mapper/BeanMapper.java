@@ -1,38 +1,56 @@
 package ninja.cero.sqltemplate.core.mapper;
 
+import ninja.cero.sqltemplate.core.util.BeanAccessors;
 import ninja.cero.sqltemplate.core.util.BeanFields;
+import ninja.cero.sqltemplate.core.util.ClassCache;
 import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import ninja.cero.sqltemplate.core.util.NameUtils;
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
 
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Yet another {@link org.springframework.jdbc.core.BeanPropertyRowMapper} implementation for public fields.
  * Supports {@link java.time.LocalDateTime} and {@link java.time.LocalDate} of JSR-310
+ * <p>
+ * The columns are bound to the properties once on the first row of a ResultSet. An instance is thread-safe,
+ * but concurrent queries on one instance bind their columns again and again, so use {@link #copy()} for each query.
  *
  * @param <T> The class
  */
-public class BeanMapper<T> implements RowMapper<T> {
+public class BeanMapper<T> implements ResultSetBoundMapper<T> {
+    /** Whether the classes override {@link #getColumnValue}, by class */
+    private static final ClassCache<Boolean> OVERRIDES_GET_COLUMN_VALUE = new ClassCache<>(1024);
+
     /** Logger available to subclasses */
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /** The class we are mapping to */
     protected Class<T> mappedClass;
 
+    /** The accessors of the class */
+    protected BeanAccessors accessors;
+
     /** Map of the fields for beans with private fields and accessor methods. */
     protected Map<String, PropertyDescriptor> privateFields = new HashMap<>();
 
@@ -42,6 +60,18 @@ public class BeanMapper<T> implements RowMapper<T> {
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
+    /** The column bindings of the ResultSet mapped last, or null */
+    protected ResultSetBinding resultSetBinding;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
+    /**
+     * Whether the primitive properties are read without boxing, see {@link #bindPrimitive}.
+     * False if a subclass overrides {@link #getColumnValue}, so that the override applies to every property.
+     */
+    protected final boolean primitiveBinding;
+
     /**
      * Create a new BeanMapper.
      *
@@ -49,8 +79,23 @@ public class BeanMapper<T> implements RowMapper<T> {
      * @param zoneId      the zoneId of JSR-310 DateTime
      */
     public BeanMapper(Class<T> mappedClass, ZoneId zoneId) {
+        this(mappedClass, zoneId, null);
+    }
+
+    /**
+     * Create a new BeanMapper which deduplicates the String values.
+     *
+     * @param mappedClass         the class we are mapping to
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public BeanMapper(Class<T> mappedClass, ZoneId zoneId, StringDeduplication stringDeduplication) {
         this.mappedClass = mappedClass;
+        this.stringDeduplication = stringDeduplication;
         this.zoneId = zoneId;
+        this.primitiveBinding = !overridesGetColumnValue(getClass());
+
+        this.accessors = BeanAccessors.of(mappedClass);
 
         PropertyDescriptor[] pds = BeanUtils.getPropertyDescriptors(mappedClass);
         for (PropertyDescriptor pd : pds) {
@@ -67,6 +112,9 @@ public class BeanMapper<T> implements RowMapper<T> {
 
         Field[] fields = BeanFields.get(mappedClass);
         for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                continue;
+            }
             publicFields.put(field.getName()
                     .toLowerCase(), field);
             String underscoredName = NameUtils.underscoreName(field.getName());
@@ -78,49 +126,310 @@ public class BeanMapper<T> implements RowMapper<T> {
         }
     }
 
+    /**
+     * Create a new BeanMapper which shares the class metadata of the given mapper.
+     *
+     * @param mapper the mapper to copy
+     */
+    protected BeanMapper(BeanMapper<T> mapper) {
+        this.mappedClass = mapper.mappedClass;
+        this.accessors = mapper.accessors;
+        this.privateFields = mapper.privateFields;
+        this.publicFields = mapper.publicFields;
+        this.zoneId = mapper.zoneId;
+        this.stringDeduplication = mapper.stringDeduplication;
+        this.primitiveBinding = !overridesGetColumnValue(getClass());
+    }
+
+    /**
+     * Check whether the subclass of BeanMapper overrides {@link #getColumnValue}.
+     *
+     * @param mapperClass the class of the mapper
+     * @return true if overridden
+     */
+    private static boolean overridesGetColumnValue(Class<?> mapperClass) {
+        if (mapperClass == BeanMapper.class) {
+            return false;
+        }
+        return OVERRIDES_GET_COLUMN_VALUE.get(mapperClass, null, clazz -> {
+            for (Class<?> current = clazz; current != BeanMapper.class; current = current.getSuperclass()) {
+                try {
+                    current.getDeclaredMethod("getColumnValue", ResultSet.class, int.class, Class.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    // check the superclass
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BeanMapper<T> copy() {
+        return new BeanMapper<>(this);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
-        T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
-        BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+        ResultSetBinding resultSetBinding = bindResultSet(rs);
+
+        T mappedObject = mappedClass.cast(accessors.newInstance());
+        for (ColumnBinding binding : resultSetBinding.columns) {
+            bind(rs, resultSetBinding, binding, mappedObject);
+        }
+
+        return mappedObject;
+    }
+
+    /**
+     * Map the row into the given instance in place, instead of a new instance.
+     * The mapped properties get the same values as a new instance would, so an instance can be reused for every row.
+     *
+     * @param rs     ResultSet
+     * @param target the instance to map the row into
+     * @throws SQLException in case of extraction failure
+     */
+    public void mapRow(ResultSet rs, T target) throws SQLException {
+        ResultSetBinding resultSetBinding = bindResultSet(rs);
+        ColumnBinding[] bindings = resultSetBinding.columns;
+        if (resultSetBinding.resetValues == null) {
+            resultSetBinding.resetValues = resolveResetValues(bindings);
+        }
+        Object[] resetValues = resultSetBinding.resetValues;
+
+        for (int i = 0; i < bindings.length; i++) {
+            ColumnBinding binding = bindings[i];
+            bind(rs, resultSetBinding, binding, target);
+            if (binding.type().isPrimitive() && rs.wasNull()) {
+                // bind left the primitive of the previous row
+                binding.setter().set(target, resetValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Get the column bindings of the ResultSet, resolving them on its first row.
+     * The bindings are published as one object, so a thread never reads the bindings of another thread's ResultSet.
+     *
+     * @param rs ResultSet
+     * @return the column bindings
+     * @throws SQLException in case of metadata failure
+     */
+    protected ResultSetBinding bindResultSet(ResultSet rs) throws SQLException {
+        ResultSetBinding resultSetBinding = this.resultSetBinding;
+        if (resultSetBinding == null || resultSetBinding.get() != rs) {
+            resultSetBinding = new ResultSetBinding(rs, resolveBindings(rs),
+                    stringDeduplication == null ? null : stringDeduplication.newTable());
+            this.resultSetBinding = resultSetBinding;
+        }
+        return resultSetBinding;
+    }
+
+    /**
+     * Create a RowCallbackHandler which maps every row into one reused instance and passes it to the action.
+     * The instance is only valid inside the action, because the next row overwrites it.
+     *
+     * @param action the action for each row
+     * @return the RowCallbackHandler, which must not be shared by concurrent queries
+     */
+    public RowCallbackHandler reusing(Consumer<? super T> action) {
+        T target = mappedClass.cast(accessors.newInstance());
+        return rs -> {
+            mapRow(rs, target);
+            action.accept(target);
+        };
+    }
+
+    /**
+     * Resolve the values of the primitive properties of the bindings of a new instance.
+     *
+     * @param bindings the bindings of the mapped columns
+     * @return the values by binding, null for the reference properties
+     */
+    protected Object[] resolveResetValues(ColumnBinding[] bindings) {
+        Object prototype = null;
+        Object[] values = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            ColumnBinding binding = bindings[i];
+            if (!binding.type().isPrimitive()) {
+                continue;
+            }
+            if (binding.getter() != null) {
+                if (prototype == null) {
+                    prototype = accessors.newInstance();
+                }
+                values[i] = binding.getter().get(prototype);
+            } else {
+                values[i] = Array.get(Array.newInstance(binding.type(), 1), 0);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Set the column value to the property.
+     *
+     * @param rs               ResultSet
+     * @param resultSetBinding the column bindings of the ResultSet
+     * @param binding          the binding of the column
+     * @param bean             the mapped object
+     * @throws SQLException in case of extraction failure
+     */
+    protected void bind(ResultSet rs, ResultSetBinding resultSetBinding, ColumnBinding binding, Object bean) throws SQLException {
+        if (binding.primitiveSetter() != null) {
+            bindPrimitive(rs, binding.index(), binding.primitiveSetter(), bean);
+            return;
+        }
+
+        Class<?> type = binding.type();
+        Object value = binding.enumConstants() != null
+                ? JdbcValueUtils.getEnumValue(rs, binding.index(), binding.enumConstants(), type)
+                : getColumnValue(rs, binding.index(), type);
+        if (value == null) {
+            if (type.isPrimitive()) {
+                // leave the default value of the primitive, like BeanPropertyRowMapper
+                return;
+            }
+        } else if (binding.deduplicated() && value instanceof String string) {
+            value = resultSetBinding.stringTable.canonicalize(string);
+        } else if (!ClassUtils.isAssignableValue(type, value)) {
+            value = resultSetBinding.convertValue(value, type);
+        }
+
+        binding.setter().set(bean, value);
+    }
+
+    /**
+     * Set the column value to the primitive property without boxing.
+     * If the column is null, the default value of the primitive is left, like {@link #bind}.
+     *
+     * @param rs     ResultSet
+     * @param index  column index
+     * @param setter the primitive setter of the property
+     * @param bean   the mapped object
+     * @throws SQLException in case of extraction failure
+     */
+    protected void bindPrimitive(ResultSet rs, int index, BeanAccessors.PrimitiveSetter setter, Object bean) throws SQLException {
+        if (setter instanceof BeanAccessors.IntSetter intSetter) {
+            int value = rs.getInt(index);
+            if (!rs.wasNull()) {
+                intSetter.set(bean, value);
+            }
+        } else if (setter instanceof BeanAccessors.LongSetter longSetter) {
+            long value = rs.getLong(index);
+            if (!rs.wasNull()) {
+                longSetter.set(bean, value);
+            }
+        } else if (setter instanceof BeanAccessors.DoubleSetter doubleSetter) {
+            double value = rs.getDouble(index);
+            if (!rs.wasNull()) {
+                doubleSetter.set(bean, value);
+            }
+        } else if (setter instanceof BeanAccessors.BooleanSetter booleanSetter) {
+            boolean value = rs.getBoolean(index);
+            if (!rs.wasNull()) {
+                booleanSetter.set(bean, value);
+            }
+        }
+    }
 
+    /**
+     * Resolve the bindings of the columns of the ResultSet to the properties of the mapped class.
+     *
+     * @param rs ResultSet
+     * @return the bindings of the mapped columns
+     * @throws SQLException in case of metadata failure
+     */
+    protected ColumnBinding[] resolveBindings(ResultSet rs) throws SQLException {
         ResultSetMetaData metaData = rs.getMetaData();
         int columnCount = metaData.getColumnCount();
+        List<ColumnBinding> resolved = new ArrayList<>(columnCount);
 
         for (int index = 1; index <= columnCount; index++) {
             String column = JdbcUtils.lookupColumnName(metaData, index);
 
             String name = column.replace(" ", "").toLowerCase();
-            Object value = null;
             if (privateFields.containsKey(name)) {
                 PropertyDescriptor pd = privateFields.get(name);
-                value = getColumnValue(rs, index, pd.getPropertyType());
-                if (logger.isDebugEnabled() && rowNumber == 0) {
+                if (logger.isDebugEnabled()) {
                     logger.debug("Mapping column '" + column + "' to property '" + pd.getName() + "' of type " + pd.getPropertyType());
                 }
-                // TODO: care about assign null to primitive field. See BeanPropertyRowMapper
-                bw.setPropertyValue(pd.getName(), value);
+                checkColumn(metaData, index, pd.getPropertyType());
+                BeanAccessors.Accessor accessor = accessors.property(pd.getName());
+                resolved.add(new ColumnBinding(index, pd.getPropertyType(), accessor.getter(), accessor.setter(), primitiveSetter(accessor),
+                        deduplicated(metaData, index, pd.getPropertyType()), enumConstants(pd.getPropertyType())));
             } else if (publicFields.containsKey(name)) {
-                Field field = this.publicFields.get(name);
-                value = getColumnValue(rs, index, field.getType());
-                if (logger.isDebugEnabled() && rowNumber == 0) {
+                Field field = publicFields.get(name);
+                if (logger.isDebugEnabled()) {
                     logger.debug("Mapping column '" + column + "' to property '" + field.getName() + "' of type " + field.getType());
                 }
-                try {
-                    field.set(mappedObject, value);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
+                checkColumn(metaData, index, field.getType());
+                BeanAccessors.Accessor accessor = accessors.field(field.getName());
+                resolved.add(new ColumnBinding(index, field.getType(), accessor.getter(), accessor.setter(), primitiveSetter(accessor),
+                        deduplicated(metaData, index, field.getType()), enumConstants(field.getType())));
             }
         }
 
-        return mappedObject;
+        return resolved.toArray(new ColumnBinding[0]);
+    }
+
+    /**
+     * Get the setter of the property without boxing, if the primitive properties are read without boxing.
+     *
+     * @param accessor the accessor of the property
+     * @return the setter, or null to read the property with {@link #getColumnValue}
+     */
+    protected BeanAccessors.PrimitiveSetter primitiveSetter(BeanAccessors.Accessor accessor) {
+        return primitiveBinding ? accessor.primitiveSetter() : null;
     }
 
     /**
-     * Get the column value.
+     * Get the constants of the enum property by name, so that its values are looked up without {@link #getColumnValue}.
+     *
+     * @param type the property type
+     * @return the constants, or null if the property is not an enum or a subclass overrides {@link #getColumnValue}
+     */
+    protected Map<String, Object> enumConstants(Class<?> type) {
+        return primitiveBinding && type.isEnum() ? JdbcValueUtils.enumConstants(type) : null;
+    }
+
+    /**
+     * Check that the column can be mapped to the property type, once per ResultSet.
+     *
+     * @param metaData ResultSetMetaData
+     * @param index    column index
+     * @param type     the property type
+     * @throws SQLException in case of metadata failure
+     */
+    protected void checkColumn(ResultSetMetaData metaData, int index, Class<?> type) throws SQLException {
+        if (type.isEnum()) {
+            JdbcValueUtils.checkEnumColumn(metaData, index, type);
+        }
+    }
+
+    /**
+     * Check whether the String values of the column are deduplicated.
+     * Only the String properties are, so that the values for the other types are still converted.
+     *
+     * @param metaData ResultSetMetaData
+     * @param index    column index
+     * @param type     the property type
+     * @return true if deduplicated
+     * @throws SQLException in case of metadata failure
+     */
+    protected boolean deduplicated(ResultSetMetaData metaData, int index, Class<?> type) throws SQLException {
+        return stringDeduplication != null && type == String.class && stringDeduplication.appliesTo(metaData, index);
+    }
+
+    /**
+     * Get the column value. If a subclass overrides this, it is called for the primitive properties too,
+     * which are otherwise read without boxing.
      *
      * @param rs           ResultSet
      * @param index        column index
@@ -129,6 +438,64 @@ public class BeanMapper<T> implements RowMapper<T> {
      * @throws SQLException in case of extraction failure
      */
     protected Object getColumnValue(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+        if (requiredType.isEnum()) {
+            // the column type is checked once in resolveBindings
+            return JdbcValueUtils.getEnumValue(rs, index, requiredType);
+        }
         return JdbcValueUtils.getResultSetValue(rs, index, requiredType, zoneId);
     }
+
+    /**
+     * The binding of a column to a property, resolved once per ResultSet.
+     *
+     * @param index           column index
+     * @param type            the property type
+     * @param getter          the property getter, or null if the property is write-only
+     * @param setter          the property setter
+     * @param primitiveSetter the property setter without boxing, or null if the property is not such a primitive
+     * @param deduplicated    whether the String values of the column are deduplicated
+     * @param enumConstants   the constants of the enum property by name, or null to read the column with {@link #getColumnValue}
+     */
+    protected record ColumnBinding(int index, Class<?> type, BeanAccessors.Getter getter, BeanAccessors.Setter setter,
+                                   BeanAccessors.PrimitiveSetter primitiveSetter, boolean deduplicated,
+                                   Map<String, Object> enumConstants) {
+    }
+
+    /**
+     * The column bindings of a ResultSet and the state of its query. The ResultSet is referred to weakly,
+     * so that the mapper does not retain it after the query.
+     */
+    protected static class ResultSetBinding extends WeakReference<ResultSet> {
+        /** The bindings of the mapped columns, in column order */
+        protected final ColumnBinding[] columns;
+
+        /** The canonicalizing table, or null */
+        protected final StringDeduplication.Table stringTable;
+
+        /** The values of the primitive properties of a new instance by binding, which a null column resets a reused instance to */
+        protected Object[] resetValues;
+
+        /** TypeConverter for the values which JDBC did not return as the property type */
+        protected SimpleTypeConverter typeConverter;
+
+        protected ResultSetBinding(ResultSet rs, ColumnBinding[] columns, StringDeduplication.Table stringTable) {
+            super(rs);
+            this.columns = columns;
+            this.stringTable = stringTable;
+        }
+
+        /**
+         * Convert the column value which JDBC did not return as the property type, like BeanWrapper does.
+         *
+         * @param value        column value
+         * @param requiredType the property type
+         * @return the converted value
+         */
+        protected Object convertValue(Object value, Class<?> requiredType) {
+            if (typeConverter == null) {
+                typeConverter = new SimpleTypeConverter();
+            }
+            return typeConverter.convertIfNecessary(value, requiredType);
+        }
+    }
 }
@@ -0,0 +1,350 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.BeanFields;
+import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
+import ninja.cero.sqltemplate.core.util.NameUtils;
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link RowMapper} implementation which spins a hidden class per column layout of the mapped class,
+ * as an alternative to the reflective {@link BeanMapper} and {@link RecordMapper}.
+ * <p>
+ * The generated class reads the columns with straight-line {@code rs.getXxx(index)} calls and sets them with
+ * direct setter, field or constructor invocations, instead of dispatching on the type of each column in
+ * {@link JdbcValueUtils#getResultSetValue}. The column names are matched to the properties by the same rules as
+ * BeanMapper and RecordMapper. If the hidden class cannot be defined (e.g. the mapped class is not accessible),
+ * it falls back to the reflective mapper.
+ * <p>
+ * The layout is resolved once on the first row of a ResultSet, so an instance must not be shared by concurrent queries.
+ * Use {@link #copy()} for each query.
+ *
+ * @param <T> The class
+ * @see MapperBuilder#MapperBuilder(ZoneId, boolean)
+ */
+public class BytecodeMapper<T> implements ResultSetBoundMapper<T> {
+    /** The maximum number of the column layouts which hidden classes are generated for, per mapped class */
+    protected static final int MAX_LAYOUTS = 64;
+
+    /** Logger available to subclasses */
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /** The class we are mapping to */
+    protected Class<T> mappedClass;
+
+    /** ZoneId for OffsetDateTime and ZonedDateTime */
+    protected ZoneId zoneId;
+
+    /** The properties, public fields or record components by ordinal */
+    protected List<Target> targets;
+
+    /** Map of the ordinals of the targets by lower case and underscored names */
+    protected Map<String, Integer> ordinals;
+
+    /** The constructors of the generated classes by column layout, empty if the class could not be generated */
+    protected ConcurrentMap<List<Integer>, Optional<MethodHandle>> constructors;
+
+    /** The reflective mapper used if the class could not be generated */
+    protected ResultSetBoundMapper<T> fallback;
+
+    /** The ResultSet which {@link #delegate} is created for */
+    protected ResultSet boundResultSet;
+
+    /** The instance of the generated class for {@link #boundResultSet} */
+    protected RowMapper<T> delegate;
+
+    /** TypeConverter for the values which JDBC did not return as the property type */
+    protected SimpleTypeConverter typeConverter;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
+    /** Whether the String values of the columns of {@link #boundResultSet} are deduplicated, by column index - 1 */
+    protected boolean[] deduplicated;
+
+    /** The canonicalizing table of {@link #boundResultSet}, or null */
+    protected StringDeduplication.Table stringTable;
+
+    /**
+     * Create a new BytecodeMapper.
+     *
+     * @param mappedClass the class we are mapping to, which must be {@link #isSupported(Class) supported}
+     * @param zoneId      the zoneId of JSR-310 DateTime
+     */
+    public BytecodeMapper(Class<T> mappedClass, ZoneId zoneId) {
+        this(mappedClass, zoneId, null);
+    }
+
+    /**
+     * Create a new BytecodeMapper which deduplicates the String values.
+     *
+     * @param mappedClass         the class we are mapping to, which must be {@link #isSupported(Class) supported}
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public BytecodeMapper(Class<T> mappedClass, ZoneId zoneId, StringDeduplication stringDeduplication) {
+        this.mappedClass = mappedClass;
+        this.zoneId = zoneId;
+        this.stringDeduplication = stringDeduplication;
+        this.targets = Collections.unmodifiableList(targets(mappedClass));
+        this.constructors = new ConcurrentHashMap<>();
+        this.fallback = mappedClass.isRecord()
+                ? new RecordMapper<>(mappedClass, zoneId, stringDeduplication)
+                : new BeanMapper<>(mappedClass, zoneId, stringDeduplication);
+
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Target target = targets.get(i);
+            if (target.member() instanceof Field) {
+                // the properties precede the public fields of the same name, like BeanMapper
+                ordinals.putIfAbsent(target.name().toLowerCase(), i);
+                ordinals.putIfAbsent(NameUtils.underscoreName(target.name()), i);
+            } else {
+                ordinals.put(target.name().toLowerCase(), i);
+                ordinals.put(NameUtils.underscoreName(target.name()), i);
+            }
+        }
+        this.ordinals = Collections.unmodifiableMap(ordinals);
+    }
+
+    /**
+     * Create a new BytecodeMapper which shares the class metadata and generated classes of the given mapper.
+     *
+     * @param mapper the mapper to copy
+     */
+    protected BytecodeMapper(BytecodeMapper<T> mapper) {
+        this.mappedClass = mapper.mappedClass;
+        this.zoneId = mapper.zoneId;
+        this.targets = mapper.targets;
+        this.ordinals = mapper.ordinals;
+        this.constructors = mapper.constructors;
+        this.fallback = mapper.fallback;
+        this.stringDeduplication = mapper.stringDeduplication;
+    }
+
+    /**
+     * Check that the hidden classes can be generated for the class, i.e. the class and the types of the properties
+     * are accessible from its package and it has an accessible constructor.
+     *
+     * @param mappedClass the class we are mapping to
+     * @return true if supported
+     */
+    public static boolean isSupported(Class<?> mappedClass) {
+        if (mappedClass.isInterface() || mappedClass.isArray() || mappedClass.isPrimitive() || mappedClass.isHidden()
+                || Modifier.isAbstract(mappedClass.getModifiers())) {
+            return false;
+        }
+        try {
+            Constructor<?> constructor = mappedClass.isRecord()
+                    ? mappedClass.getDeclaredConstructor(Arrays.stream(mappedClass.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new))
+                    : mappedClass.getDeclaredConstructor();
+            if (!MapperClassGenerator.isAccessible(constructor)) {
+                return false;
+            }
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        for (Target target : targets(mappedClass)) {
+            if (target.type() == char.class || !MapperClassGenerator.isAccessible(target.type(), mappedClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BytecodeMapper<T> copy() {
+        return new BytecodeMapper<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+        if (rs != boundResultSet) {
+            delegate = createDelegate(rs);
+            boundResultSet = rs;
+        }
+        return delegate.mapRow(rs, rowNumber);
+    }
+
+    /**
+     * Get the column value of a type which the generated class does not read directly. Called by the generated classes.
+     *
+     * @param rs      ResultSet
+     * @param index   column index
+     * @param ordinal the ordinal of the target
+     * @return column value
+     * @throws SQLException in case of extraction failure
+     */
+    public Object value(ResultSet rs, int index, int ordinal) throws SQLException {
+        Class<?> requiredType = targets.get(ordinal).type();
+        if (requiredType.isEnum()) {
+            // the column type is checked once in createDelegate
+            return JdbcValueUtils.getEnumValue(rs, index, requiredType);
+        }
+        Object value = JdbcValueUtils.getResultSetValue(rs, index, requiredType, zoneId);
+        if (value != null && !ClassUtils.isAssignableValue(requiredType, value)) {
+            if (typeConverter == null) {
+                typeConverter = new SimpleTypeConverter();
+            }
+            value = typeConverter.convertIfNecessary(value, requiredType);
+        }
+        return value;
+    }
+
+    /**
+     * Deduplicate the String value of the column, if chosen by the option. Called by the generated classes.
+     *
+     * @param index column index
+     * @param value column value
+     * @return the canonical instance of the value, or the value itself
+     */
+    public String deduplicate(int index, String value) {
+        return deduplicated[index - 1] ? stringTable.canonicalize(value) : value;
+    }
+
+    /**
+     * Create the instance of the generated class for the column layout of the ResultSet.
+     *
+     * @param rs ResultSet
+     * @return the RowMapper
+     * @throws SQLException in case of metadata failure
+     */
+    @SuppressWarnings("unchecked")
+    protected RowMapper<T> createDelegate(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Integer[] layout = new Integer[columnCount];
+        for (int index = 1; index <= columnCount; index++) {
+            String name = JdbcUtils.lookupColumnName(metaData, index).replace(" ", "").toLowerCase();
+            layout[index - 1] = ordinals.getOrDefault(name, -1);
+            if (layout[index - 1] >= 0 && targets.get(layout[index - 1]).type().isEnum()) {
+                JdbcValueUtils.checkEnumColumn(metaData, index, targets.get(layout[index - 1]).type());
+            }
+        }
+        if (stringDeduplication != null) {
+            deduplicated = new boolean[columnCount];
+            for (int index = 1; index <= columnCount; index++) {
+                deduplicated[index - 1] = stringDeduplication.appliesTo(metaData, index);
+            }
+            stringTable = stringDeduplication.newTable();
+        }
+        List<Integer> key = Arrays.asList(layout);
+
+        Optional<MethodHandle> constructor = constructors.get(key);
+        if (constructor == null) {
+            if (constructors.size() >= MAX_LAYOUTS) {
+                return fallback.copy();
+            }
+            constructor = constructors.computeIfAbsent(key, this::defineClass);
+        }
+        if (constructor.isEmpty()) {
+            return fallback.copy();
+        }
+
+        try {
+            return (RowMapper<T>) constructor.get().invokeExact(this);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Generate and define the hidden class for the column layout.
+     *
+     * @param layout the ordinals of the targets by column index - 1, -1 if the column is not mapped
+     * @return the constructor of the class as (BytecodeMapper)RowMapper, or empty if the class could not be defined
+     */
+    protected Optional<MethodHandle> defineClass(List<Integer> layout) {
+        int[] ordinals = layout.stream().mapToInt(Integer::intValue).toArray();
+        try {
+            byte[] classFile = new MapperClassGenerator(mappedClass, targets, stringDeduplication != null).generate(ordinals);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(mappedClass, MethodHandles.lookup())
+                    .defineHiddenClass(classFile, true);
+            return Optional.of(lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, BytecodeMapper.class))
+                    .asType(MethodType.methodType(RowMapper.class, BytecodeMapper.class)));
+        } catch (IllegalAccessException | NoSuchMethodException | LinkageError | IllegalArgumentException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Couldn't generate the mapper of " + mappedClass.getName() + ", falling back to the reflective mapper", e);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Collect the targets of the class: the record components, or the writable properties then the public fields.
+     *
+     * @param mappedClass the class we are mapping to
+     * @return the targets by ordinal
+     */
+    protected static List<Target> targets(Class<?> mappedClass) {
+        List<Target> targets = new ArrayList<>();
+        if (mappedClass.isRecord()) {
+            for (RecordComponent component : mappedClass.getRecordComponents()) {
+                targets.add(new Target(component.getName(), component.getType(), null));
+            }
+            return targets;
+        }
+
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
+            Method writeMethod = pd.getWriteMethod();
+            if (writeMethod != null) {
+                targets.add(new Target(pd.getName(), writeMethod.getParameterTypes()[0], writeMethod));
+            }
+        }
+        for (Field field : BeanFields.get(mappedClass)) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+                targets.add(new Target(field.getName(), field.getType(), field));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * A property, public field or record component which a column is mapped to.
+     *
+     * @param name   the name
+     * @param type   the type
+     * @param member the write method or field, null for a record component
+     */
+    public record Target(String name, Class<?> type, Member member) {
+    }
+}
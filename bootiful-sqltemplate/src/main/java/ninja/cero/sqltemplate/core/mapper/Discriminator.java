@@ -0,0 +1,42 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a sealed interface or abstract class whose rows are mapped to its subtypes by the value of a column.
+ * <p>
+ * {@link MapperBuilder} maps each row with the mapper of the subtype whose {@link DiscriminatorValue} equals
+ * the column value, see {@link PolymorphicMapper}.
+ * <pre>{@code
+ * @Discriminator("type")
+ * public sealed interface Event permits Login, Logout {
+ * }
+ *
+ * @DiscriminatorValue("login")
+ * public record Login(long id, String userName) implements Event {
+ * }
+ * }</pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Discriminator {
+    /**
+     * The label of the discriminator column.
+     *
+     * @return the column label
+     */
+    String value();
+
+    /**
+     * The subtypes to map to, if the annotated type is not sealed. The permitted subclasses of a sealed type
+     * are found automatically.
+     *
+     * @return the subtypes
+     */
+    Class<?>[] subtypes() default {};
+}
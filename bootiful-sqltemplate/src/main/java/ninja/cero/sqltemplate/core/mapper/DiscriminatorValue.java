@@ -0,0 +1,23 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value of the {@link Discriminator} column for the rows of the annotated subtype.
+ * The simple name of the subtype is used if not annotated.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DiscriminatorValue {
+    /**
+     * The value of the discriminator column, compared as String.
+     *
+     * @return the value
+     */
+    String value();
+}
@@ -0,0 +1,128 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
+import ninja.cero.sqltemplate.core.util.NameUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The base class of the RowMappers generated by {@code bootiful-sqltemplate-processor} for
+ * {@link ninja.cero.sqltemplate.core.entity.SqlEntity} classes.
+ * Columns are matched to the properties by the same rules as {@link BeanMapper} and {@link RecordMapper}.
+ *
+ * @param <T> The class
+ */
+public abstract class GeneratedMapper<T> implements ResultSetBoundMapper<T> {
+    /** ZoneId for OffsetDateTime and ZonedDateTime */
+    protected final ZoneId zoneId;
+
+    /** Map of the ordinals of the properties by lower case and underscored names */
+    protected final Map<String, Integer> ordinals;
+
+    /** The number of the properties */
+    protected final int propertyCount;
+
+    /** The ResultSet which {@link #columns} are resolved for */
+    protected ResultSet boundResultSet;
+
+    /** The column indexes of the properties by ordinal, 0 if the property is not mapped */
+    protected int[] columns;
+
+    /** The indexes of the enum columns whose types are checked for {@link #boundResultSet} */
+    protected final BitSet checkedEnumColumns = new BitSet();
+
+    /** TypeConverter for the values which JDBC did not return as the property type */
+    protected SimpleTypeConverter typeConverter;
+
+    /**
+     * Create a new GeneratedMapper.
+     *
+     * @param zoneId        the zoneId of JSR-310 DateTime
+     * @param ordinals      Map of the ordinals of the properties, created by {@link #ordinals(String...)}
+     * @param propertyCount the number of the properties
+     */
+    protected GeneratedMapper(ZoneId zoneId, Map<String, Integer> ordinals, int propertyCount) {
+        this.zoneId = zoneId;
+        this.ordinals = ordinals;
+        this.propertyCount = propertyCount;
+    }
+
+    /**
+     * Create the Map of the ordinals of the properties. A former property wins if the names collide.
+     *
+     * @param propertyNames the property names in ordinal order
+     * @return the Map of the ordinals by lower case and underscored names
+     */
+    protected static Map<String, Integer> ordinals(String... propertyNames) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            ordinals.putIfAbsent(propertyNames[i].toLowerCase(), i);
+            ordinals.putIfAbsent(NameUtils.underscoreName(propertyNames[i]), i);
+        }
+        return Collections.unmodifiableMap(ordinals);
+    }
+
+    /**
+     * Get the column indexes of the properties, resolving them on the first row of the ResultSet.
+     *
+     * @param rs ResultSet
+     * @return the column indexes by ordinal, 0 if the property is not mapped
+     * @throws SQLException in case of metadata failure
+     */
+    protected int[] columns(ResultSet rs) throws SQLException {
+        if (rs != boundResultSet) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            int[] resolved = new int[propertyCount];
+            for (int index = 1; index <= columnCount; index++) {
+                String name = JdbcUtils.lookupColumnName(metaData, index).replace(" ", "").toLowerCase();
+                Integer ordinal = ordinals.get(name);
+                if (ordinal != null) {
+                    resolved[ordinal] = index;
+                }
+            }
+            columns = resolved;
+            checkedEnumColumns.clear();
+            boundResultSet = rs;
+        }
+        return columns;
+    }
+
+    /**
+     * Get the column value as the property type.
+     *
+     * @param rs           ResultSet
+     * @param index        column index
+     * @param requiredType the property type
+     * @return column value
+     * @throws SQLException in case of extraction failure
+     */
+    protected Object value(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+        if (requiredType.isEnum()) {
+            // check the column type on the first row only, not with the metadata of every row
+            if (!checkedEnumColumns.get(index)) {
+                JdbcValueUtils.checkEnumColumn(rs.getMetaData(), index, requiredType);
+                checkedEnumColumns.set(index);
+            }
+            return JdbcValueUtils.getEnumValue(rs, index, requiredType);
+        }
+        Object value = JdbcValueUtils.getResultSetValue(rs, index, requiredType, zoneId);
+        if (value != null && !ClassUtils.isAssignableValue(requiredType, value)) {
+            if (typeConverter == null) {
+                typeConverter = new SimpleTypeConverter();
+            }
+            value = typeConverter.convertIfNecessary(value, requiredType);
+        }
+        return value;
+    }
+}
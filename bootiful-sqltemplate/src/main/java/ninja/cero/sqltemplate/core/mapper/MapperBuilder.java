@@ -1,13 +1,28 @@
 package ninja.cero.sqltemplate.core.mapper;
 
+import ninja.cero.sqltemplate.core.entity.SqlEntitySupport;
+import ninja.cero.sqltemplate.core.entity.SqlEntitySupports;
+import ninja.cero.sqltemplate.core.parameter.ParameterBinder;
+import ninja.cero.sqltemplate.core.util.ClassCache;
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
 import ninja.cero.sqltemplate.core.util.TypeUtils;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.time.ZoneId;
+import java.util.Map;
 
 public class MapperBuilder {
+    /** The cache of the row mappers, shared by all MapperBuilders and keyed by (mapped class, ZoneId), and by the builder class for the subclasses. */
+    protected static final ClassCache<RowMapper<?>> MAPPER_CACHE = new ClassCache<>(1024);
+
     protected ZoneId zoneId;
 
+    /** Whether to generate the row mappers as hidden classes, see {@link BytecodeMapper} */
+    protected boolean bytecode;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
     public MapperBuilder() {
         this.zoneId = ZoneId.systemDefault();
     }
@@ -16,15 +31,225 @@ public class MapperBuilder {
         this.zoneId = zoneId;
     }
 
+    /**
+     * Create a new MapperBuilder.
+     *
+     * @param zoneId   the zoneId of JSR-310 DateTime
+     * @param bytecode true to map the rows with {@link BytecodeMapper}s, false to use the reflective mappers
+     */
+    public MapperBuilder(ZoneId zoneId, boolean bytecode) {
+        this.zoneId = zoneId;
+        this.bytecode = bytecode;
+    }
+
+    /**
+     * Create a new MapperBuilder which deduplicates the String values of the entities, maps and arrays.
+     * The mappers of the {@link ninja.cero.sqltemplate.core.entity.SqlEntity} classes do not deduplicate.
+     *
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param bytecode            true to map the rows with {@link BytecodeMapper}s, false to use the reflective mappers
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public MapperBuilder(ZoneId zoneId, boolean bytecode, StringDeduplication stringDeduplication) {
+        this.zoneId = zoneId;
+        this.bytecode = bytecode;
+        this.stringDeduplication = stringDeduplication;
+    }
+
+    @SuppressWarnings("unchecked")
     public <T> RowMapper<T> mapper(Class<T> mappedClass) {
         if (TypeUtils.isSimpleValueType(mappedClass)) {
             return new SingleColumnMapper<>(mappedClass, zoneId);
         }
 
+        Object qualifier = bytecode ? new BytecodeQualifier(zoneId) : zoneId;
+        if (stringDeduplication != null) {
+            qualifier = new DeduplicationQualifier(qualifier, stringDeduplication);
+        }
+        if (getClass() != MapperBuilder.class) {
+            // a subclass may override createMapper, so its mappers are not shared with the other builders
+            qualifier = new BuilderQualifier(getClass(), cacheQualifier(), qualifier);
+        }
+        RowMapper<T> mapper = (RowMapper<T>) MAPPER_CACHE.get(mappedClass, qualifier, this::createMapper);
+        if (mapper instanceof ResultSetBoundMapper<T> boundMapper) {
+            return boundMapper.copy();
+        }
+        return mapper;
+    }
+
+    /**
+     * Get a BeanMapper of the mutable class, which can map the rows into one reused instance with
+     * {@link BeanMapper#reusing(java.util.function.Consumer)}.
+     *
+     * @param mappedClass the class we are mapping to, which must not be a record or a simple value type
+     * @param <T>         the class
+     * @return the BeanMapper, which must not be shared by concurrent queries
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BeanMapper<T> reusableMapper(Class<T> mappedClass) {
+        if (mappedClass.isRecord() || TypeUtils.isSimpleValueType(mappedClass)) {
+            throw new IllegalArgumentException("Cannot reuse the instances of immutable " + mappedClass.getName());
+        }
+
+        RowMapper<T> mapper = mapper(mappedClass);
+        if (mapper instanceof BeanMapper<T> beanMapper) {
+            return beanMapper;
+        }
+        // the SqlEntity and bytecode mappers always create a new instance
+        BeanMapper<T> beanMapper = (BeanMapper<T>) MAPPER_CACHE.get(mappedClass, new ReusableQualifier(zoneId, stringDeduplication),
+                clazz -> new BeanMapper<>(clazz, zoneId, stringDeduplication));
+        return beanMapper.copy();
+    }
+
+    /**
+     * Get a RowMapper which maps each row to a lazy view of the interface, see {@link RowViewMapper}.
+     *
+     * @param viewInterface the view interface
+     * @param <V>           the view interface
+     * @return the RowMapper, which must not be shared by concurrent queries
+     */
+    @SuppressWarnings("unchecked")
+    public <V> RowViewMapper<V> viewMapper(Class<V> viewInterface) {
+        RowViewMapper<V> mapper = (RowViewMapper<V>) MAPPER_CACHE.get(viewInterface, new ViewQualifier(zoneId),
+                clazz -> new RowViewMapper<>(clazz, zoneId));
+        return mapper.copy();
+    }
+
+    /**
+     * Get a RowMapper which maps each row to a read-only, case-insensitive Map of the column labels.
+     *
+     * @return the RowMapper, which must not be shared by concurrent queries
+     */
+    public RowMapper<Map<String, Object>> mapMapper() {
+        return new RowMapMapper(stringDeduplication);
+    }
+
+    /**
+     * Get a RowMapper which maps each row to an Object[] in column order.
+     *
+     * @return the RowMapper, which must not be shared by concurrent queries
+     */
+    public RowMapper<Object[]> arrayMapper() {
+        return new ArrayMapper(zoneId, stringDeduplication);
+    }
+
+    /**
+     * Get a RowMapper which maps the rows of an ordered join query for the aggregate.
+     *
+     * @param aggregate the mapping
+     * @param <P>       the parent class
+     * @param <C>       the child class
+     * @return the RowMapper, which must not be shared by concurrent queries
+     */
+    public <P, C> AggregateMapper<P, C> aggregateMapper(Aggregate<P, C> aggregate) {
+        return new AggregateMapper<>(aggregate, mapper(aggregate.parentClass()), mapper(aggregate.childClass()));
+    }
+
+    /**
+     * Create a new RowMapper for the entity class. The result is cached, so it must be thread-safe
+     * or a {@link ResultSetBoundMapper} which is copied for each query.
+     *
+     * @param mappedClass the class we are mapping to
+     * @param <T>         the class
+     * @return the RowMapper
+     */
+    protected <T> RowMapper<T> createMapper(Class<T> mappedClass) {
+        SqlEntitySupport<T> support = SqlEntitySupports.find(mappedClass);
+        if (support != null) {
+            return support.mapper(zoneId);
+        }
+
+        if (mappedClass.isAnnotationPresent(Discriminator.class)) {
+            return new PolymorphicMapper<>(mappedClass, this::mapper);
+        }
+
+        if (bytecode && BytecodeMapper.isSupported(mappedClass)) {
+            return new BytecodeMapper<>(mappedClass, zoneId, stringDeduplication);
+        }
+
         if (mappedClass.isRecord()) {
-            return new RecordMapper<>(mappedClass, zoneId);
+            return new RecordMapper<>(mappedClass, zoneId, stringDeduplication);
         }
 
-        return new BeanMapper<>(mappedClass, zoneId);
+        return new BeanMapper<>(mappedClass, zoneId, stringDeduplication);
+    }
+
+    /**
+     * Get the qualifier of the cached mappers of this builder, for a subclass which overrides {@link #createMapper(Class)}.
+     * The mappers of a subclass are cached per subclass and this qualifier, so a subclass whose mappers depend on
+     * its configuration (e.g. a naming strategy or converters) must return a value which equals only for the same configuration.
+     *
+     * @return the qualifier, or null if the mappers depend only on the subclass, the ZoneId and the options of MapperBuilder
+     */
+    protected Object cacheQualifier() {
+        return null;
+    }
+
+    /**
+     * Get the statistics of the row mapper cache.
+     *
+     * @return the statistics
+     */
+    public static ClassCache.Stats cacheStats() {
+        return MAPPER_CACHE.stats();
+    }
+
+    /**
+     * Remove the cached row mappers and parameter binders of the classes loaded by the given ClassLoader,
+     * e.g. on undeploying an application.
+     *
+     * @param classLoader the ClassLoader to clear the cache for
+     */
+    public static void clearCache(ClassLoader classLoader) {
+        MAPPER_CACHE.clearClassLoader(classLoader);
+        ParameterBinder.clearCache(classLoader);
+    }
+
+    /**
+     * The cache qualifier of the {@link BytecodeMapper}s, which are cached apart from the reflective mappers.
+     *
+     * @param zoneId the zoneId of JSR-310 DateTime
+     */
+    protected record BytecodeQualifier(ZoneId zoneId) {
+    }
+
+    /**
+     * The cache qualifier of the BeanMappers for {@link #reusableMapper(Class)} of the classes which are mapped by the other mappers.
+     *
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    protected record ReusableQualifier(ZoneId zoneId, StringDeduplication stringDeduplication) {
+    }
+
+    /**
+     * The cache qualifier of the {@link RowViewMapper}s.
+     *
+     * @param zoneId the zoneId of JSR-310 DateTime
+     */
+    protected record ViewQualifier(ZoneId zoneId) {
+    }
+
+    /**
+     * The cache qualifier of the mappers created by a subclass of MapperBuilder, cached per subclass and its {@link #cacheQualifier()}.
+     *
+     * @param builderClass     the subclass
+     * @param builderQualifier the qualifier of the subclass, or null
+     * @param qualifier        the qualifier of the mapper
+     */
+    protected record BuilderQualifier(Class<?> builderClass, Object builderQualifier, Object qualifier) implements ClassCache.ClassQualifier {
+        @Override
+        public Class<?> qualifierClass() {
+            return builderClass;
+        }
+    }
+
+    /**
+     * The cache qualifier of the mappers which deduplicate the String values, cached per option instance.
+     *
+     * @param qualifier           the qualifier without the option
+     * @param stringDeduplication the option to deduplicate the String values
+     */
+    protected record DeduplicationQualifier(Object qualifier, StringDeduplication stringDeduplication) {
     }
 }
@@ -0,0 +1,343 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the bytecode of a RowMapper for an entity class and a column layout, which is defined as a hidden class
+ * by {@link BytecodeMapper}.
+ * <p>
+ * The generated {@code mapRow} has a straight-line sequence of {@code rs.getXxx(index)} calls and direct setter,
+ * field or constructor invocations, one per mapped column. The types which {@link org.springframework.jdbc.support.JdbcUtils}
+ * reads with a dedicated getter (primitives and their wrappers, String, BigDecimal, java.sql date/time, byte[])
+ * and the zone-independent JSR-310 types are read directly; the other types are delegated to
+ * {@link BytecodeMapper#value(ResultSet, int, int)}, so they are mapped exactly like {@link BeanMapper}.
+ */
+class MapperClassGenerator implements Opcodes {
+    /** The suffix of the generated class name, before the suffix of the hidden class */
+    static final String SUFFIX = "$$SqlTemplateMapper";
+
+    /** The ResultSet getters by the types which are read directly */
+    static final Map<Class<?>, String> GETTERS = Map.ofEntries(
+            Map.entry(boolean.class, "getBoolean"), Map.entry(Boolean.class, "getBoolean"),
+            Map.entry(byte.class, "getByte"), Map.entry(Byte.class, "getByte"),
+            Map.entry(short.class, "getShort"), Map.entry(Short.class, "getShort"),
+            Map.entry(int.class, "getInt"), Map.entry(Integer.class, "getInt"),
+            Map.entry(long.class, "getLong"), Map.entry(Long.class, "getLong"),
+            Map.entry(float.class, "getFloat"), Map.entry(Float.class, "getFloat"),
+            Map.entry(double.class, "getDouble"), Map.entry(Double.class, "getDouble"),
+            Map.entry(String.class, "getString"),
+            Map.entry(BigDecimal.class, "getBigDecimal"),
+            Map.entry(Date.class, "getDate"),
+            Map.entry(Time.class, "getTime"),
+            Map.entry(Timestamp.class, "getTimestamp"),
+            Map.entry(byte[].class, "getBytes"));
+
+    /** The JSR-310 types which are converted from the java.sql types without the ZoneId: {getter, java.sql type, conversion} */
+    static final Map<Class<?>, String[]> CONVERSIONS = Map.of(
+            LocalDateTime.class, new String[]{"getTimestamp", Type.getInternalName(Timestamp.class), "toLocalDateTime"},
+            LocalDate.class, new String[]{"getDate", Type.getInternalName(Date.class), "toLocalDate"},
+            LocalTime.class, new String[]{"getTime", Type.getInternalName(Time.class), "toLocalTime"},
+            Instant.class, new String[]{"getTimestamp", Type.getInternalName(Timestamp.class), "toInstant"});
+
+    static final String RESULT_SET = Type.getInternalName(ResultSet.class);
+
+    static final String MAPPER = Type.getInternalName(BytecodeMapper.class);
+
+    /** The class we are mapping to */
+    protected final Class<?> mappedClass;
+
+    /** The properties, fields or record components by ordinal */
+    protected final List<BytecodeMapper.Target> targets;
+
+    /** Whether the String values are passed to {@link BytecodeMapper#deduplicate(int, String)} */
+    protected final boolean deduplicate;
+
+    /** The next free local variable slot of mapRow */
+    protected int nextLocal;
+
+    MapperClassGenerator(Class<?> mappedClass, List<BytecodeMapper.Target> targets, boolean deduplicate) {
+        this.mappedClass = mappedClass;
+        this.targets = targets;
+        this.deduplicate = deduplicate;
+    }
+
+    /**
+     * Generate the class file of the RowMapper.
+     *
+     * @param ordinals the ordinals of the targets by column index - 1, -1 if the column is not mapped
+     * @return the class file
+     */
+    byte[] generate(int[] ordinals) {
+        String className = Type.getInternalName(mappedClass) + SUFFIX;
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // the locals are never shared by different types, so the frames never merge two classes
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(V17, ACC_FINAL | ACC_SUPER, className, null, "java/lang/Object",
+                new String[]{"org/springframework/jdbc/core/RowMapper"});
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, "mapper", "L" + MAPPER + ";", null, null).visitEnd();
+
+        MethodVisitor init = cw.visitMethod(0, "<init>", "(L" + MAPPER + ";)V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitVarInsn(ALOAD, 0);
+        init.visitVarInsn(ALOAD, 1);
+        init.visitFieldInsn(PUTFIELD, className, "mapper", "L" + MAPPER + ";");
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "mapRow", "(Ljava/sql/ResultSet;I)Ljava/lang/Object;", null,
+                new String[]{"java/sql/SQLException"});
+        mv.visitCode();
+        nextLocal = 3;
+        if (mappedClass.isRecord()) {
+            generateRecord(mv, className, ordinals);
+        } else {
+            generateBean(mv, className, ordinals);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    protected void generateBean(MethodVisitor mv, String className, int[] ordinals) {
+        String owner = Type.getInternalName(mappedClass);
+        int bean = allocate(Type.getType(Object.class));
+        mv.visitTypeInsn(NEW, owner);
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", "()V", false);
+        mv.visitVarInsn(ASTORE, bean);
+
+        for (int i = 0; i < ordinals.length; i++) {
+            if (ordinals[i] < 0) {
+                continue;
+            }
+            BytecodeMapper.Target target = targets.get(ordinals[i]);
+            Type type = Type.getType(target.type());
+            if (target.type().isPrimitive()) {
+                // leave the default value of the primitive if the column is null, like BeanMapper
+                int value = allocate(type);
+                read(mv, className, i + 1, ordinals[i]);
+                mv.visitVarInsn(type.getOpcode(ISTORE), value);
+                Label skip = new Label();
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET, "wasNull", "()Z", true);
+                mv.visitJumpInsn(IFNE, skip);
+                mv.visitVarInsn(ALOAD, bean);
+                mv.visitVarInsn(type.getOpcode(ILOAD), value);
+                write(mv, owner, target);
+                mv.visitLabel(skip);
+            } else {
+                mv.visitVarInsn(ALOAD, bean);
+                read(mv, className, i + 1, ordinals[i]);
+                write(mv, owner, target);
+            }
+        }
+
+        mv.visitVarInsn(ALOAD, bean);
+        mv.visitInsn(ARETURN);
+    }
+
+    protected void generateRecord(MethodVisitor mv, String className, int[] ordinals) {
+        String owner = Type.getInternalName(mappedClass);
+        int[] locals = new int[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            Type type = Type.getType(targets.get(i).type());
+            locals[i] = allocate(type);
+            pushDefault(mv, type);
+            mv.visitVarInsn(type.getOpcode(ISTORE), locals[i]);
+        }
+
+        // rs.getXxx of a primitive returns the default value for null, like RecordMapper
+        for (int i = 0; i < ordinals.length; i++) {
+            if (ordinals[i] < 0) {
+                continue;
+            }
+            read(mv, className, i + 1, ordinals[i]);
+            mv.visitVarInsn(Type.getType(targets.get(ordinals[i]).type()).getOpcode(ISTORE), locals[ordinals[i]]);
+        }
+
+        Type[] paramTypes = new Type[targets.size()];
+        mv.visitTypeInsn(NEW, owner);
+        mv.visitInsn(DUP);
+        for (int i = 0; i < targets.size(); i++) {
+            paramTypes[i] = Type.getType(targets.get(i).type());
+            mv.visitVarInsn(paramTypes[i].getOpcode(ILOAD), locals[i]);
+        }
+        mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, paramTypes), false);
+        mv.visitInsn(ARETURN);
+    }
+
+    /**
+     * Generate the code which pushes the column value as the type of the target.
+     */
+    protected void read(MethodVisitor mv, String className, int index, int ordinal) {
+        Class<?> type = targets.get(ordinal).type();
+        String getter = GETTERS.get(type);
+        String[] conversion = CONVERSIONS.get(type);
+
+        if (type == String.class && deduplicate) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className, "mapper", "L" + MAPPER + ";");
+            pushInt(mv, index);
+            getColumn(mv, index, getter, Type.getDescriptor(type));
+            mv.visitMethodInsn(INVOKEVIRTUAL, MAPPER, "deduplicate", "(ILjava/lang/String;)Ljava/lang/String;", false);
+        } else if (getter != null && !ClassUtils.isPrimitiveWrapper(type)) {
+            getColumn(mv, index, getter, Type.getDescriptor(type));
+        } else if (getter != null) {
+            // wrapper: null if wasNull, like JdbcUtils.getResultSetValue
+            Type primitive = Type.getType(MethodType.methodType(type).unwrap().returnType());
+            int value = allocate(primitive);
+            getColumn(mv, index, getter, primitive.getDescriptor());
+            mv.visitVarInsn(primitive.getOpcode(ISTORE), value);
+            Label notNull = new Label();
+            Label end = new Label();
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET, "wasNull", "()Z", true);
+            mv.visitJumpInsn(IFEQ, notNull);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(notNull);
+            mv.visitVarInsn(primitive.getOpcode(ILOAD), value);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(type), "valueOf",
+                    Type.getMethodDescriptor(Type.getType(type), primitive), false);
+            mv.visitLabel(end);
+        } else if (conversion != null) {
+            Label isNull = new Label();
+            Label end = new Label();
+            getColumn(mv, index, conversion[0], "L" + conversion[1] + ";");
+            mv.visitInsn(DUP);
+            mv.visitJumpInsn(IFNULL, isNull);
+            mv.visitMethodInsn(INVOKEVIRTUAL, conversion[1], conversion[2], "()" + Type.getDescriptor(type), false);
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(isNull);
+            mv.visitInsn(POP);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitLabel(end);
+        } else {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, className, "mapper", "L" + MAPPER + ";");
+            mv.visitVarInsn(ALOAD, 1);
+            pushInt(mv, index);
+            pushInt(mv, ordinal);
+            mv.visitMethodInsn(INVOKEVIRTUAL, MAPPER, "value", "(L" + RESULT_SET + ";II)Ljava/lang/Object;", false);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        }
+    }
+
+    protected void getColumn(MethodVisitor mv, int index, String getter, String returnDescriptor) {
+        mv.visitVarInsn(ALOAD, 1);
+        pushInt(mv, index);
+        mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET, getter, "(I)" + returnDescriptor, true);
+    }
+
+    /**
+     * Generate the code which sets the value on the stack to the target of the bean below it.
+     */
+    protected void write(MethodVisitor mv, String owner, BytecodeMapper.Target target) {
+        if (target.member() instanceof Method method) {
+            mv.visitMethodInsn(INVOKEVIRTUAL, owner, method.getName(), Type.getMethodDescriptor(method), false);
+            Type returnType = Type.getReturnType(method);
+            if (returnType.getSize() == 1) {
+                mv.visitInsn(POP);
+            } else if (returnType.getSize() == 2) {
+                mv.visitInsn(POP2);
+            }
+        } else if (target.member() instanceof Field field) {
+            mv.visitFieldInsn(PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+        }
+    }
+
+    protected int allocate(Type type) {
+        int local = nextLocal;
+        nextLocal += type.getSize();
+        return local;
+    }
+
+    protected static void pushDefault(MethodVisitor mv, Type type) {
+        switch (type.getSort()) {
+            case Type.BOOLEAN, Type.BYTE, Type.SHORT, Type.INT, Type.CHAR -> mv.visitInsn(ICONST_0);
+            case Type.LONG -> mv.visitInsn(LCONST_0);
+            case Type.FLOAT -> mv.visitInsn(FCONST_0);
+            case Type.DOUBLE -> mv.visitInsn(DCONST_0);
+            default -> mv.visitInsn(ACONST_NULL);
+        }
+    }
+
+    protected static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    /**
+     * Check that the generated class, which is defined in the package of the mapped class, can access the class.
+     *
+     * @param type        the class to access
+     * @param mappedClass the class we are mapping to
+     * @return true if accessible
+     */
+    static boolean isAccessible(Class<?> type, Class<?> mappedClass) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        if (type.getClassLoader() == mappedClass.getClassLoader() && type.getPackageName().equals(mappedClass.getPackageName())) {
+            return true;
+        }
+        for (Class<?> c = type; c != null; c = c.getDeclaringClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return type.getModule().isExported(type.getPackageName(), mappedClass.getModule());
+    }
+
+    /**
+     * Check that the generated class, which is defined in the package of the declaring class, can call the constructor.
+     *
+     * @param constructor the constructor
+     * @return true if accessible
+     */
+    static boolean isAccessible(Constructor<?> constructor) {
+        return !Modifier.isPrivate(constructor.getModifiers());
+    }
+}
@@ -0,0 +1,132 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link RowMapper} implementation which maps each row of a {@link Discriminator} type to one of its subtypes,
+ * chosen by the value of the discriminator column.
+ * <p>
+ * Each subtype is mapped by its own mapper of {@link MapperBuilder#mapper(Class)}, which resolves its column bindings
+ * once on the first row of that subtype in a ResultSet. So a row costs one lookup by the discriminator value
+ * on top of the subtype mapper, and an instance must not be shared by concurrent queries. Use {@link #copy()} for each query.
+ *
+ * @param <T> the annotated type
+ */
+public class PolymorphicMapper<T> implements ResultSetBoundMapper<T> {
+    /** The annotated type */
+    protected Class<T> mappedClass;
+
+    /** The label of the discriminator column */
+    protected String column;
+
+    /** The mappers of the subtypes by the discriminator value */
+    protected Map<String, RowMapper<? extends T>> mappers;
+
+    /** The ResultSet which {@link #discriminatorIndex} is resolved for */
+    protected ResultSet boundResultSet;
+
+    /** The column index of the discriminator in {@link #boundResultSet} */
+    protected int discriminatorIndex;
+
+    /**
+     * Create a new PolymorphicMapper.
+     *
+     * @param mappedClass   the type annotated with {@link Discriminator}
+     * @param mapperFactory the function to get the mapper of a subtype
+     */
+    @SuppressWarnings("unchecked")
+    public PolymorphicMapper(Class<T> mappedClass, Function<Class<?>, RowMapper<?>> mapperFactory) {
+        Discriminator discriminator = mappedClass.getAnnotation(Discriminator.class);
+        if (discriminator == null) {
+            throw new IllegalArgumentException(mappedClass.getName() + " is not annotated with @Discriminator");
+        }
+
+        Map<String, Class<?>> subtypes = new HashMap<>();
+        collectSubtypes(mappedClass, subtypes);
+        for (Class<?> subtype : discriminator.subtypes()) {
+            if (!mappedClass.isAssignableFrom(subtype)) {
+                throw new IllegalArgumentException(subtype.getName() + " is not a subtype of " + mappedClass.getName());
+            }
+            collectSubtypes(subtype, subtypes);
+        }
+        if (subtypes.isEmpty()) {
+            throw new IllegalArgumentException("No concrete subtype of " + mappedClass.getName()
+                    + " found, it must be sealed or list the subtypes in @Discriminator");
+        }
+
+        this.mappedClass = mappedClass;
+        this.column = discriminator.value();
+        this.mappers = new HashMap<>();
+        subtypes.forEach((value, subtype) -> mappers.put(value, (RowMapper<? extends T>) mapperFactory.apply(subtype)));
+    }
+
+    /**
+     * Create a new PolymorphicMapper which shares the subtype mappers of the given one, copying the bound ones.
+     *
+     * @param prototype the mapper to copy
+     */
+    protected PolymorphicMapper(PolymorphicMapper<T> prototype) {
+        this.mappedClass = prototype.mappedClass;
+        this.column = prototype.column;
+        this.mappers = new HashMap<>();
+        prototype.mappers.forEach((value, mapper) ->
+                mappers.put(value, mapper instanceof ResultSetBoundMapper<? extends T> boundMapper ? boundMapper.copy() : mapper));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PolymorphicMapper<T> copy() {
+        return new PolymorphicMapper<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rs != boundResultSet) {
+            discriminatorIndex = rs.findColumn(column);
+            boundResultSet = rs;
+        }
+
+        String value = rs.getString(discriminatorIndex);
+        RowMapper<? extends T> mapper = mappers.get(value);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No subtype of " + mappedClass.getName() + " for " + column + " = " + value);
+        }
+        return mapper.mapRow(rs, rowNum);
+    }
+
+    /**
+     * Collect the concrete type and its permitted subclasses by the discriminator value.
+     *
+     * @param type     the type
+     * @param subtypes the subtypes by the discriminator value
+     */
+    protected static void collectSubtypes(Class<?> type, Map<String, Class<?>> subtypes) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            DiscriminatorValue annotation = type.getAnnotation(DiscriminatorValue.class);
+            String value = annotation == null ? type.getSimpleName() : annotation.value();
+            Class<?> other = subtypes.putIfAbsent(value, type);
+            if (other != null && other != type) {
+                throw new IllegalArgumentException("Both " + other.getName() + " and " + type.getName()
+                        + " have the discriminator value " + value);
+            }
+        }
+
+        if (type.isSealed()) {
+            for (Class<?> permitted : type.getPermittedSubclasses()) {
+                collectSubtypes(permitted, subtypes);
+            }
+        }
+    }
+}
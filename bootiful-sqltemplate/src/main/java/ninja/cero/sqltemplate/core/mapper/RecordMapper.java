@@ -2,27 +2,38 @@ package ninja.cero.sqltemplate.core.mapper;
 
 import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import ninja.cero.sqltemplate.core.util.NameUtils;
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.RecordComponent;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * {@link org.springframework.jdbc.core.RowMapper} implementation for record class.
  * Supports {@link java.time.LocalDateTime} and {@link java.time.LocalDate} of JSR-310
+ * <p>
+ * The columns are bound to the constructor parameters once on the first row of a ResultSet. An instance is thread-safe,
+ * but concurrent queries on one instance bind their columns again and again, so use {@link #copy()} for each query.
  *
  * @param <T> The record class
  */
-public class RecordMapper<T> implements RowMapper<T> {
+public class RecordMapper<T> implements ResultSetBoundMapper<T> {
     /** Logger available to subclasses */
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -32,15 +43,27 @@ public class RecordMapper<T> implements RowMapper<T> {
     /** The constructor of mapping class */
     protected Constructor<T> constructor;
 
+    /** The canonical constructor as (Object[])Object, which spreads the array to the parameters */
+    protected MethodHandle constructorHandle;
+
     /** The constructor parameters of mapping class */
     protected Class<?>[] paramTypes;
 
+    /** The default values of the constructor parameters, which are null except for primitives */
+    protected Object[] defaultValues;
+
     /** Map of indexes of constructor parameters */
     protected Map<String, Integer> indexes = new HashMap<>();
 
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
+    /** The column bindings of the ResultSet mapped last, or null */
+    protected ResultSetBinding resultSetBinding;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
     /**
      * Create a new RecordMapper.
      *
@@ -48,20 +71,40 @@ public class RecordMapper<T> implements RowMapper<T> {
      * @param zoneId      the zoneId of JSR-310 DateTime
      */
     public RecordMapper(Class<T> mappedClass, ZoneId zoneId) {
+        this(mappedClass, zoneId, null);
+    }
+
+    /**
+     * Create a new RecordMapper which deduplicates the String values.
+     *
+     * @param mappedClass         the class we are mapping to
+     * @param zoneId              the zoneId of JSR-310 DateTime
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public RecordMapper(Class<T> mappedClass, ZoneId zoneId, StringDeduplication stringDeduplication) {
         this.mappedClass = mappedClass;
+        this.stringDeduplication = stringDeduplication;
         this.zoneId = zoneId;
 
         RecordComponent[] components = mappedClass.getRecordComponents();
         paramTypes = new Class<?>[components.length];
+        defaultValues = new Object[components.length];
         for (int i = 0; i < components.length; i++) {
             paramTypes[i] = components[i].getType();
+            if (paramTypes[i].isPrimitive()) {
+                defaultValues[i] = Array.get(Array.newInstance(paramTypes[i], 1), 0);
+            }
         }
 
         try {
             // getDeclaredConstructor (+ setAccessible) so non-public records are supported too
             constructor = mappedClass.getDeclaredConstructor(paramTypes);
             constructor.setAccessible(true);
-        } catch (NoSuchMethodException e) {
+            constructorHandle = MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, paramTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             throw new RuntimeException("Couldn't find the canonical constructor of record " + mappedClass.getName(), e);
         }
 
@@ -77,35 +120,106 @@ public class RecordMapper<T> implements RowMapper<T> {
         }
     }
 
+    /**
+     * Create a new RecordMapper which shares the class metadata of the given mapper.
+     *
+     * @param mapper the mapper to copy
+     */
+    protected RecordMapper(RecordMapper<T> mapper) {
+        this.mappedClass = mapper.mappedClass;
+        this.constructor = mapper.constructor;
+        this.constructorHandle = mapper.constructorHandle;
+        this.paramTypes = mapper.paramTypes;
+        this.defaultValues = mapper.defaultValues;
+        this.indexes = mapper.indexes;
+        this.zoneId = mapper.zoneId;
+        this.stringDeduplication = mapper.stringDeduplication;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
+    public RecordMapper<T> copy() {
+        return new RecordMapper<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
     public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
-        Object[] params = new Object[constructor.getParameterCount()];
+        ResultSetBinding binding = this.resultSetBinding;
+        if (binding == null || binding.get() != rs) {
+            // published as one object, so a thread never reads the bindings of another thread's ResultSet
+            binding = resolveBindings(rs);
+            this.resultSetBinding = binding;
+        }
+
+        int[] columnIndexes = binding.columnIndexes;
+        int[] paramIndexes = binding.paramIndexes;
+        Object[] args = binding.args;
+        for (int i = 0; i < columnIndexes.length; i++) {
+            int paramIndex = paramIndexes[i];
+            Class<?> type = paramTypes[paramIndex];
+            Object value = getColumnValue(rs, columnIndexes[i], type);
+            if (value == null) {
+                value = defaultValues[paramIndex];
+            } else if (binding.deduplicated[i] && value instanceof String string) {
+                value = binding.stringTable.canonicalize(string);
+            } else if (!ClassUtils.isAssignableValue(type, value)) {
+                value = binding.convertValue(value, type);
+            }
+            args[paramIndex] = value;
+        }
+
+        try {
+            return (T) (Object) constructorHandle.invokeExact(args);
+        } catch (Throwable e) {
+            throw new RuntimeException("Couldn't create record instance.", e);
+        }
+    }
 
+    /**
+     * Resolve the bindings of the columns of the ResultSet to the constructor parameters.
+     *
+     * @param rs ResultSet
+     * @return the column bindings
+     * @throws SQLException in case of metadata failure
+     */
+    protected ResultSetBinding resolveBindings(ResultSet rs) throws SQLException {
         ResultSetMetaData metaData = rs.getMetaData();
         int columnCount = metaData.getColumnCount();
+        int[] columns = new int[columnCount];
+        int[] params = new int[columnCount];
+        boolean[] dedup = new boolean[columnCount];
+        int mapped = 0;
 
         for (int index = 1; index <= columnCount; index++) {
             String column = JdbcUtils.lookupColumnName(metaData, index);
 
             String name = column.replace(" ", "").toLowerCase();
-            if (indexes.containsKey(name)) {
-                int i = indexes.get(name);
-                params[i] = getColumnValue(rs, index, paramTypes[i]);
+            Integer i = indexes.get(name);
+            if (i != null) {
+                columns[mapped] = index;
+                params[mapped] = i;
+                if (paramTypes[i].isEnum()) {
+                    JdbcValueUtils.checkEnumColumn(metaData, index, paramTypes[i]);
+                }
+                // only the String parameters, so that the values for the other types are still converted
+                dedup[mapped] = stringDeduplication != null && paramTypes[i] == String.class
+                        && stringDeduplication.appliesTo(metaData, index);
+                mapped++;
 
-                if (logger.isDebugEnabled() && rowNumber == 0) {
+                if (logger.isDebugEnabled()) {
                     logger.debug("Mapping column '" + column + "' to constructor parameter at '" + i + "' of type " + paramTypes[i]);
                 }
             }
         }
 
-        try {
-            return constructor.newInstance(params);
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException("Couldn't create record instance.", e);
-        }
+        return new ResultSetBinding(rs, Arrays.copyOf(columns, mapped), Arrays.copyOf(params, mapped), Arrays.copyOf(dedup, mapped),
+                stringDeduplication == null ? null : stringDeduplication.newTable(), defaultValues.clone());
     }
 
     /**
@@ -118,6 +232,58 @@ public class RecordMapper<T> implements RowMapper<T> {
      * @throws SQLException in case of extraction failure
      */
     protected Object getColumnValue(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+        if (requiredType.isEnum()) {
+            // the column type is checked once in resolveBindings
+            return JdbcValueUtils.getEnumValue(rs, index, requiredType);
+        }
         return JdbcValueUtils.getResultSetValue(rs, index, requiredType, zoneId);
     }
+
+    /**
+     * The column bindings of a ResultSet and the state of its query. The ResultSet is referred to weakly,
+     * so that the mapper does not retain it after the query.
+     */
+    protected static class ResultSetBinding extends WeakReference<ResultSet> {
+        /** The indexes of the mapped columns */
+        protected final int[] columnIndexes;
+
+        /** The constructor parameter indexes of {@link #columnIndexes} */
+        protected final int[] paramIndexes;
+
+        /** Whether the String values of {@link #columnIndexes} are deduplicated */
+        protected final boolean[] deduplicated;
+
+        /** The canonicalizing table, or null */
+        protected final StringDeduplication.Table stringTable;
+
+        /** The constructor arguments, reused for every row because the constructor handle spreads them */
+        protected final Object[] args;
+
+        /** TypeConverter for the values which JDBC did not return as the parameter type */
+        protected SimpleTypeConverter typeConverter;
+
+        protected ResultSetBinding(ResultSet rs, int[] columnIndexes, int[] paramIndexes, boolean[] deduplicated,
+                                   StringDeduplication.Table stringTable, Object[] args) {
+            super(rs);
+            this.columnIndexes = columnIndexes;
+            this.paramIndexes = paramIndexes;
+            this.deduplicated = deduplicated;
+            this.stringTable = stringTable;
+            this.args = args;
+        }
+
+        /**
+         * Convert the column value which JDBC did not return as the parameter type.
+         *
+         * @param value        column value
+         * @param requiredType the parameter type
+         * @return the converted value
+         */
+        protected Object convertValue(Object value, Class<?> requiredType) {
+            if (typeConverter == null) {
+                typeConverter = new SimpleTypeConverter();
+            }
+            return typeConverter.convertIfNecessary(value, requiredType);
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * A {@link RowMapper} which resolves its column bindings once on the first row of a ResultSet.
+ * The class metadata is immutable and cached by {@link MapperBuilder}, while the column bindings belong to a query,
+ * so {@link MapperBuilder} hands out a copy for each query.
+ *
+ * @param <T> The class
+ */
+public interface ResultSetBoundMapper<T> extends RowMapper<T> {
+    /**
+     * Create a new mapper which shares the class metadata of this mapper, but none of its column bindings.
+     *
+     * @return the new mapper
+     */
+    ResultSetBoundMapper<T> copy();
+}
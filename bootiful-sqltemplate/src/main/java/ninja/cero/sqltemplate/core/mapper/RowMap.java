@@ -0,0 +1,197 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only, case-insensitive {@link Map} view of a row, created by {@link RowMapMapper}.
+ * The rows of a ResultSet share one {@link Columns} index, so each row only holds the array of its values.
+ * <p>
+ * Unlike the maps of {@link org.springframework.jdbc.core.ColumnMapRowMapper}, it cannot be modified: copy it
+ * (e.g. {@code new LinkedHashMap<>(row)}) to add or remove entries. It is serialized as a {@link LinkedCaseInsensitiveMap}.
+ */
+public class RowMap extends AbstractMap<String, Object> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** The shared column index */
+    protected final transient Columns columns;
+
+    /** The values by column position of the ResultSet, 0-based */
+    protected final transient Object[] values;
+
+    /**
+     * Create a new RowMap.
+     *
+     * @param columns the shared column index
+     * @param values  the values by column position of the ResultSet, 0-based
+     */
+    public RowMap(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return columns.keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return columns.slotOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int slot = columns.slotOf(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        int slot = columns.slotOf(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw new UnsupportedOperationException("RowMap is read-only");
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException("RowMap is read-only");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        throw new UnsupportedOperationException("RowMap is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("RowMap is read-only");
+    }
+
+    /**
+     * Serialize a copy as a LinkedCaseInsensitiveMap, which the maps of ColumnMapRowMapper are.
+     *
+     * @return the copy
+     */
+    @Serial
+    protected Object writeReplace() {
+        LinkedCaseInsensitiveMap<Object> copy = new LinkedCaseInsensitiveMap<>(size());
+        copy.putAll(this);
+        return copy;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < columns.keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(columns.keys[position], values[columns.slots[position]]);
+                        position++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return columns.keys.length;
+            }
+        };
+    }
+
+    /**
+     * The case-insensitive index of the column labels of a ResultSet, shared by all its rows.
+     * The first of the duplicated labels wins, like {@link org.springframework.jdbc.core.ColumnMapRowMapper}.
+     */
+    public static class Columns {
+        /** The distinct labels in the order of the map */
+        protected final String[] keys;
+
+        /** The value positions of {@link #keys} */
+        protected final int[] slots;
+
+        /** The value positions by label as it is */
+        protected final Map<String, Integer> exactSlots;
+
+        /** The value positions by case-insensitive label */
+        protected final LinkedCaseInsensitiveMap<Integer> caseInsensitiveSlots;
+
+        /**
+         * Create the index of the column labels.
+         *
+         * @param labels the column labels in the order of the ResultSet
+         */
+        public Columns(List<String> labels) {
+            caseInsensitiveSlots = new LinkedCaseInsensitiveMap<>(labels.size());
+            for (int i = 0; i < labels.size(); i++) {
+                caseInsensitiveSlots.putIfAbsent(labels.get(i), i);
+            }
+
+            keys = new String[caseInsensitiveSlots.size()];
+            slots = new int[caseInsensitiveSlots.size()];
+            exactSlots = new HashMap<>(caseInsensitiveSlots);
+            int position = 0;
+            for (Entry<String, Integer> entry : caseInsensitiveSlots.entrySet()) {
+                keys[position] = entry.getKey();
+                slots[position] = entry.getValue();
+                position++;
+            }
+        }
+
+        /**
+         * Get the labels.
+         *
+         * @return the distinct labels in the order of the ResultSet
+         */
+        public List<String> keys() {
+            return Collections.unmodifiableList(Arrays.asList(keys));
+        }
+
+        /**
+         * Get the value position of the label.
+         *
+         * @param key the label, case-insensitive
+         * @return the value position, or -1 if not found
+         */
+        protected int slotOf(Object key) {
+            if (!(key instanceof String label)) {
+                return -1;
+            }
+            Integer slot = exactSlots.get(label);
+            if (slot == null) {
+                slot = caseInsensitiveSlots.get(label);
+            }
+            return slot == null ? -1 : slot;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.StringDeduplication;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link org.springframework.jdbc.core.RowMapper} implementation which creates a read-only {@link RowMap} for each row,
+ * as a compact alternative to {@link org.springframework.jdbc.core.ColumnMapRowMapper}.
+ * <p>
+ * The column labels are resolved once on the first row of a ResultSet into an index shared by all rows.
+ * An instance is thread-safe, but concurrent queries on one instance resolve their columns again and again,
+ * so use {@link #copy()} for each query.
+ */
+public class RowMapMapper implements ResultSetBoundMapper<Map<String, Object>> {
+    /** The columns of the ResultSet mapped last, or null */
+    protected ResultSetColumns resultSetColumns;
+
+    /** The option to deduplicate the String values, or null */
+    protected StringDeduplication stringDeduplication;
+
+    /**
+     * Create a new RowMapMapper.
+     */
+    public RowMapMapper() {
+    }
+
+    /**
+     * Create a new RowMapMapper which deduplicates the String values.
+     *
+     * @param stringDeduplication the option to deduplicate the String values, or null
+     */
+    public RowMapMapper(StringDeduplication stringDeduplication) {
+        this.stringDeduplication = stringDeduplication;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowMapMapper copy() {
+        return new RowMapMapper(stringDeduplication);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        ResultSetColumns resultSetColumns = this.resultSetColumns;
+        if (resultSetColumns == null || resultSetColumns.get() != rs) {
+            // published as one object, so a thread never reads the columns of another thread's ResultSet
+            resultSetColumns = resolveColumns(rs);
+            this.resultSetColumns = resultSetColumns;
+        }
+
+        boolean[] deduplicated = resultSetColumns.deduplicated;
+        Object[] values = new Object[deduplicated.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = getColumnValue(rs, i + 1);
+            if (deduplicated[i] && value instanceof String string) {
+                value = resultSetColumns.stringTable.canonicalize(string);
+            }
+            values[i] = value;
+        }
+        return new RowMap(resultSetColumns.columns, values);
+    }
+
+    /**
+     * Resolve the column index of the ResultSet.
+     *
+     * @param rs ResultSet
+     * @return the columns of the ResultSet
+     * @throws SQLException in case of metadata failure
+     */
+    protected ResultSetColumns resolveColumns(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> labels = new ArrayList<>(columnCount);
+        boolean[] deduplicated = new boolean[columnCount];
+        for (int index = 1; index <= columnCount; index++) {
+            labels.add(JdbcUtils.lookupColumnName(metaData, index));
+            deduplicated[index - 1] = stringDeduplication != null && stringDeduplication.appliesTo(metaData, index);
+        }
+        return new ResultSetColumns(rs, new RowMap.Columns(labels), deduplicated,
+                stringDeduplication == null ? null : stringDeduplication.newTable());
+    }
+
+    /**
+     * Get the column value, like {@link org.springframework.jdbc.core.ColumnMapRowMapper}.
+     *
+     * @param rs    ResultSet
+     * @param index column index
+     * @return column value
+     * @throws SQLException in case of extraction failure
+     */
+    protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
+        return JdbcUtils.getResultSetValue(rs, index);
+    }
+
+    /**
+     * The columns of a ResultSet and the state of its query. The ResultSet is referred to weakly,
+     * so that the mapper does not retain it after the query.
+     */
+    protected static class ResultSetColumns extends WeakReference<ResultSet> {
+        /** The column index shared by the rows */
+        protected final RowMap.Columns columns;
+
+        /** Whether the String values of the columns are deduplicated, by column index - 1 */
+        protected final boolean[] deduplicated;
+
+        /** The canonicalizing table, or null */
+        protected final StringDeduplication.Table stringTable;
+
+        protected ResultSetColumns(ResultSet rs, RowMap.Columns columns, boolean[] deduplicated, StringDeduplication.Table stringTable) {
+            super(rs);
+            this.columns = columns;
+            this.deduplicated = deduplicated;
+            this.stringTable = stringTable;
+        }
+    }
+}
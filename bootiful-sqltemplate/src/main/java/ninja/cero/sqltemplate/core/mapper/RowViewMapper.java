@@ -0,0 +1,299 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
+import ninja.cero.sqltemplate.core.util.NameUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link org.springframework.jdbc.core.RowMapper} implementation which maps each row to a lazy view of an interface.
+ * <p>
+ * The getters of the interface ({@code getXxx()}, {@code isXxx()} or {@code xxx()}) are matched to the columns by
+ * the same rules as {@link BeanMapper}. A view reads a column from the current row of the ResultSet only when its getter
+ * is called first, and returns the same value afterwards, so the wide columns which are never read are never decoded.
+ * <p>
+ * A view is only valid until the ResultSet moves to the next row; its getters then throw {@link IllegalStateException},
+ * except for the values which are already read. So the views must be consumed within a stream pipeline,
+ * not collected. The columns are resolved once on the first row of a ResultSet, so an instance must not be shared
+ * by concurrent queries. Use {@link #copy()} for each query.
+ *
+ * @param <V> the view interface
+ */
+public class RowViewMapper<V> implements ResultSetBoundMapper<V> {
+    /** The view interface */
+    protected Class<V> viewInterface;
+
+    /** ZoneId for OffsetDateTime and ZonedDateTime */
+    protected ZoneId zoneId;
+
+    /** The ordinals of the getters */
+    protected Map<Method, Integer> ordinals;
+
+    /** The return types of the getters by ordinal */
+    protected Class<?>[] types;
+
+    /** Map of the ordinals of the getters by lower case and underscored property names */
+    protected Map<String, Integer> names;
+
+    /** The constructor of the proxy class taking the InvocationHandler, or null to create each proxy with {@link Proxy} */
+    protected Constructor<?> proxyConstructor;
+
+    /** The ResultSet which {@link #columnIndexes} are resolved for */
+    protected ResultSet boundResultSet;
+
+    /** The column indexes of the getters by ordinal, 0 if the column is not found */
+    protected int[] columnIndexes;
+
+    /** The number of the row which the ResultSet is on */
+    protected int currentRow;
+
+    /** TypeConverter for the values which JDBC did not return as the return type */
+    protected SimpleTypeConverter typeConverter;
+
+    /**
+     * Create a new RowViewMapper.
+     *
+     * @param viewInterface the view interface
+     * @param zoneId        the zoneId of JSR-310 DateTime
+     */
+    public RowViewMapper(Class<V> viewInterface, ZoneId zoneId) {
+        if (!viewInterface.isInterface()) {
+            throw new IllegalArgumentException(viewInterface.getName() + " is not an interface");
+        }
+        this.viewInterface = viewInterface;
+        this.zoneId = zoneId;
+
+        Map<Method, Integer> ordinals = new HashMap<>();
+        Map<String, Integer> names = new HashMap<>();
+        Class<?>[] types = new Class<?>[0];
+        for (Method method : viewInterface.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class || ReflectionUtils.isObjectMethod(method)) {
+                continue;
+            }
+            String name = propertyName(method);
+            Integer ordinal = names.get(name.toLowerCase());
+            if (ordinal == null) {
+                ordinal = types.length;
+                types = Arrays.copyOf(types, ordinal + 1);
+                types[ordinal] = method.getReturnType();
+                names.put(name.toLowerCase(), ordinal);
+                names.put(NameUtils.underscoreName(name), ordinal);
+            }
+            ordinals.put(method, ordinal);
+        }
+        this.ordinals = Collections.unmodifiableMap(ordinals);
+        this.names = Collections.unmodifiableMap(names);
+        this.types = types;
+        this.proxyConstructor = proxyConstructor(viewInterface);
+    }
+
+    /**
+     * Resolve the constructor of the proxy class of the interface, so that a view is created without looking up
+     * the proxy class in its cache for every row.
+     *
+     * @param viewInterface the view interface
+     * @return the constructor taking the InvocationHandler, or null if it is not accessible
+     */
+    protected static Constructor<?> proxyConstructor(Class<?> viewInterface) {
+        try {
+            Object proxy = Proxy.newProxyInstance(viewInterface.getClassLoader(), new Class<?>[]{viewInterface}, (p, method, args) -> null);
+            Constructor<?> constructor = proxy.getClass().getConstructor(InvocationHandler.class);
+            ReflectionUtils.makeAccessible(constructor);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            // e.g. the proxy class is in a module which is not open to this library
+            return null;
+        }
+    }
+
+    /**
+     * Create a new RowViewMapper which shares the interface metadata of the given mapper.
+     *
+     * @param mapper the mapper to copy
+     */
+    protected RowViewMapper(RowViewMapper<V> mapper) {
+        this.viewInterface = mapper.viewInterface;
+        this.zoneId = mapper.zoneId;
+        this.ordinals = mapper.ordinals;
+        this.types = mapper.types;
+        this.names = mapper.names;
+        this.proxyConstructor = mapper.proxyConstructor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RowViewMapper<V> copy() {
+        return new RowViewMapper<>(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (rs != boundResultSet) {
+            columnIndexes = resolveColumns(rs);
+            boundResultSet = rs;
+        }
+        currentRow = rowNum;
+        View view = new View(rs, rowNum);
+        if (proxyConstructor == null) {
+            return viewInterface.cast(Proxy.newProxyInstance(viewInterface.getClassLoader(), new Class<?>[]{viewInterface}, view));
+        }
+        try {
+            return viewInterface.cast(proxyConstructor.newInstance(view));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Couldn't create a view of " + viewInterface.getName(), e);
+        }
+    }
+
+    /**
+     * Resolve the column indexes of the getters.
+     *
+     * @param rs ResultSet
+     * @return the column indexes by ordinal
+     * @throws SQLException in case of metadata failure
+     */
+    protected int[] resolveColumns(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int[] indexes = new int[types.length];
+        for (int index = 1; index <= metaData.getColumnCount(); index++) {
+            String name = JdbcUtils.lookupColumnName(metaData, index).replace(" ", "").toLowerCase();
+            Integer ordinal = names.get(name);
+            if (ordinal != null) {
+                indexes[ordinal] = index;
+                if (types[ordinal].isEnum()) {
+                    JdbcValueUtils.checkEnumColumn(metaData, index, types[ordinal]);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Read the column value of the getter.
+     *
+     * @param rs      ResultSet
+     * @param ordinal the ordinal of the getter
+     * @return the value as the return type
+     * @throws SQLException in case of extraction failure
+     */
+    protected Object read(ResultSet rs, int ordinal) throws SQLException {
+        Class<?> type = types[ordinal];
+        if (type.isEnum()) {
+            // the column type is checked once in resolveColumns
+            return JdbcValueUtils.getEnumValue(rs, columnIndexes[ordinal], type);
+        }
+        Object value = JdbcValueUtils.getResultSetValue(rs, columnIndexes[ordinal], type, zoneId);
+        if (value == null) {
+            return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+        if (!ClassUtils.isAssignableValue(type, value)) {
+            if (typeConverter == null) {
+                typeConverter = new SimpleTypeConverter();
+            }
+            value = typeConverter.convertIfNecessary(value, type);
+        }
+        return value;
+    }
+
+    /**
+     * Get the property name of the getter.
+     *
+     * @param method the getter
+     * @return the property name
+     */
+    protected static String propertyName(Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        if (name.startsWith("is") && name.length() > 2 && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        return name;
+    }
+
+    /**
+     * The view of a row, which reads and memoizes the columns on access.
+     */
+    protected class View implements InvocationHandler {
+        /** The ResultSet */
+        protected final ResultSet rs;
+
+        /** The number of the row */
+        protected final int rowNum;
+
+        /** The values read by ordinal */
+        protected final Object[] values = new Object[types.length];
+
+        /** Whether the values are read by ordinal */
+        protected final boolean[] read = new boolean[types.length];
+
+        protected View(ResultSet rs, int rowNum) {
+            this.rs = rs;
+            this.rowNum = rowNum;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer ordinal = ordinals.get(method);
+            if (ordinal != null) {
+                return get(ordinal, method);
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> viewInterface.getSimpleName() + "[row " + rowNum + "]";
+                default -> throw new UnsupportedOperationException(method.toString());
+            };
+        }
+
+        /**
+         * Get the value of the getter, reading it on the first access.
+         */
+        protected Object get(int ordinal, Method method) {
+            if (read[ordinal]) {
+                return values[ordinal];
+            }
+            if (rs != boundResultSet || rowNum != currentRow) {
+                throw new IllegalStateException("The view of row " + rowNum + " is no longer valid, "
+                        + "because the ResultSet has moved on; read " + method.getName() + "() before the next row");
+            }
+            if (columnIndexes[ordinal] == 0) {
+                throw new IllegalStateException("No column for " + method.getName() + "() of " + viewInterface.getName());
+            }
+            try {
+                values[ordinal] = read(rs, ordinal);
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("RowView " + viewInterface.getSimpleName(), null, e);
+            }
+            read[ordinal] = true;
+            return values[ordinal];
+        }
+    }
+}
@@ -4,6 +4,7 @@ import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.support.JdbcUtils;
 
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZoneId;
@@ -12,6 +13,9 @@ public class SingleColumnMapper<T> extends SingleColumnRowMapper<T> {
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
+    /** The ResultSet which the enum column is checked for, referred to weakly so that it is not retained after the query */
+    protected WeakReference<ResultSet> checkedResultSet;
+
     public SingleColumnMapper(Class<T> requiredType, ZoneId zoneId) {
         super(requiredType);
         this.zoneId = zoneId;
@@ -19,6 +23,14 @@ public class SingleColumnMapper<T> extends SingleColumnRowMapper<T> {
 
     @Override
     protected Object getColumnValue(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+        if (requiredType != null && requiredType.isEnum()) {
+            WeakReference<ResultSet> checked = checkedResultSet;
+            if (checked == null || checked.get() != rs) {
+                JdbcValueUtils.checkEnumColumn(rs.getMetaData(), index, requiredType);
+                checkedResultSet = new WeakReference<>(rs);
+            }
+            return JdbcValueUtils.getEnumValue(rs, index, requiredType);
+        }
         if (requiredType != null) {
             return JdbcValueUtils.getResultSetValue(rs, index, requiredType, zoneId);
         }
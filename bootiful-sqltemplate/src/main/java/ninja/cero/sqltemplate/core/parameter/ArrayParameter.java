@@ -1,9 +1,6 @@
 package ninja.cero.sqltemplate.core.parameter;
 
-import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
-import org.springframework.jdbc.core.SqlParameterValue;
-import org.springframework.jdbc.core.StatementCreatorUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -14,6 +11,9 @@ import java.time.ZoneId;
  * Supports {@link java.time.LocalDateTime} and {@link java.time.LocalDate} of JSR-310
  */
 public class ArrayParameter extends ArgumentPreparedStatementSetter {
+    /** The arguments to set */
+    protected Object[] args;
+
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
@@ -25,21 +25,29 @@ public class ArrayParameter extends ArgumentPreparedStatementSetter {
      */
     public ArrayParameter(Object[] args, ZoneId zoneId) {
         super(args);
+        this.args = args;
         this.zoneId = zoneId;
     }
 
+    /**
+     * Set the arguments with the {@link ParameterBinder} of their classes.
+     */
+    @Override
+    public void setValues(PreparedStatement ps) throws SQLException {
+        if (args != null) {
+            ParameterBinder.of(args).bind(ps, args, zoneId);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     protected void doSetValue(PreparedStatement ps, int parameterPosition, Object argValue) throws SQLException {
-        // A SqlParameterValue carries its own type; otherwise bind with the type of the value.
-        if (argValue instanceof SqlParameterValue) {
-            super.doSetValue(ps, parameterPosition, argValue);
-            return;
+        if (argValue == null) {
+            ParameterBinder.NULL_SETTER.set(ps, parameterPosition, null, zoneId);
+        } else {
+            ParameterBinder.setterOf(argValue.getClass()).set(ps, parameterPosition, argValue, zoneId);
         }
-        StatementCreatorUtils.setParameterValue(ps, parameterPosition,
-                JdbcValueUtils.getSqlType(argValue),
-                JdbcValueUtils.convertIfNecessary(argValue, zoneId));
     }
 }
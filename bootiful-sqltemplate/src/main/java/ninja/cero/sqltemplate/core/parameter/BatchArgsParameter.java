@@ -1,8 +1,6 @@
 package ninja.cero.sqltemplate.core.parameter;
 
-import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
-import org.springframework.jdbc.core.StatementCreatorUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -14,6 +12,9 @@ public class BatchArgsParameter implements BatchPreparedStatementSetter {
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
+    /** The binder of the previous row, reused while the rows have the same classes */
+    protected ParameterBinder binder;
+
     public BatchArgsParameter(Object[][] batchParams, ZoneId zoneId) {
         this.batchParams = batchParams;
         this.zoneId = zoneId;
@@ -21,15 +22,24 @@ public class BatchArgsParameter implements BatchPreparedStatementSetter {
 
     @Override
     public void setValues(PreparedStatement ps, int i) throws SQLException {
+        setValues(ps, 1, i);
+    }
+
+    /**
+     * Set the parameter values of a row from the given parameter index, e.g. for a row of a multi-row INSERT.
+     *
+     * @param ps         the PreparedStatement
+     * @param firstIndex the parameter index of the first value
+     * @param i          the index of the row
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void setValues(PreparedStatement ps, int firstIndex, int i) throws SQLException {
         Object[] params = batchParams[i];
 
-        int colIndex = 0;
-        for (Object param : params) {
-            colIndex++;
-            StatementCreatorUtils.setParameterValue(ps, colIndex,
-                    JdbcValueUtils.getSqlType(param),
-                    JdbcValueUtils.convertIfNecessary(param, zoneId));
+        if (binder == null || !binder.matches(params)) {
+            binder = ParameterBinder.of(params);
         }
+        binder.bind(ps, firstIndex, params, zoneId);
     }
 
     @Override
@@ -1,38 +1,38 @@
 package ninja.cero.sqltemplate.core.parameter;
 
+import ninja.cero.sqltemplate.core.util.BeanAccessors;
 import ninja.cero.sqltemplate.core.util.BeanFields;
+import ninja.cero.sqltemplate.core.util.ClassCache;
 import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
+import ninja.cero.sqltemplate.core.util.TypeUtils;
 import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.util.StringUtils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
 import java.time.ZoneId;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * {@link org.springframework.jdbc.core.namedparam.SqlParameterSource} implementation that obtains parameter values
- * from public fields of a given value object.
+ * from public fields, getters or record components of a given value object, and dotted paths of them such as {@code dept.location}.
  * Supports {@link java.time.LocalDateTime} and {@link java.time.LocalDate} of JSR-310.
  *
  * @see org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource
  */
 public class BeanParameter extends AbstractSqlParameterSource {
+    /** The cache of the descriptors of classes. */
+    protected static final ClassCache<Descriptor> DESCRIPTORS = new ClassCache<>(1024);
+
     /** the value object for parameters */
     protected Object entity;
 
-    /** BeanWrapper for beans with private fields and accessor methods. */
-    protected BeanWrapper beanWrapper;
-
-    /** Set of the fields for beans with private fields. */
-    protected Set<String> privateFields = new HashSet<>();
-
-    /** Map of the fields for beans with public fields. */
-    protected Map<String, Field> publicFields = new HashMap<>();
+    /** The descriptor of the class of the value object */
+    protected Descriptor descriptor;
 
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
@@ -48,23 +48,19 @@ public class BeanParameter extends AbstractSqlParameterSource {
         this.zoneId = zoneId;
     }
 
+    /**
+     * Create a new BeanParameter without introspecting the value object,
+     * for subclasses which resolve the values by themselves (e.g. generated parameter sources).
+     *
+     * @param zoneId zoneId
+     */
+    protected BeanParameter(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
     protected void init(Object entity) {
         this.entity = entity;
-
-        beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
-        PropertyDescriptor[] descriptors = beanWrapper.getPropertyDescriptors();
-        if (descriptors.length > 1) {
-            for (PropertyDescriptor descriptor : descriptors) {
-                if (beanWrapper.isReadableProperty(descriptor.getName())) {
-                    privateFields.add(descriptor.getName());
-                }
-            }
-        }
-
-        Field[] fields = BeanFields.get(entity.getClass());
-        for (Field field : fields) {
-            publicFields.put(field.getName(), field);
-        }
+        this.descriptor = Descriptor.of(entity.getClass());
     }
 
     /**
@@ -72,7 +68,7 @@ public class BeanParameter extends AbstractSqlParameterSource {
      */
     @Override
     public boolean hasValue(String paramName) {
-        return privateFields.contains(paramName) || publicFields.containsKey(paramName);
+        return descriptor.property(paramName) != null;
     }
 
     /**
@@ -80,18 +76,8 @@ public class BeanParameter extends AbstractSqlParameterSource {
      */
     @Override
     public Object getValue(String paramName) {
-        Object value = null;
-        if (privateFields.contains(paramName)) {
-            value = beanWrapper.getPropertyValue(paramName);
-        } else if (publicFields.containsKey(paramName)) {
-            Field field = publicFields.get(paramName);
-            try {
-                value = field.get(entity);
-            } catch (IllegalAccessException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }
-
+        Property property = descriptor.property(paramName);
+        Object value = property == null ? null : property.getter().get(entity);
         if (value == null) {
             return null;
         }
@@ -106,17 +92,147 @@ public class BeanParameter extends AbstractSqlParameterSource {
             return sqlType;
         }
 
-        Class<?> propType = null;
-        if (privateFields.contains(paramName)) {
-            propType = beanWrapper.getPropertyType(paramName);
-        } else if (publicFields.containsKey(paramName)) {
-            propType = publicFields.get(paramName).getType();
+        // the subclasses which resolve the values by themselves have no descriptor
+        Property property = descriptor == null ? null : descriptor.property(paramName);
+        return property == null ? TYPE_UNKNOWN : property.sqlType();
+    }
+
+    /**
+     * The readable parameters of a value object class, resolved once per class and shared by all its BeanParameters.
+     * The record components take precedence over the JavaBean properties with a getter, and they over the public fields
+     * of the same name.
+     * <p>
+     * A dotted name such as {@code dept.location} is resolved on first use into a chain of the getters by the declared
+     * types, and cached per path. The chain returns null if an intermediate value is null.
+     */
+    public static class Descriptor {
+        /** The readable parameters by name */
+        protected final Map<String, Property> properties;
+
+        /** The resolved dotted paths, empty if a path is not readable */
+        protected final ConcurrentMap<String, Optional<Property>> paths = new ConcurrentHashMap<>();
+
+        protected Descriptor(Class<?> clazz) {
+            BeanAccessors accessors = BeanAccessors.of(clazz);
+            Map<String, Property> properties = new HashMap<>();
+            for (Field field : BeanFields.get(clazz)) {
+                BeanAccessors.Accessor accessor = accessors.field(field.getName());
+                if (accessor != null) {
+                    properties.put(accessor.name(), new Property(accessor.name(), accessor.type(), accessor.getter()));
+                }
+            }
+
+            // every class has the "class" property, so a bean with only public fields has just one
+            if (accessors.properties().size() > 1) {
+                for (BeanAccessors.Accessor accessor : accessors.properties().values()) {
+                    if (accessor.getter() != null) {
+                        properties.put(accessor.name(), new Property(accessor.name(), accessor.type(), accessor.getter()));
+                    }
+                }
+            }
+
+            if (clazz.isRecord()) {
+                for (RecordComponent component : clazz.getRecordComponents()) {
+                    properties.put(component.getName(), new Property(component.getName(), component.getType(),
+                            BeanAccessors.getter(component.getAccessor())));
+                }
+            }
+            this.properties = Map.copyOf(properties);
+        }
+
+        /**
+         * Get the descriptor of the given class.
+         *
+         * @param clazz the class
+         * @return the descriptor
+         */
+        public static Descriptor of(Class<?> clazz) {
+            return DESCRIPTORS.get(clazz, null, Descriptor::new);
+        }
+
+        /**
+         * Get the readable parameter.
+         *
+         * @param name the parameter name, or a dotted path of names
+         * @return the parameter, or null if the class does not have it
+         */
+        public Property property(String name) {
+            Property property = properties.get(name);
+            if (property != null || name.indexOf('.') < 0) {
+                return property;
+            }
+            return paths.computeIfAbsent(name, this::resolvePath).orElse(null);
+        }
+
+        /**
+         * Get the readable parameters, without the dotted paths.
+         *
+         * @return the unmodifiable map of the parameters by name
+         */
+        public Map<String, Property> properties() {
+            return properties;
+        }
+
+        /**
+         * Resolve a dotted path into a chain of the getters.
+         *
+         * @param path the dotted path
+         * @return the parameter of the path, or empty if a name of the path is not readable
+         */
+        protected Optional<Property> resolvePath(String path) {
+            String[] names = StringUtils.delimitedListToStringArray(path, ".");
+            Descriptor descriptor = this;
+            BeanAccessors.Getter getter = null;
+            Class<?> type = null;
+            for (String name : names) {
+                if (descriptor == null) {
+                    return Optional.empty();
+                }
+                Property property = descriptor.properties.get(name);
+                if (property == null) {
+                    return Optional.empty();
+                }
+
+                getter = getter == null ? property.getter() : chain(getter, property.getter());
+                type = property.type();
+                descriptor = TypeUtils.isSimpleValueType(type) ? null : Descriptor.of(type);
+            }
+            return Optional.of(new Property(path, type, getter));
         }
 
-        if (propType == null) {
-            return TYPE_UNKNOWN;
+        /**
+         * Chain the getters, returning null if the outer value is null.
+         *
+         * @param outer the getter of the outer value
+         * @param inner the getter of the inner value from the outer value
+         * @return the chained getter
+         */
+        protected static BeanAccessors.Getter chain(BeanAccessors.Getter outer, BeanAccessors.Getter inner) {
+            return bean -> {
+                Object value = outer.get(bean);
+                return value == null ? null : inner.get(value);
+            };
         }
+    }
 
-        return JdbcValueUtils.getSqlType(propType);
+    /**
+     * A readable parameter of a value object class.
+     *
+     * @param name    the property name, field name or dotted path
+     * @param type    the declared type
+     * @param getter  the getter
+     * @param sqlType the SQL type of the declared type
+     */
+    public record Property(String name, Class<?> type, BeanAccessors.Getter getter, int sqlType) {
+        /**
+         * Create a new Property with the SQL type of the declared type.
+         *
+         * @param name   the property name, field name or dotted path
+         * @param type   the declared type
+         * @param getter the getter
+         */
+        public Property(String name, Class<?> type, BeanAccessors.Getter getter) {
+            this(name, type, getter, JdbcValueUtils.getSqlType(type));
+        }
     }
 }
@@ -0,0 +1,73 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import java.util.Arrays;
+
+/**
+ * The bucket sizes which the collection parameters of an IN clause are expanded to, padded by repeating the last element,
+ * so that the lists of various sizes share a few SQL strings and prepared statements.
+ * <pre>{@code
+ * SqlTemplate sqlTemplate = new SqlTemplate(jdbcTemplate, namedParameterJdbcTemplate);
+ * sqlTemplate.setInListBuckets(InListBuckets.powersOfTwo());
+ * }</pre>
+ * Repeating an element does not change the result of {@code IN (...)}, but it does change any other use of
+ * a collection parameter, such as {@code VALUES (:values)}.
+ */
+public class InListBuckets {
+    /** The bucket sizes in ascending order, or empty for the powers of two */
+    protected final int[] sizes;
+
+    protected InListBuckets(int[] sizes) {
+        this.sizes = sizes;
+    }
+
+    /**
+     * Get the buckets of the powers of two: 1, 2, 4, 8, ...
+     *
+     * @return the buckets
+     */
+    public static InListBuckets powersOfTwo() {
+        return new InListBuckets(new int[0]);
+    }
+
+    /**
+     * Get the buckets of the given sizes. A list larger than the largest size is expanded to a multiple of it.
+     *
+     * @param sizes the bucket sizes
+     * @return the buckets
+     */
+    public static InListBuckets of(int... sizes) {
+        int[] sorted = Arrays.stream(sizes).sorted().distinct().toArray();
+        if (sorted.length == 0 || sorted[0] < 1) {
+            throw new IllegalArgumentException("The bucket sizes must be positive: " + Arrays.toString(sizes));
+        }
+        return new InListBuckets(sorted);
+    }
+
+    /**
+     * Get the bucket size of a list.
+     *
+     * @param size the size of the list, positive
+     * @return the bucket size, not less than the size
+     */
+    public int bucketSize(int size) {
+        if (sizes.length == 0) {
+            return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        }
+
+        for (int bucket : sizes) {
+            if (bucket >= size) {
+                return bucket;
+            }
+        }
+        int largest = sizes[sizes.length - 1];
+        return (size + largest - 1) / largest * largest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return sizes.length == 0 ? "InListBuckets[powers of two]" : "InListBuckets" + Arrays.toString(sizes);
+    }
+}
@@ -0,0 +1,289 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A named SQL compiled once into the positional SQL and the parameter name of each placeholder,
+ * so that an execution binds the values of a {@link SqlParameterSource} straight into the PreparedStatement,
+ * without parsing, substituting and building the value array of {@link NamedParameterUtils} per call.
+ * <p>
+ * The positional SQL has one placeholder for each parameter. The collections which Spring expands into
+ * several placeholders for an IN clause are bound only with {@link InListBuckets}, expanding the SQL once per
+ * combination of the bucket sizes, see {@link #newPreparedStatementCreator(SqlParameterSource, InListBuckets)}.
+ */
+public class NamedSql {
+    /** The cache of the compiled SQL, by the named SQL */
+    protected static final ConcurrentLruCache<String, NamedSql> CACHE = new ConcurrentLruCache<>(256, NamedSql::new);
+
+    /** The parameter source which has every parameter, to validate the placeholders on compiling */
+    private static final SqlParameterSource ANY_PARAMETER = new AbstractSqlParameterSource() {
+        @Override
+        public boolean hasValue(String paramName) {
+            return true;
+        }
+
+        @Override
+        public Object getValue(String paramName) {
+            return null;
+        }
+    };
+
+    /** The named SQL */
+    protected final String namedSql;
+
+    /** The parsed named SQL */
+    protected final ParsedSql parsedSql;
+
+    /** The positional SQL, or null if the named SQL cannot be compiled (e.g. it mixes named and ? placeholders) */
+    protected final String sql;
+
+    /** The parameter names of the placeholders of {@link #sql} in order */
+    protected final String[] parameterNames;
+
+    /** The positional SQL expanded for the collections, by the number of the placeholders of each parameter */
+    protected final ConcurrentMap<List<Integer>, String> expandedSql = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the named SQL.
+     *
+     * @param namedSql the named SQL
+     */
+    protected NamedSql(String namedSql) {
+        this.namedSql = namedSql;
+        this.parsedSql = NamedParameterUtils.parseSqlStatement(namedSql);
+
+        String sql;
+        try {
+            NamedParameterUtils.buildValueArray(parsedSql, ANY_PARAMETER, null);
+            sql = NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+        } catch (InvalidDataAccessApiUsageException e) {
+            // leave it to NamedParameterJdbcTemplate to report
+            sql = null;
+        }
+        this.sql = sql;
+        this.parameterNames = NamedParameterUtils.buildSqlParameterList(parsedSql, EmptySqlParameterSource.INSTANCE).stream()
+                .map(SqlParameter::getName)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Get the compiled SQL of the named SQL.
+     *
+     * @param namedSql the named SQL
+     * @return the compiled SQL, cached by the named SQL
+     */
+    public static NamedSql of(String namedSql) {
+        return CACHE.get(namedSql);
+    }
+
+    /**
+     * Get the positional SQL.
+     *
+     * @return the positional SQL, or null if the named SQL cannot be compiled
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Get the parameter names of the placeholders in order.
+     *
+     * @return the copy of the parameter names
+     */
+    public String[] getParameterNames() {
+        return parameterNames.clone();
+    }
+
+    /**
+     * Create a PreparedStatementCreator which binds the values of the parameter source to the positional SQL.
+     *
+     * @param paramSource the parameter source
+     * @return the PreparedStatementCreator, or null if a value is missing or must be expanded into several placeholders,
+     * which NamedParameterJdbcTemplate handles (or reports)
+     */
+    public PreparedStatementCreator newPreparedStatementCreator(SqlParameterSource paramSource) {
+        return newPreparedStatementCreator(paramSource, null);
+    }
+
+    /**
+     * Create a PreparedStatementCreator which binds the values of the parameter source to the positional SQL,
+     * expanding the collections to their bucket sizes.
+     *
+     * @param paramSource the parameter source
+     * @param buckets     the buckets of the collections, or null not to expand them
+     * @return the PreparedStatementCreator, or null if a value is missing or must be expanded by NamedParameterJdbcTemplate
+     * (an empty collection, a collection of tuples, or a collection without the buckets)
+     */
+    public PreparedStatementCreator newPreparedStatementCreator(SqlParameterSource paramSource, InListBuckets buckets) {
+        if (sql == null) {
+            return null;
+        }
+
+        Object[] values = new Object[parameterNames.length];
+        Integer[] counts = null;
+        for (int i = 0; i < parameterNames.length; i++) {
+            String name = parameterNames[i];
+            if (!paramSource.hasValue(name)) {
+                return null;
+            }
+            Object value = paramSource.getValue(name);
+            if (value instanceof Iterable<?> iterable) {
+                Object[] elements = buckets == null ? null : toArray(iterable);
+                if (elements == null || elements.length == 0 || elements[0] instanceof Object[]) {
+                    return null;
+                }
+                if (counts == null) {
+                    counts = new Integer[parameterNames.length];
+                    Arrays.fill(counts, 1);
+                }
+                counts[i] = buckets.bucketSize(elements.length);
+                value = new Expanded(elements, counts[i]);
+            } else if (value instanceof SqlParameterValue parameterValue && parameterValue.getValue() instanceof Iterable<?>) {
+                return null;
+            }
+            values[i] = value;
+        }
+
+        if (counts == null) {
+            return new Creator(sql, paramSource, values);
+        }
+        return new Creator(expandedSql.computeIfAbsent(Arrays.asList(counts), this::expand), paramSource, values);
+    }
+
+    /**
+     * Expand the placeholders of the named SQL.
+     *
+     * @param counts the number of the placeholders of each parameter
+     * @return the positional SQL
+     */
+    protected String expand(List<Integer> counts) {
+        MapSqlParameterSource placeholders = new MapSqlParameterSource();
+        for (int i = 0; i < parameterNames.length; i++) {
+            int count = counts.get(i);
+            placeholders.addValue(parameterNames[i], count == 1 ? null : Collections.nCopies(count, null));
+        }
+        return NamedParameterUtils.substituteNamedParameters(parsedSql, placeholders);
+    }
+
+    private static Object[] toArray(Iterable<?> iterable) {
+        if (iterable instanceof Collection<?> collection) {
+            return collection.toArray();
+        }
+        List<Object> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "NamedSql[" + sql + ", " + Arrays.toString(parameterNames) + "]";
+    }
+
+    /**
+     * The PreparedStatementCreator of an execution, binding the values with the SQL types of the parameter source.
+     */
+    protected class Creator implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+        /** The positional SQL */
+        protected final String sql;
+
+        /** The parameter source for the SQL types */
+        protected final SqlParameterSource paramSource;
+
+        /** The values of the parameters in order, {@link Expanded} for a collection */
+        protected final Object[] values;
+
+        protected Creator(String sql, SqlParameterSource paramSource, Object[] values) {
+            this.sql = sql;
+            this.paramSource = paramSource;
+            this.values = values;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+            PreparedStatement ps = con.prepareStatement(sql);
+            try {
+                int index = 1;
+                for (int i = 0; i < values.length; i++) {
+                    String name = parameterNames[i];
+                    int sqlType = paramSource.getSqlType(name);
+                    String typeName = paramSource.getTypeName(name);
+                    if (values[i] instanceof Expanded expanded) {
+                        Object[] elements = expanded.elements();
+                        for (int j = 0; j < expanded.count(); j++) {
+                            Object element = elements[Math.min(j, elements.length - 1)];
+                            StatementCreatorUtils.setParameterValue(ps, index++, sqlType, typeName, element);
+                        }
+                    } else {
+                        StatementCreatorUtils.setParameterValue(ps, index++, sqlType, typeName, values[i]);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                JdbcUtils.closeStatement(ps);
+                throw e;
+            }
+            return ps;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cleanupParameters() {
+            for (Object value : values) {
+                if (value instanceof Expanded expanded) {
+                    StatementCreatorUtils.cleanupParameters(expanded.elements());
+                } else {
+                    StatementCreatorUtils.cleanupParameters(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * The elements of a collection parameter, bound to the placeholders of its bucket size.
+     *
+     * @param elements the elements
+     * @param count    the number of the placeholders, padded by repeating the last element
+     */
+    protected record Expanded(Object[] elements, int count) {
+    }
+}
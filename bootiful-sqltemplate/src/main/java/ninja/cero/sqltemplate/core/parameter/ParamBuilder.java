@@ -1,5 +1,8 @@
 package ninja.cero.sqltemplate.core.parameter;
 
+import ninja.cero.sqltemplate.core.entity.SqlEntitySupport;
+import ninja.cero.sqltemplate.core.entity.SqlEntitySupports;
+
 import java.time.ZoneId;
 import java.util.Map;
 
@@ -22,7 +25,12 @@ public class ParamBuilder {
         return new MapParameter(values, zoneId);
     }
 
+    @SuppressWarnings("unchecked")
     public BeanParameter byBean(Object entity) {
+        SqlEntitySupport<Object> support = (SqlEntitySupport<Object>) SqlEntitySupports.find(entity.getClass());
+        if (support != null) {
+            return support.parameter(entity, zoneId);
+        }
         return new BeanParameter(entity, zoneId);
     }
 
@@ -0,0 +1,215 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import ninja.cero.sqltemplate.core.util.ClassCache;
+import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
+import ninja.cero.sqltemplate.core.util.ZoneConversions;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds positional parameter values with the setters specialized for the classes of the values,
+ * e.g. {@link PreparedStatement#setInt} for an Integer, resolved once per class signature of the values.
+ * <p>
+ * A binder is cached by its class signature, and a batch reuses the binder of the previous row while the classes match,
+ * so neither the SQL type nor the conversion of a value is dispatched per value.
+ * The classes without a specialized setter are bound by {@link StatementCreatorUtils} with the SQL type of
+ * {@link JdbcValueUtils#getSqlType(Class)} resolved once per class, after {@link JdbcValueUtils#convertIfNecessary}.
+ */
+public class ParameterBinder {
+    /** The cache of the binders, by the class signature of the cache-safe classes only, see {@link #of(Object[])} */
+    protected static final ConcurrentLruCache<List<Class<?>>, ParameterBinder> BINDERS = new ConcurrentLruCache<>(256, ParameterBinder::new);
+
+    /** The cache of the setters, by the value class */
+    protected static final ClassCache<ValueSetter> SETTERS = new ClassCache<>(1024);
+
+    /** The specialized setters by the exact value class */
+    protected static final Map<Class<?>, ValueSetter> SPECIALIZED = new HashMap<>();
+
+    /** The setter of a null value, which has no type */
+    protected static final ValueSetter NULL_SETTER = (ps, index, value, zoneId) ->
+            StatementCreatorUtils.setParameterValue(ps, index, SqlTypeValue.TYPE_UNKNOWN, null);
+
+    static {
+        SPECIALIZED.put(String.class, (ps, index, value, zoneId) -> ps.setString(index, (String) value));
+        SPECIALIZED.put(Integer.class, (ps, index, value, zoneId) -> ps.setInt(index, (Integer) value));
+        SPECIALIZED.put(Long.class, (ps, index, value, zoneId) -> ps.setLong(index, (Long) value));
+        SPECIALIZED.put(Short.class, (ps, index, value, zoneId) -> ps.setShort(index, (Short) value));
+        SPECIALIZED.put(Byte.class, (ps, index, value, zoneId) -> ps.setByte(index, (Byte) value));
+        SPECIALIZED.put(Double.class, (ps, index, value, zoneId) -> ps.setDouble(index, (Double) value));
+        SPECIALIZED.put(Float.class, (ps, index, value, zoneId) -> ps.setFloat(index, (Float) value));
+        SPECIALIZED.put(Boolean.class, (ps, index, value, zoneId) -> ps.setBoolean(index, (Boolean) value));
+        SPECIALIZED.put(BigDecimal.class, (ps, index, value, zoneId) -> ps.setBigDecimal(index, (BigDecimal) value));
+        SPECIALIZED.put(byte[].class, (ps, index, value, zoneId) -> ps.setBytes(index, (byte[]) value));
+        SPECIALIZED.put(Timestamp.class, (ps, index, value, zoneId) -> ps.setTimestamp(index, (Timestamp) value));
+        SPECIALIZED.put(Date.class, (ps, index, value, zoneId) -> ps.setDate(index, (Date) value));
+        SPECIALIZED.put(Time.class, (ps, index, value, zoneId) -> ps.setTime(index, (Time) value));
+        SPECIALIZED.put(LocalDateTime.class, (ps, index, value, zoneId) -> ps.setTimestamp(index, ZoneConversions.toTimestamp((LocalDateTime) value)));
+        SPECIALIZED.put(LocalDate.class, (ps, index, value, zoneId) -> ps.setDate(index, Date.valueOf((LocalDate) value)));
+        SPECIALIZED.put(LocalTime.class, (ps, index, value, zoneId) -> ps.setTime(index, Time.valueOf((LocalTime) value)));
+        for (Class<?> type : List.of(OffsetDateTime.class, ZonedDateTime.class, Instant.class)) {
+            SPECIALIZED.put(type, (ps, index, value, zoneId) ->
+                    ps.setTimestamp(index, (Timestamp) JdbcValueUtils.convertIfNecessary(value, zoneId)));
+        }
+        SPECIALIZED.put(OffsetTime.class, (ps, index, value, zoneId) ->
+                ps.setTime(index, (Time) JdbcValueUtils.convertIfNecessary(value, zoneId)));
+        SPECIALIZED.put(SqlParameterValue.class, (ps, index, value, zoneId) ->
+                StatementCreatorUtils.setParameterValue(ps, index, (SqlParameterValue) value, ((SqlParameterValue) value).getValue()));
+    }
+
+    /** The classes of the values by position, null for a null value */
+    protected final Class<?>[] classes;
+
+    /** The setters of the values by position */
+    protected final ValueSetter[] setters;
+
+    /**
+     * Create a new ParameterBinder.
+     *
+     * @param signature the classes of the values by position, null for a null value
+     */
+    protected ParameterBinder(List<Class<?>> signature) {
+        this.classes = signature.toArray(new Class<?>[0]);
+        this.setters = new ValueSetter[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            setters[i] = classes[i] == null ? NULL_SETTER : setterOf(classes[i]);
+        }
+    }
+
+    /**
+     * Get the binder of the class signature of the values.
+     * A signature with a class which is not cache-safe, e.g. an enum of a redeployable web application,
+     * is not cached, so that the cache never pins its ClassLoader; its setters are still cached by {@link #SETTERS}.
+     *
+     * @param values the values
+     * @return the binder, cached by the class signature
+     */
+    public static ParameterBinder of(Object[] values) {
+        Class<?>[] signature = new Class<?>[values.length];
+        boolean cacheSafe = true;
+        for (int i = 0; i < values.length; i++) {
+            signature[i] = values[i] == null ? null : values[i].getClass();
+            if (signature[i] != null && !ClassUtils.isCacheSafe(signature[i], ParameterBinder.class.getClassLoader())) {
+                cacheSafe = false;
+            }
+        }
+        List<Class<?>> key = Arrays.asList(signature);
+        return cacheSafe ? BINDERS.get(key) : new ParameterBinder(key);
+    }
+
+    /**
+     * Remove the cached setters of the classes loaded by the given ClassLoader, and the cached binders,
+     * e.g. on undeploying an application.
+     *
+     * @param classLoader the ClassLoader to clear the cache for
+     */
+    public static void clearCache(ClassLoader classLoader) {
+        SETTERS.clearClassLoader(classLoader);
+        BINDERS.clear();
+    }
+
+    /**
+     * Get the setter of the value class.
+     *
+     * @param clazz the value class
+     * @return the setter, cached by the class
+     */
+    public static ValueSetter setterOf(Class<?> clazz) {
+        return SETTERS.get(clazz, null, ParameterBinder::createSetter);
+    }
+
+    /**
+     * Create the setter of the value class.
+     *
+     * @param clazz the value class
+     * @return the specialized setter, or the setter of StatementCreatorUtils with the SQL type of the class
+     */
+    protected static ValueSetter createSetter(Class<?> clazz) {
+        ValueSetter setter = SPECIALIZED.get(clazz);
+        if (setter != null) {
+            return setter;
+        }
+        if (Enum.class.isAssignableFrom(clazz)) {
+            return (ps, index, value, zoneId) -> ps.setString(index, ((Enum<?>) value).name());
+        }
+
+        int sqlType = JdbcValueUtils.getSqlType(clazz);
+        return (ps, index, value, zoneId) ->
+                StatementCreatorUtils.setParameterValue(ps, index, sqlType, JdbcValueUtils.convertIfNecessary(value, zoneId));
+    }
+
+    /**
+     * Whether this binder is for the class signature of the values.
+     *
+     * @param values the values
+     * @return true if the values have the same classes by position
+     */
+    public boolean matches(Object[] values) {
+        if (values.length != classes.length) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if ((value == null ? null : value.getClass()) != classes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bind the values, which must {@link #matches(Object[]) match} this binder, from parameter index 1.
+     *
+     * @param ps     the PreparedStatement
+     * @param values the values
+     * @param zoneId the zoneId for OffsetDateTime, OffsetTime and ZonedDateTime
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void bind(PreparedStatement ps, Object[] values, ZoneId zoneId) throws SQLException {
+        bind(ps, 1, values, zoneId);
+    }
+
+    /**
+     * Bind the values, which must {@link #matches(Object[]) match} this binder, from the given parameter index.
+     *
+     * @param ps         the PreparedStatement
+     * @param firstIndex the parameter index of the first value
+     * @param values     the values
+     * @param zoneId     the zoneId for OffsetDateTime, OffsetTime and ZonedDateTime
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void bind(PreparedStatement ps, int firstIndex, Object[] values, ZoneId zoneId) throws SQLException {
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(ps, firstIndex + i, values[i], zoneId);
+        }
+    }
+
+    /**
+     * The setter of a parameter value of a class.
+     */
+    @FunctionalInterface
+    public interface ValueSetter {
+        void set(PreparedStatement ps, int index, Object value, ZoneId zoneId) throws SQLException;
+    }
+}
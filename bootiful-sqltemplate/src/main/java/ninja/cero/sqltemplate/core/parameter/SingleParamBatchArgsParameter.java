@@ -1,8 +1,6 @@
 package ninja.cero.sqltemplate.core.parameter;
 
-import ninja.cero.sqltemplate.core.util.JdbcValueUtils;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
-import org.springframework.jdbc.core.StatementCreatorUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -14,6 +12,12 @@ public class SingleParamBatchArgsParameter implements BatchPreparedStatementSett
     /** ZoneId for OffsetDateTime and ZonedDateTime */
     protected ZoneId zoneId;
 
+    /** The class of the previous value, null if it was null or there is none */
+    protected Class<?> setterClass;
+
+    /** The setter of {@link #setterClass} */
+    protected ParameterBinder.ValueSetter setter = ParameterBinder.NULL_SETTER;
+
     public SingleParamBatchArgsParameter(Object[] batchParams, ZoneId zoneId) {
         this.batchParams = batchParams;
         this.zoneId = zoneId;
@@ -21,11 +25,26 @@ public class SingleParamBatchArgsParameter implements BatchPreparedStatementSett
 
     @Override
     public void setValues(PreparedStatement ps, int i) throws SQLException {
+        setValues(ps, 1, i);
+    }
+
+    /**
+     * Set the parameter value of a row at the given parameter index, e.g. for a row of a multi-row INSERT.
+     *
+     * @param ps    the PreparedStatement
+     * @param index the parameter index
+     * @param i     the index of the row
+     * @throws SQLException if thrown by the JDBC driver
+     */
+    public void setValues(PreparedStatement ps, int index, int i) throws SQLException {
         Object param = batchParams[i];
 
-        StatementCreatorUtils.setParameterValue(ps, 1,
-                JdbcValueUtils.getSqlType(param),
-                JdbcValueUtils.convertIfNecessary(param, zoneId));
+        Class<?> paramClass = param == null ? null : param.getClass();
+        if (paramClass != setterClass) {
+            setter = paramClass == null ? ParameterBinder.NULL_SETTER : ParameterBinder.setterOf(paramClass);
+            setterClass = paramClass;
+        }
+        setter.set(ps, index, param, zoneId);
     }
 
     @Override
@@ -0,0 +1,278 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.DisposableSqlTypeValue;
+import org.springframework.util.ConcurrentLruCache;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parameter value bound as one SQL array with {@link java.sql.Connection#createArrayOf}, for the large sets of IDs.
+ * <pre>{@code
+ * sqlTemplate.query("select * from emp where empno = any(:empnos)")
+ *         .addParam("empnos", SqlArray.of(empnos))
+ *         .forList(Emp.class);
+ * }</pre>
+ * One array is bound and parsed instead of a placeholder for each element of an IN clause, and the SQL is the same
+ * for any number of elements. The elements of a primitive array are kept unboxed until binding.
+ * <p>
+ * For the databases without arrays (e.g. MySQL), {@link ninja.cero.sqltemplate.core.executor.CompiledNamedParameterJdbcTemplate}
+ * rewrites {@code = ANY(:name)} and {@code <> ALL(:name)} of a named parameter into {@code IN (:name)} and
+ * {@code NOT IN (:name)}, binding the elements as a collection, see {@link #rewriteToInClauses(String, List, List)}.
+ * A positional parameter is always bound as an array.
+ * <p>
+ * An instance holds the created array until the statement is cleaned up, so it must not be shared by concurrent executions.
+ */
+public class SqlArray implements DisposableSqlTypeValue {
+    /** The pattern of "= ANY(:name)" and "<> ALL(:name)", case-insensitive */
+    private static final Pattern ARRAY_COMPARISON =
+            Pattern.compile("(=\\s*ANY|<>\\s*ALL|!=\\s*ALL)\\s*\\(\\s*:([^\\s)]+)\\s*\\)", Pattern.CASE_INSENSITIVE);
+
+    /** The cache of the SQL rewritten into the IN clauses */
+    protected static final ConcurrentLruCache<InClauses, String> IN_CLAUSES = new ConcurrentLruCache<>(256, InClauses::rewrite);
+
+    /** The SQL type name of the elements for createArrayOf */
+    protected final String typeName;
+
+    /** The elements, an Object[] or a primitive array */
+    protected final Object elements;
+
+    /** The array created for the current execution, freed on cleanup */
+    protected Array array;
+
+    protected SqlArray(String typeName, Object elements) {
+        this.typeName = Objects.requireNonNull(typeName, "typeName");
+        this.elements = Objects.requireNonNull(elements, "elements");
+    }
+
+    /**
+     * Create a new SqlArray of BIGINT.
+     *
+     * @param elements the elements
+     * @return the SqlArray
+     */
+    public static SqlArray of(long... elements) {
+        return new SqlArray("BIGINT", elements);
+    }
+
+    /**
+     * Create a new SqlArray of INTEGER.
+     *
+     * @param elements the elements
+     * @return the SqlArray
+     */
+    public static SqlArray of(int... elements) {
+        return new SqlArray("INTEGER", elements);
+    }
+
+    /**
+     * Create a new SqlArray of VARCHAR.
+     *
+     * @param elements the elements
+     * @return the SqlArray
+     */
+    public static SqlArray of(String... elements) {
+        return new SqlArray("VARCHAR", elements);
+    }
+
+    /**
+     * Create a new SqlArray of the given SQL type name.
+     *
+     * @param typeName the SQL type name of the elements, e.g. "UUID"
+     * @param elements the elements
+     * @return the SqlArray
+     */
+    public static SqlArray ofType(String typeName, Object... elements) {
+        return new SqlArray(typeName, elements);
+    }
+
+    /**
+     * Get the SQL type name of the elements.
+     *
+     * @return the SQL type name
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Get the elements as an unmodifiable List, boxing the primitive elements on access.
+     *
+     * @return the elements
+     */
+    public List<Object> toList() {
+        if (elements instanceof long[] longs) {
+            return new AbstractList<>() {
+                @Override
+                public Object get(int index) {
+                    return longs[index];
+                }
+
+                @Override
+                public int size() {
+                    return longs.length;
+                }
+            };
+        } else if (elements instanceof int[] ints) {
+            return new AbstractList<>() {
+                @Override
+                public Object get(int index) {
+                    return ints[index];
+                }
+
+                @Override
+                public int size() {
+                    return ints.length;
+                }
+            };
+        }
+        return Arrays.asList((Object[]) elements);
+    }
+
+    /**
+     * Create the array with the connection of the statement and bind it.
+     */
+    @Override
+    public void setTypeValue(PreparedStatement ps, int paramIndex, int sqlType, String typeName) throws SQLException {
+        array = ps.getConnection().createArrayOf(this.typeName, toObjectArray());
+        ps.setArray(paramIndex, array);
+    }
+
+    /**
+     * Free the array created for the execution.
+     */
+    @Override
+    public void cleanup() {
+        if (array != null) {
+            try {
+                array.free();
+            } catch (SQLException | UnsupportedOperationException e) {
+                // the driver keeps it until the statement is closed
+            }
+            array = null;
+        }
+    }
+
+    /**
+     * Rewrite the comparisons of a named array parameter into the IN clauses, for the databases without arrays.
+     *
+     * @param sql  the named SQL
+     * @param name the parameter name
+     * @return the rewritten SQL, or the given SQL if the parameter is not compared with ANY or ALL
+     */
+    public static String rewriteToInClause(String sql, String name) {
+        return rewriteToInClauses(sql, List.of(name), List.of());
+    }
+
+    /**
+     * Rewrite the comparisons of the named array parameters into the IN clauses, for the databases without arrays.
+     * The comparisons in the quoted text and the comments are kept. As {@code IN ()} is a syntax error,
+     * {@code = ANY(:name)} of an empty array becomes {@code IN (NULL)}, which matches nothing as the comparison does,
+     * and {@code <> ALL(:name)} of an empty array, which matches every row, cannot be rewritten.
+     * The rewritten SQL is cached by the SQL and the parameter names.
+     *
+     * @param sql        the named SQL
+     * @param names      the names of the array parameters
+     * @param emptyNames the names of the array parameters without elements
+     * @return the rewritten SQL, or the given SQL if no parameter is compared with ANY or ALL
+     * @throws InvalidDataAccessApiUsageException if an empty array is compared with ALL
+     */
+    public static String rewriteToInClauses(String sql, List<String> names, List<String> emptyNames) {
+        return IN_CLAUSES.get(new InClauses(sql, names, emptyNames));
+    }
+
+    /**
+     * Get the elements as an Object[] for createArrayOf.
+     *
+     * @return the elements
+     */
+    protected Object[] toObjectArray() {
+        if (elements instanceof Object[] objects) {
+            return objects;
+        }
+        return toList().toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "SqlArray[" + typeName + ", " + toList().size() + " elements]";
+    }
+
+    /**
+     * The SQL to rewrite into the IN clauses, and the key of {@link #IN_CLAUSES}.
+     *
+     * @param sql        the named SQL
+     * @param names      the names of the array parameters
+     * @param emptyNames the names of the array parameters without elements
+     */
+    protected record InClauses(String sql, List<String> names, List<String> emptyNames) {
+        /**
+         * Rewrite the comparisons outside the quoted text and the comments.
+         *
+         * @return the rewritten SQL
+         */
+        protected String rewrite() {
+            Matcher matcher = ARRAY_COMPARISON.matcher(sql);
+            StringBuilder rewritten = new StringBuilder(sql.length());
+            int copied = 0;
+            int i = 0;
+            while (i < sql.length()) {
+                char c = sql.charAt(i);
+                if (c == '\'' || c == '"') {
+                    int close = sql.indexOf(c, i + 1);
+                    i = close < 0 ? sql.length() : close + 1;
+                } else if (sql.startsWith("--", i)) {
+                    int close = sql.indexOf('\n', i);
+                    i = close < 0 ? sql.length() : close + 1;
+                } else if (sql.startsWith("/*", i)) {
+                    int close = sql.indexOf("*/", i + 2);
+                    i = close < 0 ? sql.length() : close + 2;
+                } else if (isComparison(c, i) && matcher.region(i, sql.length()).lookingAt() && names.contains(matcher.group(2))) {
+                    rewritten.append(sql, copied, i).append(inClause(matcher.group(1), matcher.group(2)));
+                    copied = matcher.end();
+                    i = copied;
+                } else {
+                    i++;
+                }
+            }
+            return copied == 0 ? sql : rewritten.append(sql, copied, sql.length()).toString();
+        }
+
+        /**
+         * Whether the comparison operator may start at the index, which is not the second character of
+         * {@code <=}, {@code >=} or {@code !=}.
+         */
+        private boolean isComparison(char c, int index) {
+            if (c == '=') {
+                return index == 0 || "<>!".indexOf(sql.charAt(index - 1)) < 0;
+            }
+            return c == '<' || c == '!';
+        }
+
+        /**
+         * Create the IN clause of the comparison.
+         */
+        private String inClause(String operator, String name) {
+            boolean any = operator.startsWith("=");
+            if (emptyNames.contains(name)) {
+                if (any) {
+                    return "IN (NULL)";
+                }
+                throw new InvalidDataAccessApiUsageException(
+                        "Cannot rewrite '<> ALL(:" + name + ")' of an empty SqlArray into NOT IN for the database without arrays");
+            }
+            return (any ? "IN" : "NOT IN") + " (:" + name + ")";
+        }
+    }
+}
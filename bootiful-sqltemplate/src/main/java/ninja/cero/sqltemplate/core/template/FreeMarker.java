@@ -32,6 +32,11 @@ public class FreeMarker implements TemplateEngine {
         return processTemplate(null, template);
     }
 
+    @Override
+    public void load(String resource) {
+        getTemplate(resource);
+    }
+
     protected static Template getTemplate(String templateName) {
         try {
             return CONFIG.getTemplate(templateName);
@@ -21,6 +21,14 @@ public interface TemplateEngine {
      */
     String get(String resource);
 
+    /**
+     * Load and cache the template in advance, without processing it
+     *
+     * @param resource the resource name of template such as template filename
+     */
+    default void load(String resource) {
+    }
+
     TemplateEngine TEXT_FILE = new TextFile();
     TemplateEngine PLAIN_TEXT = new PlainText();
     TemplateEngine FREEMARKER = new FreeMarker();
@@ -41,4 +41,9 @@ public class TextFile implements TemplateEngine {
     public String get(String resource) {
         return get(resource, null);
     }
+
+    @Override
+    public void load(String resource) {
+        get(resource, null);
+    }
 }
@@ -0,0 +1,477 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The accessors of the properties and public fields of a value object class, generated once per class.
+ * <p>
+ * Accessor methods are bound with {@link LambdaMetafactory}, and public fields with a hidden class which reads and
+ * writes the field directly, both through a private lookup in the declaring class, so that the JIT can inline them
+ * like hand-written code and non-public classes are supported too. If the hidden class cannot be defined (e.g. the
+ * ClassLoader of the class does not see this library), a field is accessed through a {@link MethodHandle} captured by
+ * a lambda, which the JIT does not inline. If the class is not accessible (e.g. a class of a named module which does
+ * not open its package), they fall back to core reflection.
+ */
+public class BeanAccessors {
+    /** The cache of the accessors of classes. */
+    protected static final ClassCache<BeanAccessors> CACHE = new ClassCache<>(1024);
+
+    /** The primitive setter interfaces by the property types */
+    protected static final Map<Class<?>, Class<?>> PRIMITIVE_SETTERS = Map.of(
+            int.class, IntSetter.class,
+            long.class, LongSetter.class,
+            double.class, DoubleSetter.class,
+            boolean.class, BooleanSetter.class);
+
+    /** The class */
+    protected final Class<?> clazz;
+
+    /** The instantiator with the default constructor, or null if the class does not have one */
+    protected final Supplier<?> instantiator;
+
+    /** The accessors of the JavaBean properties by property name */
+    protected final Map<String, Accessor> properties = new LinkedHashMap<>();
+
+    /** The accessors of the public fields by field name */
+    protected final Map<String, Accessor> fields = new LinkedHashMap<>();
+
+    protected BeanAccessors(Class<?> clazz) {
+        this.clazz = clazz;
+        this.instantiator = createInstantiator(clazz);
+
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(clazz)) {
+            Method readMethod = pd.getReadMethod();
+            Method writeMethod = pd.getWriteMethod();
+            if (pd.getPropertyType() == null || (readMethod == null && writeMethod == null)) {
+                continue;
+            }
+            properties.put(pd.getName(), new Accessor(pd.getName(), pd.getPropertyType(),
+                    readMethod != null ? getter(readMethod) : null,
+                    writeMethod != null ? setter(writeMethod) : null,
+                    writeMethod != null ? primitiveSetter(writeMethod) : null));
+        }
+
+        for (Field field : BeanFields.get(clazz)) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            boolean isFinal = Modifier.isFinal(field.getModifiers());
+            Object accessor = fieldAccessor(field);
+            if (accessor != null) {
+                fields.put(field.getName(), new Accessor(field.getName(), field.getType(),
+                        (Getter) accessor,
+                        isFinal ? null : (Setter) accessor,
+                        accessor instanceof PrimitiveSetter primitiveSetter ? primitiveSetter : null));
+                continue;
+            }
+            fields.put(field.getName(), new Accessor(field.getName(), field.getType(),
+                    handleGetter(field),
+                    isFinal ? null : handleSetter(field),
+                    isFinal ? null : handlePrimitiveSetter(field)));
+        }
+    }
+
+    /**
+     * Get the accessors of the given class.
+     *
+     * @param clazz the class
+     * @return the accessors
+     */
+    public static BeanAccessors of(Class<?> clazz) {
+        return CACHE.get(clazz, null, BeanAccessors::new);
+    }
+
+    /**
+     * Create a new instance with the default constructor.
+     *
+     * @return the new instance
+     */
+    public Object newInstance() {
+        if (instantiator == null) {
+            // let BeanUtils report why the class cannot be instantiated
+            return BeanUtils.instantiateClass(clazz);
+        }
+        return instantiator.get();
+    }
+
+    /**
+     * Get the accessor of the JavaBean property.
+     *
+     * @param name the property name
+     * @return the accessor, or null if the class does not have the property
+     */
+    public Accessor property(String name) {
+        return properties.get(name);
+    }
+
+    /**
+     * Get the accessor of the public field.
+     *
+     * @param name the field name
+     * @return the accessor, or null if the class does not have the public field
+     */
+    public Accessor field(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Get the accessors of the JavaBean properties.
+     *
+     * @return the accessors by property name
+     */
+    public Map<String, Accessor> properties() {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * Get the accessors of the public fields.
+     *
+     * @return the accessors by field name
+     */
+    public Map<String, Accessor> fields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Create a getter of the read method.
+     *
+     * @param method the read method
+     * @return the getter
+     */
+    public static Getter getter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            return (Getter) LambdaMetafactory.metafactory(lookup, "get",
+                            MethodType.methodType(Getter.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()), method.getDeclaringClass()))
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            ReflectionUtils.makeAccessible(method);
+            return bean -> ReflectionUtils.invokeMethod(method, bean);
+        }
+    }
+
+    /**
+     * Create a setter of the write method.
+     *
+     * @param method the write method
+     * @return the setter
+     */
+    public static Setter setter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            return (Setter) LambdaMetafactory.metafactory(lookup, "set",
+                            MethodType.methodType(Setter.class),
+                            MethodType.methodType(void.class, Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0])))
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            ReflectionUtils.makeAccessible(method);
+            return (bean, value) -> ReflectionUtils.invokeMethod(method, bean, value);
+        }
+    }
+
+    /**
+     * Create a getter of the field.
+     *
+     * @param field the field
+     * @return the getter
+     */
+    public static Getter getter(Field field) {
+        Object accessor = fieldAccessor(field);
+        return accessor != null ? (Getter) accessor : handleGetter(field);
+    }
+
+    /**
+     * Create a setter of the field.
+     *
+     * @param field the field, which must not be final
+     * @return the setter
+     */
+    public static Setter setter(Field field) {
+        Object accessor = fieldAccessor(field);
+        return accessor instanceof Setter setter ? setter : handleSetter(field);
+    }
+
+    /**
+     * Create a primitive setter of the field, which takes the value without boxing.
+     *
+     * @param field the field, which must not be final
+     * @return the primitive setter, or null if the field is not int, long, double or boolean
+     */
+    public static PrimitiveSetter primitiveSetter(Field field) {
+        if (!PRIMITIVE_SETTERS.containsKey(field.getType())) {
+            return null;
+        }
+        Object accessor = fieldAccessor(field);
+        return accessor instanceof PrimitiveSetter primitiveSetter ? primitiveSetter : handlePrimitiveSetter(field);
+    }
+
+    /**
+     * Define the hidden class which accesses the field directly, see {@link FieldAccessorGenerator}.
+     *
+     * @param field the field
+     * @return an instance of the class, or null if the class could not be defined
+     */
+    protected static Object fieldAccessor(Field field) {
+        try {
+            byte[] classFile = new FieldAccessorGenerator(field).generate();
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .defineHiddenClass(classFile, true);
+            return lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a getter of the field with a MethodHandle, which the JIT does not inline because the lambda captures it.
+     *
+     * @param field the field
+     * @return the getter
+     */
+    protected static Getter handleGetter(Field field) {
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return (Object) handle.invokeExact(bean);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            ReflectionUtils.makeAccessible(field);
+            return bean -> ReflectionUtils.getField(field, bean);
+        }
+    }
+
+    /**
+     * Create a setter of the field with a MethodHandle, which the JIT does not inline because the lambda captures it.
+     *
+     * @param field the field
+     * @return the setter
+     */
+    protected static Setter handleSetter(Field field) {
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            ReflectionUtils.makeAccessible(field);
+            return (bean, value) -> ReflectionUtils.setField(field, bean, value);
+        }
+    }
+
+    /**
+     * Create a primitive setter of the write method, which takes the value without boxing.
+     *
+     * @param method the write method
+     * @return the primitive setter, or null if the property is not int, long, double or boolean
+     */
+    public static PrimitiveSetter primitiveSetter(Method method) {
+        Class<?> type = method.getParameterTypes()[0];
+        Class<?> setterType = PRIMITIVE_SETTERS.get(type);
+        if (setterType == null) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+            return (PrimitiveSetter) LambdaMetafactory.metafactory(lookup, "set",
+                            MethodType.methodType(setterType),
+                            MethodType.methodType(void.class, Object.class, type),
+                            handle,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), type))
+                    .getTarget()
+                    .invoke();
+        } catch (Throwable e) {
+            // the boxing setter falls back to reflection
+            return null;
+        }
+    }
+
+    /**
+     * Create a primitive setter of the field with a MethodHandle, which the JIT does not inline because the lambda captures it.
+     *
+     * @param field the field
+     * @return the primitive setter, or null if the field is not int, long, double or boolean
+     */
+    protected static PrimitiveSetter handlePrimitiveSetter(Field field) {
+        Class<?> type = field.getType();
+        if (!PRIMITIVE_SETTERS.containsKey(type)) {
+            return null;
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, type));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+
+        if (type == int.class) {
+            return (IntSetter) (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (type == long.class) {
+            return (LongSetter) (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else if (type == double.class) {
+            return (DoubleSetter) (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } else {
+            return (BooleanSetter) (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+    }
+
+    protected static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (e instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(e);
+    }
+
+    protected static Supplier<?> createInstantiator(Class<?> clazz) {
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            return (Supplier<?>) LambdaMetafactory.metafactory(lookup, "get",
+                            MethodType.methodType(Supplier.class),
+                            MethodType.methodType(Object.class),
+                            handle,
+                            MethodType.methodType(clazz))
+                    .getTarget()
+                    .invokeExact();
+        } catch (Throwable e) {
+            return () -> BeanUtils.instantiateClass(constructor);
+        }
+    }
+
+    /**
+     * The getter of a property.
+     */
+    @FunctionalInterface
+    public interface Getter {
+        Object get(Object bean);
+    }
+
+    /**
+     * The setter of a property. A null value must not be set to a primitive property.
+     */
+    @FunctionalInterface
+    public interface Setter {
+        void set(Object bean, Object value);
+    }
+
+    /**
+     * The setter of a primitive property, which takes the value without boxing.
+     * It is one of {@link IntSetter}, {@link LongSetter}, {@link DoubleSetter} and {@link BooleanSetter}.
+     */
+    public interface PrimitiveSetter {
+    }
+
+    @FunctionalInterface
+    public interface IntSetter extends PrimitiveSetter {
+        void set(Object bean, int value);
+    }
+
+    @FunctionalInterface
+    public interface LongSetter extends PrimitiveSetter {
+        void set(Object bean, long value);
+    }
+
+    @FunctionalInterface
+    public interface DoubleSetter extends PrimitiveSetter {
+        void set(Object bean, double value);
+    }
+
+    @FunctionalInterface
+    public interface BooleanSetter extends PrimitiveSetter {
+        void set(Object bean, boolean value);
+    }
+
+    /**
+     * The accessor of a property or a public field.
+     *
+     * @param name            the property name
+     * @param type            the property type
+     * @param getter          the getter, or null if the property is write-only
+     * @param setter          the setter, or null if the property is read-only
+     * @param primitiveSetter the setter without boxing, or null unless the property is a writable int, long, double or boolean
+     */
+    public record Accessor(String name, Class<?> type, Getter getter, Setter setter, PrimitiveSetter primitiveSetter) {
+    }
+}
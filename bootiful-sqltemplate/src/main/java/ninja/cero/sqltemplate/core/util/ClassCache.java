@@ -0,0 +1,181 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent cache of per-class values (such as row mappers), keyed by a class and an optional qualifier.
+ * <p>
+ * Values of classes that are cache-safe for the ClassLoader of this library (see {@link ClassUtils#isCacheSafe})
+ * are held strongly, up to {@code maxSize} entries, evicting the oldest entry first.
+ * Values of any other class, e.g. a class of a redeployable web application whose ClassLoader is below this library,
+ * are only held softly so that the cache never pins that ClassLoader.
+ * This is the same policy as Spring's {@code CachedIntrospectionResults}.
+ * A qualifier which refers to a class, such as the class of a customized builder, implements {@link ClassQualifier}
+ * so that its class is checked and cleared likewise.
+ *
+ * @param <V> the type of the cached values
+ */
+public class ClassCache<V> {
+    /** The maximum number of the strongly held entries */
+    protected final int maxSize;
+
+    /** The strongly held entries of cache-safe classes */
+    protected final ConcurrentMap<Key, V> strongCache = new ConcurrentHashMap<>();
+
+    /** The keys of {@link #strongCache} in insertion order, for eviction */
+    protected final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /** The softly held entries of the classes which are not cache-safe */
+    protected final ConcurrentMap<Key, V> softCache = new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Create a new ClassCache.
+     *
+     * @param maxSize the maximum number of the strongly held entries
+     */
+    public ClassCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the value of the given class and qualifier, creating it with the loader on a cache miss.
+     * The loader may be called more than once for the same key under contention; the first stored value wins.
+     *
+     * @param clazz     the class
+     * @param qualifier the additional key such as ZoneId, may be null
+     * @param loader    the function to create the value
+     * @param <C>       the type of the class
+     * @return the cached or created value
+     */
+    public <C> V get(Class<C> clazz, Object qualifier, Function<Class<C>, ? extends V> loader) {
+        Key key = new Key(clazz, qualifier);
+        boolean cacheSafe = ClassUtils.isCacheSafe(clazz, ClassCache.class.getClassLoader())
+                && (!(qualifier instanceof ClassQualifier classQualifier)
+                || ClassUtils.isCacheSafe(classQualifier.qualifierClass(), ClassCache.class.getClassLoader()));
+        Map<Key, V> cache = cacheSafe ? strongCache : softCache;
+
+        V value = cache.get(key);
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+
+        missCount.increment();
+        value = loader.apply(clazz);
+        V existing = cache.putIfAbsent(key, value);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (cacheSafe) {
+            insertionOrder.add(key);
+            evictIfNecessary();
+        }
+        return value;
+    }
+
+    /**
+     * Remove the entries of the classes loaded by the given ClassLoader or one of its children,
+     * e.g. on undeploying a web application.
+     *
+     * @param classLoader the ClassLoader to clear the cache for
+     */
+    public void clearClassLoader(ClassLoader classLoader) {
+        strongCache.keySet().removeIf(key -> key.isUnderneathClassLoader(classLoader));
+        insertionOrder.removeIf(key -> !strongCache.containsKey(key));
+        softCache.keySet().removeIf(key -> key.isUnderneathClassLoader(classLoader));
+    }
+
+    /**
+     * Remove all entries. The statistics are kept.
+     */
+    public void clear() {
+        strongCache.clear();
+        insertionOrder.clear();
+        softCache.clear();
+    }
+
+    /**
+     * Get the statistics of this cache.
+     *
+     * @return the statistics
+     */
+    public Stats stats() {
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), strongCache.size() + softCache.size());
+    }
+
+    protected void evictIfNecessary() {
+        while (strongCache.size() > maxSize) {
+            Key oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (strongCache.remove(oldest) != null) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    protected static boolean isUnderneathClassLoader(ClassLoader candidate, ClassLoader parent) {
+        if (parent == null) {
+            return true;
+        }
+        for (ClassLoader current = candidate; current != null; current = current.getParent()) {
+            if (current == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The key of the cache.
+     *
+     * @param clazz     the class
+     * @param qualifier the additional key, may be null
+     */
+    protected record Key(Class<?> clazz, Object qualifier) {
+        boolean isUnderneathClassLoader(ClassLoader classLoader) {
+            return ClassCache.isUnderneathClassLoader(clazz.getClassLoader(), classLoader)
+                    || qualifier instanceof ClassQualifier classQualifier
+                    && ClassCache.isUnderneathClassLoader(classQualifier.qualifierClass().getClassLoader(), classLoader);
+        }
+    }
+
+    /**
+     * A qualifier which refers to a class, which is checked for the cache-safety and cleared by its ClassLoader
+     * as well as the class of the key.
+     */
+    public interface ClassQualifier {
+        /**
+         * Get the class which this qualifier refers to.
+         *
+         * @return the class
+         */
+        Class<?> qualifierClass();
+    }
+
+    /**
+     * The statistics of the cache.
+     *
+     * @param hitCount      the number of the lookups which found a cached value
+     * @param missCount     the number of the lookups which created a new value
+     * @param evictionCount the number of the entries evicted for exceeding the maximum size
+     * @param size          the current number of the entries
+     */
+    public record Stats(long hitCount, long missCount, long evictionCount, int size) {
+    }
+}
@@ -0,0 +1,135 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the bytecode of the accessor of a public field, which is defined as a hidden class by {@link BeanAccessors}.
+ * <p>
+ * The generated class reads and writes the field with {@code getfield} / {@code putfield}, so the JIT inlines the access
+ * like hand-written code. It implements {@link BeanAccessors.Getter}, and unless the field is final,
+ * {@link BeanAccessors.Setter} and the {@link BeanAccessors.PrimitiveSetter} of the field type if there is one.
+ */
+class FieldAccessorGenerator implements Opcodes {
+    /** The suffix of the generated class name, before the suffix of the hidden class */
+    static final String SUFFIX = "$$SqlTemplateAccessor";
+
+    /** The field */
+    protected final Field field;
+
+    FieldAccessorGenerator(Field field) {
+        this.field = field;
+    }
+
+    /**
+     * Generate the class file of the accessor.
+     *
+     * @return the class file
+     */
+    byte[] generate() {
+        String owner = Type.getInternalName(field.getDeclaringClass());
+        String className = owner + SUFFIX;
+        Class<?> type = field.getType();
+        boolean writable = !Modifier.isFinal(field.getModifiers());
+        Class<?> primitiveSetter = writable ? BeanAccessors.PRIMITIVE_SETTERS.get(type) : null;
+
+        List<String> interfaces = new ArrayList<>();
+        interfaces.add(Type.getInternalName(BeanAccessors.Getter.class));
+        if (writable) {
+            interfaces.add(Type.getInternalName(BeanAccessors.Setter.class));
+        }
+        if (primitiveSetter != null) {
+            interfaces.add(Type.getInternalName(primitiveSetter));
+        }
+
+        // no branches, so no frames to compute
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V17, ACC_FINAL | ACC_SUPER, className, null, "java/lang/Object", interfaces.toArray(new String[0]));
+
+        MethodVisitor init = cw.visitMethod(0, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        generateGetter(cw, owner);
+        if (writable) {
+            generateSetter(cw, owner);
+        }
+        if (primitiveSetter != null) {
+            generatePrimitiveSetter(cw, owner);
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Generate {@code Object get(Object bean)}, boxing a primitive value.
+     */
+    protected void generateGetter(ClassWriter cw, String owner) {
+        Class<?> type = field.getType();
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        mv.visitFieldInsn(GETFIELD, owner, field.getName(), Type.getDescriptor(type));
+        if (type.isPrimitive()) {
+            Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper), "valueOf",
+                    "(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(wrapper), false);
+        }
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generate {@code void set(Object bean, Object value)}, casting or unboxing the value.
+     */
+    protected void generateSetter(ClassWriter cw, String owner) {
+        Class<?> type = field.getType();
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        mv.visitVarInsn(ALOAD, 2);
+        if (type.isPrimitive()) {
+            String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+            mv.visitTypeInsn(CHECKCAST, wrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+        } else if (type != Object.class) {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        }
+        mv.visitFieldInsn(PUTFIELD, owner, field.getName(), Type.getDescriptor(type));
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * Generate {@code void set(Object bean, int value)} or the like of the primitive setter, without boxing.
+     */
+    protected void generatePrimitiveSetter(ClassWriter cw, String owner) {
+        Type type = Type.getType(field.getType());
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;" + type.getDescriptor() + ")V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        mv.visitVarInsn(type.getOpcode(ILOAD), 2);
+        mv.visitFieldInsn(PUTFIELD, owner, field.getName(), type.getDescriptor());
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
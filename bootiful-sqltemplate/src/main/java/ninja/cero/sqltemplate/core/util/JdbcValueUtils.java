@@ -6,6 +6,8 @@ import org.springframework.jdbc.support.JdbcUtils;
 
 import java.sql.*;
 import java.time.*;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Central JDBC value / type conversion shared by every parameter source and row mapper:
@@ -20,6 +22,18 @@ import java.time.*;
  * <p>Enum support originated from PR #41 / #43 (Enum.name() mapping).
  */
 public class JdbcValueUtils {
+    /** The constants of the enum classes by {@link Enum#name()}, held by the classes themselves */
+    private static final ClassValue<Map<String, Object>> ENUM_CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> enumClass) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Object enumConstant : enumClass.getEnumConstants()) {
+                constants.put(((Enum<?>) enumConstant).name(), enumConstant);
+            }
+            return Map.copyOf(constants);
+        }
+    };
+
     /**
      * Convert a parameter value to the representation JDBC expects.
      * JSR-310 date/time values become {@code java.sql} equivalents and enums become their
@@ -27,20 +41,19 @@ public class JdbcValueUtils {
      */
     public static Object convertIfNecessary(Object value, ZoneId zoneId) {
         if (value instanceof LocalDateTime localDateTime) {
-            return Timestamp.valueOf(localDateTime);
+            return ZoneConversions.toTimestamp(localDateTime);
         } else if (value instanceof LocalDate localDate) {
             return Date.valueOf(localDate);
         } else if (value instanceof LocalTime localTime) {
             return Time.valueOf(localTime);
         } else if (value instanceof OffsetDateTime offsetDateTime) {
             // Use the zone offset at the value's own instant (like ZonedDateTime below), not at Instant.now().
-            return Timestamp.valueOf(offsetDateTime.atZoneSameInstant(zoneId).toLocalDateTime());
+            return ZoneConversions.of(zoneId).toTimestamp(offsetDateTime.toEpochSecond(), offsetDateTime.getNano());
         } else if (value instanceof OffsetTime offsetTime) {
-            OffsetTime adjusted = offsetTime.withOffsetSameInstant(zoneId.getRules().getOffset(Instant.now()));
+            OffsetTime adjusted = offsetTime.withOffsetSameInstant(ZoneConversions.of(zoneId).getCurrentOffset());
             return Time.valueOf(adjusted.toLocalTime());
         } else if (value instanceof ZonedDateTime zonedDateTime) {
-            ZonedDateTime adjusted = zonedDateTime.withZoneSameInstant(zoneId);
-            return Timestamp.valueOf(adjusted.toLocalDateTime());
+            return ZoneConversions.of(zoneId).toTimestamp(zonedDateTime.toEpochSecond(), zonedDateTime.getNano());
         } else if (value instanceof Instant instant) {
             // An Instant is an absolute point on the timeline, so it is converted straight through
             // the epoch (Timestamp.from / toInstant). zoneId is intentionally NOT applied here.
@@ -130,31 +143,82 @@ public class JdbcValueUtils {
      * @throws IllegalArgumentException if the column is not a string type, or no constant matches
      */
     private static Object getAsEnum(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
-        switch (rs.getMetaData().getColumnType(index)) {
+        checkEnumColumn(rs.getMetaData(), index, requiredType);
+        return getEnumValue(rs, index, requiredType);
+    }
+
+    /**
+     * Check that the column can be mapped to the enum, i.e. it is a string column (CHAR / VARCHAR family).
+     * The row mappers call this once per ResultSet, then decode the rows with {@link #getEnumValue}.
+     *
+     * @param metaData     ResultSetMetaData
+     * @param index        column index
+     * @param requiredType the enum class
+     * @throws SQLException             in case of metadata failure
+     * @throws IllegalArgumentException if the column is not a string type
+     */
+    public static void checkEnumColumn(ResultSetMetaData metaData, int index, Class<?> requiredType) throws SQLException {
+        switch (metaData.getColumnType(index)) {
             case Types.CHAR:
             case Types.VARCHAR:
             case Types.LONGVARCHAR:
             case Types.NCHAR:
             case Types.NVARCHAR:
             case Types.LONGNVARCHAR:
-                return getEnumByName(rs.getString(index), requiredType);
+                return;
             default:
                 throw new IllegalArgumentException("Cannot map column " + index + " of SQL type "
-                        + rs.getMetaData().getColumnTypeName(index) + " to enum " + requiredType.getCanonicalName()
+                        + metaData.getColumnTypeName(index) + " to enum " + requiredType.getCanonicalName()
                         + "; only string columns are supported (matched by Enum.name()).");
         }
     }
 
-    private static Object getEnumByName(String value, Class<?> requiredType) {
+    /**
+     * Get a string column as an enum constant, matched by {@link Enum#name()}, without checking the column type.
+     *
+     * @param rs           ResultSet
+     * @param index        column index, which is {@link #checkEnumColumn checked} to be a string column
+     * @param requiredType the enum class
+     * @return column value
+     * @throws SQLException             in case of extraction failure
+     * @throws IllegalArgumentException if no constant matches
+     */
+    public static Object getEnumValue(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+        return getEnumValue(rs, index, enumConstants(requiredType), requiredType);
+    }
+
+    /**
+     * Get a string column as an enum constant from the table of {@link #enumConstants}, which the row mappers
+     * resolve once per column, so that each value is a single hash lookup.
+     *
+     * @param rs           ResultSet
+     * @param index        column index, which is {@link #checkEnumColumn checked} to be a string column
+     * @param constants    the constants of the enum class by name
+     * @param requiredType the enum class
+     * @return column value
+     * @throws SQLException             in case of extraction failure
+     * @throws IllegalArgumentException if no constant matches
+     */
+    public static Object getEnumValue(ResultSet rs, int index, Map<String, Object> constants, Class<?> requiredType) throws SQLException {
+        String value = rs.getString(index);
         if (value == null) {
             return null;
         }
-        for (Object enumConstant : requiredType.getEnumConstants()) {
-            if (((Enum<?>) enumConstant).name().equals(value)) {
-                return enumConstant;
-            }
+        Object enumConstant = constants.get(value);
+        if (enumConstant == null) {
+            throw new IllegalArgumentException("No enum constant " + requiredType.getCanonicalName() + "." + value);
         }
-        throw new IllegalArgumentException("No enum constant " + requiredType.getCanonicalName() + "." + value);
+        return enumConstant;
+    }
+
+    /**
+     * Get the immutable table of the constants of the enum class by {@link Enum#name()}.
+     *
+     * @param enumClass the enum class
+     * @return the constants by name
+     */
+    public static Map<String, Object> enumConstants(Class<?> enumClass) {
+        return ENUM_CONSTANTS.get(enumClass);
     }
 
     /**
@@ -260,7 +324,7 @@ public class JdbcValueUtils {
     private static OffsetTime getAsOffsetTime(ResultSet rs, int index, ZoneId zoneId) throws SQLException {
         Time time = rs.getTime(index);
         if (time != null) {
-            return time.toLocalTime().atOffset(zoneId.getRules().getOffset(Instant.now()));
+            return time.toLocalTime().atOffset(ZoneConversions.of(zoneId).getCurrentOffset());
         }
         return null;
     }
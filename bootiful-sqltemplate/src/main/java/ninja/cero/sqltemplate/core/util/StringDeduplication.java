@@ -0,0 +1,174 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The option to deduplicate the String values of low-cardinality columns such as {@code job} or {@code status},
+ * so that the equal values of a ResultSet share one instance instead of a new String per row.
+ * <p>
+ * The columns to deduplicate are chosen by label, or by the declared size of the character columns, once per ResultSet.
+ * Each ResultSet gets its own {@link Table}, which holds up to {@code maxEntries} distinct values; once it is full,
+ * the other values are returned as they are. The statistics are shared by all the tables of this option.
+ *
+ * @see ninja.cero.sqltemplate.core.mapper.MapperBuilder#MapperBuilder(java.time.ZoneId, boolean, StringDeduplication)
+ */
+public class StringDeduplication {
+    /** The default maximum number of the distinct values per ResultSet */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /** The lower case labels of the columns to deduplicate */
+    protected final Set<String> columns;
+
+    /** The maximum declared size of the character columns to deduplicate, 0 to choose them by label only */
+    protected final int maxLength;
+
+    /** The maximum number of the distinct values per ResultSet */
+    protected final int maxEntries;
+
+    protected final LongAdder lookupCount = new LongAdder();
+    protected final LongAdder hitCount = new LongAdder();
+
+    /**
+     * Create a new StringDeduplication.
+     *
+     * @param columns    the labels of the columns to deduplicate, case-insensitive
+     * @param maxLength  the maximum declared size of the character columns to deduplicate, 0 to choose them by label only
+     * @param maxEntries the maximum number of the distinct values per ResultSet
+     */
+    public StringDeduplication(Set<String> columns, int maxLength, int maxEntries) {
+        Set<String> lowerCaseColumns = new TreeSet<>();
+        for (String column : columns) {
+            lowerCaseColumns.add(column.toLowerCase(Locale.ROOT));
+        }
+        this.columns = lowerCaseColumns;
+        this.maxLength = maxLength;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Deduplicate the columns of the given labels.
+     *
+     * @param columns the labels of the columns, case-insensitive
+     * @return the option
+     */
+    public static StringDeduplication columns(String... columns) {
+        return new StringDeduplication(Set.of(columns), 0, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Deduplicate the character columns whose declared size is up to the given length.
+     *
+     * @param maxLength the maximum declared size
+     * @return the option
+     */
+    public static StringDeduplication shorterThan(int maxLength) {
+        return new StringDeduplication(Set.of(), maxLength, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Get a copy of this option with the given maximum number of the distinct values per ResultSet.
+     *
+     * @param maxEntries the maximum number of the distinct values
+     * @return the option
+     */
+    public StringDeduplication maxEntries(int maxEntries) {
+        return new StringDeduplication(columns, maxLength, maxEntries);
+    }
+
+    /**
+     * Check whether the column should be deduplicated. Called once per column and ResultSet.
+     *
+     * @param metaData ResultSetMetaData
+     * @param index    column index
+     * @return true if the column is a character column chosen by this option
+     * @throws SQLException in case of metadata failure
+     */
+    public boolean appliesTo(ResultSetMetaData metaData, int index) throws SQLException {
+        switch (metaData.getColumnType(index)) {
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR:
+                break;
+            default:
+                return false;
+        }
+        if (columns.contains(JdbcUtils.lookupColumnName(metaData, index).toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        int precision = metaData.getPrecision(index);
+        return maxLength > 0 && precision > 0 && precision <= maxLength;
+    }
+
+    /**
+     * Create a new table for a ResultSet.
+     *
+     * @return the table
+     */
+    public Table newTable() {
+        return new Table();
+    }
+
+    /**
+     * Get the statistics of all the tables of this option.
+     *
+     * @return the statistics
+     */
+    public Stats stats() {
+        return new Stats(lookupCount.sum(), hitCount.sum());
+    }
+
+    /**
+     * The canonicalizing table of a ResultSet, which must not be shared by concurrent queries.
+     */
+    public class Table {
+        /** The canonical instances of the values */
+        protected final Map<String, String> values = new HashMap<>();
+
+        /**
+         * Get the canonical instance of the value.
+         *
+         * @param value the value, may be null
+         * @return the instance equal to the value which this table returned first, or the value itself
+         */
+        public String canonicalize(String value) {
+            if (value == null) {
+                return null;
+            }
+            lookupCount.increment();
+            String canonical = values.get(value);
+            if (canonical != null) {
+                hitCount.increment();
+                return canonical;
+            }
+            if (values.size() < maxEntries) {
+                values.put(value, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The statistics of the deduplication.
+     *
+     * @param lookupCount the number of the non-null values looked up
+     * @param hitCount    the number of the values replaced by a canonical instance
+     */
+    public record Stats(long lookupCount, long hitCount) {
+        /**
+         * Get the ratio of the deduplicated values.
+         *
+         * @return hitCount / lookupCount, or 0 if nothing is looked up
+         */
+        public double ratio() {
+            return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ninja.cero.sqltemplate.core.util;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The zone offset computations of a ZoneId for the JSR-310 conversions of {@link JdbcValueUtils}.
+ * <p>
+ * A fixed-offset zone keeps its offset. A region zone keeps the last {@link Window} between two transitions,
+ * so that the values of a batch or a ResultSet, which are mostly in the same window, do not look up the rules each time.
+ * The Timestamps are built from the epoch second instead of {@link Timestamp#valueOf(LocalDateTime)},
+ * which fills a Calendar of the default time zone for each value.
+ */
+public class ZoneConversions {
+    /** The conversions by ZoneId */
+    private static final Map<ZoneId, ZoneConversions> CACHE = new ConcurrentHashMap<>();
+
+    /** The conversions of the default time zone last used, or null */
+    private static volatile ZoneConversions defaultConversions;
+
+    /** The epoch second of 1583-01-01T00:00, before which Timestamp uses the Julian calendar */
+    private static final long GREGORIAN_EPOCH_SECOND = LocalDateTime.of(1583, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    protected final ZoneId zoneId;
+
+    protected final ZoneRules rules;
+
+    /** The offset of a fixed-offset zone, or null */
+    protected final ZoneOffset fixedOffset;
+
+    /** The window last used, or null */
+    protected volatile Window window;
+
+    protected ZoneConversions(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+    }
+
+    /**
+     * Get the conversions of the ZoneId.
+     *
+     * @param zoneId the ZoneId
+     * @return the conversions, cached by the ZoneId
+     */
+    public static ZoneConversions of(ZoneId zoneId) {
+        ZoneConversions conversions = CACHE.get(zoneId);
+        if (conversions == null) {
+            conversions = CACHE.computeIfAbsent(zoneId, ZoneConversions::new);
+        }
+        return conversions;
+    }
+
+    /**
+     * Get the conversions of the default time zone, which {@link Timestamp} uses.
+     * <p>
+     * The default is read for each call, because {@link java.util.TimeZone#setDefault} may change it at any time
+     * and {@link java.util.TimeZone#getDefault()} returns a new clone each time, so its identity cannot tell a change.
+     * The ZoneId of the clone is shared, so comparing it with the last one is cheap and skips the cache lookup.
+     *
+     * @return the conversions
+     */
+    public static ZoneConversions systemDefault() {
+        ZoneId zoneId = ZoneId.systemDefault();
+        ZoneConversions conversions = defaultConversions;
+        if (conversions == null || !conversions.zoneId.equals(zoneId)) {
+            conversions = of(zoneId);
+            defaultConversions = conversions;
+        }
+        return conversions;
+    }
+
+    /**
+     * Get the offset at the instant.
+     *
+     * @param epochSecond the epoch second of the instant
+     * @return the offset
+     */
+    public ZoneOffset getOffset(long epochSecond) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        }
+
+        Window window = this.window;
+        if (window == null || epochSecond < window.start() || epochSecond >= window.end()) {
+            window = window(epochSecond);
+            this.window = window;
+        }
+        return window.offset();
+    }
+
+    /**
+     * Get the offset now, e.g. for the OffsetTime values which have no date.
+     *
+     * @return the offset
+     */
+    public ZoneOffset getCurrentOffset() {
+        return getOffset(System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Get the epoch second of the local date-time in this zone. As java.util.Date does, a local date-time
+     * in a gap is shifted forward by the length of the gap, and one in an overlap takes the later offset.
+     *
+     * @param localEpochSecond the epoch second of the local date-time as if it were in UTC
+     * @return the epoch second
+     */
+    public long toEpochSecond(long localEpochSecond) {
+        if (fixedOffset != null) {
+            return localEpochSecond - fixedOffset.getTotalSeconds();
+        }
+
+        Window window = this.window;
+        if (window != null && localEpochSecond >= window.localStart() && localEpochSecond < window.localEnd()) {
+            return localEpochSecond - window.offset().getTotalSeconds();
+        }
+
+        // a gap or an overlap, or another window
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+        long epochSecond = localDateTime.atZone(zoneId).withLaterOffsetAtOverlap().toEpochSecond();
+        window = window(epochSecond);
+        if (localEpochSecond >= window.localStart() && localEpochSecond < window.localEnd()) {
+            this.window = window;
+        }
+        return epochSecond;
+    }
+
+    /**
+     * Create the Timestamp of the instant, of which {@link Timestamp#toLocalDateTime()} is the local date-time
+     * in this zone. This is what {@code Timestamp.valueOf(instant.atZone(zoneId).toLocalDateTime())} returns.
+     *
+     * @param epochSecond the epoch second of the instant
+     * @param nano        the nano-of-second
+     * @return the Timestamp
+     */
+    public Timestamp toTimestamp(long epochSecond, int nano) {
+        return toLocalTimestamp(epochSecond + getOffset(epochSecond).getTotalSeconds(), nano);
+    }
+
+    /**
+     * Create the Timestamp of the local date-time, as {@link Timestamp#valueOf(LocalDateTime)} does.
+     *
+     * @param localDateTime the local date-time
+     * @return the Timestamp
+     */
+    public static Timestamp toTimestamp(LocalDateTime localDateTime) {
+        return toLocalTimestamp(localDateTime.toEpochSecond(ZoneOffset.UTC), localDateTime.getNano());
+    }
+
+    /**
+     * Create the Timestamp of the local date-time in the default time zone.
+     *
+     * @param localEpochSecond the epoch second of the local date-time as if it were in UTC
+     * @param nano             the nano-of-second
+     * @return the Timestamp
+     */
+    private static Timestamp toLocalTimestamp(long localEpochSecond, int nano) {
+        if (localEpochSecond < GREGORIAN_EPOCH_SECOND) {
+            return Timestamp.valueOf(LocalDateTime.ofEpochSecond(localEpochSecond, nano, ZoneOffset.UTC));
+        }
+
+        Timestamp timestamp = new Timestamp(systemDefault().toEpochSecond(localEpochSecond) * 1000);
+        timestamp.setNanos(nano);
+        return timestamp;
+    }
+
+    /**
+     * Create the window of the instant.
+     *
+     * @param epochSecond the epoch second of the instant
+     * @return the window
+     */
+    protected Window window(long epochSecond) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+
+        long start = Long.MIN_VALUE;
+        long localStart = Long.MIN_VALUE;
+        if (previous != null) {
+            start = previous.toEpochSecond();
+            localStart = start + Math.max(previous.getOffsetBefore().getTotalSeconds(), offset.getTotalSeconds());
+        }
+        long end = Long.MAX_VALUE;
+        long localEnd = Long.MAX_VALUE;
+        if (next != null) {
+            end = next.toEpochSecond();
+            localEnd = end + Math.min(offset.getTotalSeconds(), next.getOffsetAfter().getTotalSeconds());
+        }
+        return new Window(start, end, localStart, localEnd, offset);
+    }
+
+    /**
+     * The period between two transitions of a region zone.
+     *
+     * @param start      the first epoch second
+     * @param end        the epoch second after the last
+     * @param localStart the first local epoch second which is neither in a gap nor in an overlap
+     * @param localEnd   the local epoch second after the last which is neither in a gap nor in an overlap
+     * @param offset     the offset
+     */
+    protected record Window(long start, long end, long localStart, long localEnd, ZoneOffset offset) {
+    }
+}
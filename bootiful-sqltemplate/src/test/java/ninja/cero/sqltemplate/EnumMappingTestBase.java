@@ -1,5 +1,7 @@
 package ninja.cero.sqltemplate;
 
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Enum &lt;-&gt; string-column mapping across every parameter and mapper path.
@@ -136,6 +140,58 @@ public abstract class EnumMappingTestBase {
         assertEquals("No enum constant " + Job.class.getCanonicalName() + ".NOPE", ex.getMessage());
     }
 
+    @Test
+    public void read_nonStringColumn_throws() {
+        IllegalArgumentException record = assertThrows(IllegalArgumentException.class, () ->
+                sqlTemplate().query("select empno, deptno as job from emp where empno = 7369").forObject(RecordEmp.class));
+        IllegalArgumentException bean = assertThrows(IllegalArgumentException.class, () ->
+                sqlTemplate().query("select empno, deptno as job from emp where empno = 7369").forObject(AccessorEmp.class));
+        assertTrue(record.getMessage().startsWith("Cannot map column 2 of SQL type "));
+        assertTrue(bean.getMessage().startsWith("Cannot map column 2 of SQL type "));
+    }
+
+    /** view interface -> RowViewMapper */
+    public interface JobView {
+        Integer getEmpno();
+
+        Job getJob();
+    }
+
+    @Test
+    public void read_singleColumnAndView_list() {
+        List<Job> jobs = sqlTemplate().query("select job from emp where deptno = 30 order by empno").forList(Job.class);
+        List<Job> viewJobs = sqlTemplate().query("select empno, job from emp where deptno = 30 order by empno")
+                .forViewStream(JobView.class, stream -> stream.map(JobView::getJob).toList());
+
+        assertEquals(List.of(Job.SALESMAN, Job.SALESMAN, Job.SALESMAN, Job.MANAGER, Job.SALESMAN, Job.CLERK), jobs);
+        assertEquals(jobs, viewJobs);
+    }
+
+    @Test
+    public void read_nonStringColumn_singleColumnAndView_throws() {
+        IllegalArgumentException single = assertThrows(IllegalArgumentException.class, () ->
+                sqlTemplate().query("select deptno as job from emp where empno = 7369").forObject(Job.class));
+        IllegalArgumentException view = assertThrows(IllegalArgumentException.class, () ->
+                sqlTemplate().query("select empno, deptno as job from emp where empno = 7369")
+                        .forViewStream(JobView.class, stream -> stream.map(JobView::getJob).toList()));
+        assertTrue(single.getMessage().startsWith("Cannot map column 1 of SQL type "));
+        assertTrue(view.getMessage().startsWith("Cannot map column 2 of SQL type "));
+    }
+
+    @Test
+    public void read_bytecodeMapper() {
+        SqlTemplate template = new SqlTemplate(jdbcTemplate, namedParameterJdbcTemplate,
+                new ParamBuilder(ZoneId.systemDefault()),
+                new MapperBuilder(ZoneId.systemDefault(), true));
+        List<PublicEmp> list = template.query("select empno, job from emp where deptno = 30 order by empno").forList(PublicEmp.class);
+        assertEquals(6, list.size());
+        assertSame(Job.SALESMAN, list.get(0).job);
+        assertSame(Job.MANAGER, list.get(3).job);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                template.query("select empno, deptno as job from emp where empno = 7369").forObject(PublicEmp.class));
+    }
+
     // ---- WRITE: enum -> parameter (bound as name(), compared against VARCHAR column) ----
 
     @Test
@@ -0,0 +1,19 @@
+package ninja.cero.sqltemplate;
+
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.parameter.ParamBuilder;
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.ZoneId;
+
+/**
+ * Runs {@link SqlTemplateTestBase} against H2 with the hidden class mappers of {@link MapperBuilder}.
+ */
+@ContextConfiguration(classes = H2TestConfig.class)
+public class SqlTemplateBytecodeH2Test extends SqlTemplateTestBase {
+    @Override
+    SqlTemplate sqlTemplate() {
+        return new SqlTemplate(jdbcTemplate, namedParameterJdbcTemplate, new ParamBuilder(), new MapperBuilder(ZoneId.systemDefault(), true));
+    }
+}
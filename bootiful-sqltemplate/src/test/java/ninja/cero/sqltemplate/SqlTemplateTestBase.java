@@ -1,5 +1,11 @@
 package ninja.cero.sqltemplate;
 
+import ninja.cero.sqltemplate.core.columnar.ColumnarResult;
+import ninja.cero.sqltemplate.core.mapper.Aggregate;
+import ninja.cero.sqltemplate.core.mapper.Discriminator;
+import ninja.cero.sqltemplate.core.mapper.DiscriminatorValue;
+import ninja.cero.sqltemplate.core.parameter.InListBuckets;
+import ninja.cero.sqltemplate.core.parameter.SqlArray;
 import ninja.cero.sqltemplate.test.entity.AccessorEmp;
 import ninja.cero.sqltemplate.test.entity.DateTimeEntity;
 import ninja.cero.sqltemplate.test.entity.Emp;
@@ -152,6 +158,75 @@ public abstract class SqlTemplateTestBase {
         assertEquals(7844, result.get(3).empno);
     }
 
+    @Test
+    public void testForList_InListArg() {
+        List<Emp> result = sqlTemplate()
+                .query("select * from emp where deptno in (:deptno) and job = :job order by empno")
+                .addParam("deptno", List.of(10, 20))
+                .addParam("job", "CLERK")
+                .forList(Emp.class);
+
+        assertEquals(3, result.size());
+        assertEquals(7369, result.get(0).empno);
+        assertEquals(7934, result.get(2).empno);
+    }
+
+    @Test
+    public void testForList_InListBuckets() {
+        SqlTemplate sqlTemplate = sqlTemplate();
+        sqlTemplate.setInListBuckets(InListBuckets.powersOfTwo());
+
+        List<Integer> result = sqlTemplate
+                .query("select empno from emp where empno in (:empnos) order by empno")
+                .addParam("empnos", new LinkedList<>(List.of(7369, 7499, 7521)))
+                .forList(Integer.class);
+
+        assertEquals(List.of(7369, 7499, 7521), result);
+    }
+
+    @Test
+    public void testForList_SqlArrayArg() {
+        List<Emp> result = sqlTemplate()
+                .query("select * from emp where empno = any(:empno) order by empno")
+                .addParam("empno", SqlArray.of(7369, 7499, 7934))
+                .forList(Emp.class);
+
+        assertEquals(3, result.size());
+        assertEquals(7369, result.get(0).empno);
+        assertEquals(7934, result.get(2).empno);
+    }
+
+    @Test
+    public void testForList_RecordArg() {
+        EmpRecord param = new EmpRecord(null, null, "SALESMAN", null, null, null, null, 30);
+
+        List<Emp> result = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forList(Emp.class);
+
+        assertEquals(4, result.size());
+        assertEquals(7499, result.get(0).empno);
+    }
+
+    @Test
+    public void testForList_NestedPathArg() {
+        Emp emp = new Emp();
+        emp.deptno = 30;
+        emp.job = "SALESMAN";
+
+        List<Emp> result = sqlTemplate()
+                .query("select * from emp where deptno = :emp.deptno and job = :emp.job order by empno")
+                .param(new EmpCriteria(emp))
+                .forList(Emp.class);
+
+        assertEquals(4, result.size());
+        assertEquals(7844, result.get(3).empno);
+    }
+
+    public record EmpCriteria(Emp emp) {
+    }
+
     @Test
     public void testForList_EntityArgWithAccessor() {
         AccessorEmp param = new AccessorEmp();
@@ -554,6 +629,256 @@ public abstract class SqlTemplateTestBase {
         assertEquals(7844, result[3]);
     }
 
+    @Test
+    public void testForColumns_NoArg() {
+        ColumnarResult result = sqlTemplate().file("sql/selectAll.sql").forColumns();
+        assertEquals(14, result.rowCount());
+        assertEquals(7369, result.intColumn("empno").getInt(0));
+        assertEquals(7934, result.intColumn("empno").getInt(13));
+        assertEquals("SMITH", result.stringColumn("ename").getString(0));
+        assertTrue(result.column("comm").isNull(0));
+    }
+
+    @Test
+    public void testForColumns_MapArg() {
+        Map<String, Object> param = new HashMap<>();
+        param.put("deptno", 30);
+        param.put("job", "SALESMAN");
+
+        ColumnarResult result = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forColumns();
+        assertEquals(4, result.rowCount());
+        assertEquals(7499, result.column("empno").get(0));
+        assertEquals(7844, result.column("empno").get(3));
+        assertArrayEquals(new String[]{"SALESMAN"}, result.stringColumn("job").dictionary());
+    }
+
+    @Test
+    public void testForColumns_EntityArg() {
+        Emp param = new Emp();
+        param.deptno = 30;
+        param.job = "SALESMAN";
+
+        ColumnarResult result = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forColumns();
+        assertEquals(4, result.rowCount());
+        assertEquals(7499, result.column("empno").get(0));
+        assertEquals(7844, result.column("empno").get(3));
+    }
+
+    @Test
+    public void testForList_Discriminator() {
+        List<Staff> result = sqlTemplate().query("select * from emp where deptno = ? order by empno")
+                .params(30)
+                .forList(Staff.class);
+
+        assertEquals(6, result.size());
+        assertEquals(new Salesman(7499, "ALLEN"), result.get(0));
+        assertEquals(new Manager(7698, "BLAKE"), result.get(3));
+        assertEquals(new Clerk(7900, "JAMES"), result.get(5));
+    }
+
+    @Discriminator("job")
+    public sealed interface Staff {
+    }
+
+    @DiscriminatorValue("SALESMAN")
+    public record Salesman(Integer empno, String ename) implements Staff {
+    }
+
+    @DiscriminatorValue("MANAGER")
+    public record Manager(Integer empno, String ename) implements Staff {
+    }
+
+    @DiscriminatorValue("CLERK")
+    public record Clerk(Integer empno, String ename) implements Staff {
+    }
+
+    @Test
+    public void testForViewStream_NoArg() {
+        List<String> result = sqlTemplate().file("sql/selectAll.sql")
+                .forViewStream(EmpView.class, stream -> stream
+                        .filter(emp -> "ANALYST".equals(emp.getJob()))
+                        .map(EmpView::getEname)
+                        .toList());
+        assertEquals(List.of("SCOTT", "FORD"), result);
+    }
+
+    @Test
+    public void testForViewStream_MapArg() {
+        try (Stream<EmpView> stream = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .addParam("deptno", 30)
+                .addParam("job", "SALESMAN")
+                .forViewStream(EmpView.class)) {
+            assertEquals(List.of(7499, 7521, 7654, 7844), stream.map(EmpView::getEmpno).toList());
+        }
+    }
+
+    public interface EmpView {
+        Integer getEmpno();
+
+        String getEname();
+
+        String getJob();
+    }
+
+    @Test
+    public void testForEachRow_NoArg() {
+        List<String> names = new ArrayList<>();
+        Set<Emp> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        sqlTemplate().file("sql/selectAll.sql").forEachRow(Emp.class, emp -> {
+            names.add(emp.ename);
+            instances.add(emp);
+        });
+        assertEquals(14, names.size());
+        assertEquals("SMITH", names.get(0));
+        assertEquals("MILLER", names.get(13));
+        assertEquals(1, instances.size());
+    }
+
+    @Test
+    public void testForEachRow_MapArg() {
+        Map<String, Object> param = new HashMap<>();
+        param.put("deptno", 30);
+        param.put("job", "SALESMAN");
+
+        List<Integer> empnos = new ArrayList<>();
+        sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forEachRow(AccessorEmp.class, emp -> empnos.add(emp.getEmpno()));
+        assertEquals(List.of(7499, 7521, 7654, 7844), empnos);
+    }
+
+    @Test
+    public void testForEachRow_EntityArg() {
+        Emp param = new Emp();
+        param.deptno = 30;
+        param.job = "SALESMAN";
+
+        List<Integer> mgrs = new ArrayList<>();
+        sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forEachRow(Emp.class, emp -> mgrs.add(emp.mgr));
+        assertEquals(List.of(7698, 7698, 7698, 7698), mgrs);
+    }
+
+    @Test
+    public void testForArrays_NoArg() {
+        List<Object[]> result = sqlTemplate().file("sql/selectAll.sql").forArrays();
+        assertEquals(14, result.size());
+        Object[] smith = result.get(0);
+        assertEquals(8, smith.length);
+        assertEquals(7369, ((Number) smith[0]).intValue());
+        assertEquals("SMITH", smith[1]);
+        assertEquals(LocalDate.of(1980, 12, 17), smith[4]);
+        assertNull(smith[6]);
+        assertEquals(7934, ((Number) result.get(13)[0]).intValue());
+    }
+
+    @Test
+    public void testForArrays_MapArg() {
+        Map<String, Object> param = new HashMap<>();
+        param.put("deptno", 30);
+        param.put("job", "SALESMAN");
+
+        List<Object[]> result = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forArrays();
+        assertEquals(4, result.size());
+        assertEquals(7499, ((Number) result.get(0)[0]).intValue());
+        assertEquals("SALESMAN", result.get(0)[2]);
+    }
+
+    @Test
+    public void testForArrayStream_EntityArg() {
+        Emp param = new Emp();
+        param.deptno = 30;
+        param.job = "SALESMAN";
+
+        List<Integer> empnos = sqlTemplate()
+                .file("sql/selectByParam.sql")
+                .param(param)
+                .forArrayStream(stream -> stream.map(row -> ((Number) row[0]).intValue()).toList());
+        assertEquals(List.of(7499, 7521, 7654, 7844), empnos);
+    }
+
+    @Test
+    public void testForArrayStream_Args() {
+        try (Stream<Object[]> stream = sqlTemplate().query("select ename from emp where deptno = ? order by empno").params(10).forArrayStream()) {
+            assertEquals(List.of("CLARK", "KING", "MILLER"), stream.map(row -> row[0]).toList());
+        }
+    }
+
+    static final String DEPT_EMP = "select d.deptno, d.dname, e.empno, e.ename from dept d left join emp e on d.deptno = e.deptno";
+
+    static final Aggregate<DeptEmps, Emp> DEPT_EMPS = Aggregate.of(DeptEmps.class, "deptno", Emp.class, (dept, emps) -> {
+        dept.emps = emps;
+        return dept;
+    });
+
+    public static class DeptEmps {
+        public Integer deptno;
+        public String dname;
+        public List<Emp> emps;
+    }
+
+    @Test
+    public void testForAggregateStream_NoArg() {
+        List<DeptEmps> result = sqlTemplate().query(DEPT_EMP + " order by d.deptno, e.empno")
+                .forAggregateStream(DEPT_EMPS.childKey("empno"), stream -> stream.toList());
+
+        assertEquals(4, result.size());
+        assertEquals(List.of("CLARK", "KING", "MILLER"), result.get(0).emps.stream().map(emp -> emp.ename).toList());
+        assertEquals(5, result.get(1).emps.size());
+        assertEquals(6, result.get(2).emps.size());
+        assertEquals("OPERATIONS", result.get(3).dname);
+        assertEquals(List.of(), result.get(3).emps);
+    }
+
+    @Test
+    public void testForAggregateStream_NoChild() {
+        List<DeptEmps> result = sqlTemplate().query(DEPT_EMP + " where d.deptno = ?")
+                .params(40)
+                .forAggregateStream(DEPT_EMPS, stream -> stream.toList());
+
+        // without the child key, the child is mapped from the NULL columns of the outer join
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).emps.size());
+        assertNull(result.get(0).emps.get(0).empno);
+    }
+
+    @Test
+    public void testForAggregateStream_SingleRow() {
+        try (Stream<DeptEmps> stream = sqlTemplate().query(DEPT_EMP + " where e.empno = :empno")
+                .addParam("empno", 7839)
+                .forAggregateStream(DEPT_EMPS.childKey("empno"))) {
+            List<DeptEmps> result = stream.toList();
+
+            assertEquals(1, result.size());
+            assertEquals(10, result.get(0).deptno);
+            assertEquals(List.of(7839), result.get(0).emps.stream().map(emp -> emp.empno).toList());
+        }
+    }
+
+    @Test
+    public void testForAggregateStream_Empty() {
+        Emp param = new Emp();
+        param.deptno = 99;
+
+        List<DeptEmps> result = sqlTemplate().query(DEPT_EMP + " where d.deptno = :deptno")
+                .param(param)
+                .forAggregateStream(DEPT_EMPS.childKey("empno"), stream -> stream.toList());
+        assertEquals(List.of(), result);
+    }
+
     @Test
     public void testUpdate_insertByEntity() {
         Emp emp = new Emp();
@@ -1198,6 +1523,64 @@ public abstract class SqlTemplateTestBase {
         assertEquals(emp2.deptno, result2.deptno);
     }
 
+    @Test
+    public void testBatchUpdate_byEntities_multiRowInsert() {
+        // prepare
+        List<Emp> emps = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Emp emp = new Emp();
+            emp.empno = 1001 + i;
+            emp.ename = "TEST" + i;
+            emp.job = "MANAGER";
+            emp.mgr = 7839;
+            emp.hiredate = LocalDate.of(2015, 4, 1 + i);
+            emp.sal = new BigDecimal(4000);
+            emp.deptno = 10;
+            emps.add(emp);
+        }
+
+        // execute
+        int[] counts = sqlTemplate().batchUpdate().file("sql/insertByParam.sql")
+                .multiRowInsert(2)
+                .addBatches(emps)
+                .execute();
+
+        // assert
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1}, counts);
+
+        Emp result = sqlTemplate()
+                .file("sql/selectByEmpno.sql")
+                .params(1005)
+                .forObject(Emp.class);
+        assertEquals("TEST4", result.ename);
+        assertEquals(LocalDate.of(2015, 4, 5), result.hiredate);
+        assertNull(result.comm);
+    }
+
+    @Test
+    public void testBatchUpdate_byArgs_multiRowInsert() {
+        // prepare
+        jdbcTemplate.update("DELETE from emp");
+
+        // execute
+        int[] counts = sqlTemplate().batchUpdate()
+                .query("insert into emp (empno, ename) values (?, ?)")
+                .multiRowInsert()
+                .addBatch(111, "TEST1")
+                .addBatch(222, null)
+                .addBatch(333, "TEST3")
+                .execute();
+
+        // assert
+        assertArrayEquals(new int[]{1, 1, 1}, counts);
+
+        List<Emp> result = sqlTemplate().file("sql/selectAll.sql").forList(Emp.class);
+        assertEquals(3, result.size());
+        assertEquals("TEST1", result.get(0).ename);
+        assertNull(result.get(1).ename);
+        assertEquals(333, result.get(2).empno);
+    }
+
     SqlTemplate sqlTemplate() {
         return new SqlTemplate(jdbcTemplate, namedParameterJdbcTemplate);
     }
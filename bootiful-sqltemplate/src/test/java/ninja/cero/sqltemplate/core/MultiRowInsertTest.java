@@ -0,0 +1,97 @@
+package ninja.cero.sqltemplate.core;
+
+import ninja.cero.sqltemplate.core.parameter.MapParameter;
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link MultiRowInsert} rewrites a single-row INSERT into multi-row INSERTs, and leaves the other statements alone.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+@Transactional
+class MultiRowInsertTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getSql_repeatsRow() {
+        MultiRowInsert insert = MultiRowInsert.of("insert into emp (empno, ename) values (:empno, upper(:ename)) ;");
+
+        assertEquals("insert into emp (empno, ename) values (?, upper(?)), (?, upper(?))", insert.getSql(2));
+    }
+
+    @Test
+    void of_notSingleRowInsert_null() {
+        assertNull(MultiRowInsert.of("update emp set ename = ? where empno = ?"));
+        assertNull(MultiRowInsert.of("insert into emp (empno) select empno + ? from emp"));
+        assertNull(MultiRowInsert.of("insert into emp (empno) values (?), (?)"));
+        assertNull(MultiRowInsert.of("insert into emp (empno) values (1)"));
+        assertNull(MultiRowInsert.of("insert into emp (empno, ename) values (:empno, ?)"));
+        assertNull(MultiRowInsert.of("insert into emp (empno, ename) values (?, (select ename from emp where empno = 7369)) on conflict do update set ename = ?"));
+    }
+
+    @Test
+    void of_quotedValues_ignored() {
+        MultiRowInsert insert = MultiRowInsert.of("insert into emp (empno, ename) values (?, 'VALUES (?)')");
+
+        assertEquals("insert into emp (empno, ename) values (?, 'VALUES (?)'), (?, 'VALUES (?)')", insert.getSql(2));
+    }
+
+    @Test
+    void execute_chunksByMaxRows() {
+        MultiRowInsert insert = MultiRowInsert.of("insert into emp (empno, ename) values (:empno, :ename)");
+        List<SqlParameterSource> sources = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sources.add(new MapParameter(Map.of("empno", 9000 + i, "ename", "TEST" + i), ZoneId.systemDefault()));
+        }
+
+        int[] counts = insert.execute(jdbcTemplate, sources.toArray(new SqlParameterSource[0]), 2);
+
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1}, counts);
+        assertEquals(5, jdbcTemplate.queryForObject("select count(*) from emp where empno >= 9000", Integer.class));
+        assertEquals("TEST4", jdbcTemplate.queryForObject("select ename from emp where empno = 9004", String.class));
+    }
+
+    @Test
+    void execute_restInPowersOfTwo() {
+        MultiRowInsert insert = MultiRowInsert.of("insert into emp (empno, ename) values (:empno, :ename) -- rest");
+        List<SqlParameterSource> sources = new ArrayList<>();
+        for (int i = 0; i < 29; i++) {
+            sources.add(new MapParameter(Map.of("empno", 9000 + i, "ename", "TEST" + i), ZoneId.systemDefault()));
+        }
+
+        int[] counts = insert.execute(jdbcTemplate, sources.toArray(new SqlParameterSource[0]), 10);
+
+        // 10 + 10 + 8 + 1
+        assertEquals(Set.of(10, 8, 1), insert.sqlByRows.keySet());
+        assertEquals(29, counts.length);
+        assertTrue(Arrays.stream(counts).allMatch(count -> count == 1));
+        assertEquals(29, jdbcTemplate.queryForObject("select count(*) from emp where empno >= 9000", Integer.class));
+        assertEquals("TEST28", jdbcTemplate.queryForObject("select ename from emp where empno = 9028", String.class));
+    }
+
+    @Test
+    void execute_iterableValue_null() {
+        MultiRowInsert insert = MultiRowInsert.of("insert into emp (empno, ename) values (:empno, :ename)");
+        SqlParameterSource source = new MapParameter(Map.of("empno", List.of(1, 2), "ename", "TEST"), ZoneId.systemDefault());
+
+        assertNull(insert.execute(jdbcTemplate, new SqlParameterSource[]{source}, 10));
+    }
+}
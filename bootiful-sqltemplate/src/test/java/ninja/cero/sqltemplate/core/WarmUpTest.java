@@ -0,0 +1,77 @@
+package ninja.cero.sqltemplate.core;
+
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.core.template.TemplateEngine;
+import ninja.cero.sqltemplate.core.util.ClassCache;
+import ninja.cero.sqltemplate.test.entity.Dept;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmUpTest {
+    @Test
+    void execute_entitiesAndTemplates() {
+        MapperBuilder mapperBuilder = new MapperBuilder(ZoneId.of("Pacific/Chatham"));
+
+        WarmUp.Report report = new WarmUp(mapperBuilder)
+                .entities(Dept.class)
+                .packages("ninja.cero.sqltemplate.test.entity")
+                .templates("sql", "/ftl/")
+                .batchTemplates("sql")
+                .parallelism(2)
+                .execute();
+
+        assertEquals(Dept.class, report.entities().get(0));
+        assertTrue(report.entities().contains(Emp.class));
+        assertTrue(report.entities().contains(EmpRecord.class));
+        assertEquals(1, report.entities().stream().filter(Dept.class::equals).count());
+        assertTrue(report.templates().contains("sql/selectAll.sql"));
+        assertTrue(report.templates().contains("ftl/selectByArgs.sql"));
+        assertEquals(15, report.templates().size());
+        assertTrue(report.failures().isEmpty());
+        assertFalse(report.entityTime().isNegative());
+        assertFalse(report.templateTime().isNegative());
+
+        ClassCache.Stats before = MapperBuilder.cacheStats();
+        mapperBuilder.mapper(Emp.class);
+        assertEquals(before.hitCount() + 1, MapperBuilder.cacheStats().hitCount());
+        assertEquals(before.missCount(), MapperBuilder.cacheStats().missCount());
+    }
+
+    @Test
+    void execute_reportsFailures() {
+        WarmUp.Report report = new WarmUp(new MapperBuilder())
+                .entities(Emp.class)
+                .templates("warmup")
+                .execute();
+
+        assertEquals(1, report.entities().size());
+        assertTrue(report.templates().isEmpty());
+        assertTrue(report.failures().containsKey("warmup/broken.sql"));
+    }
+
+    @Test
+    void execute_batchTemplates_loadedAsPlainText() {
+        WarmUp.Report report = new WarmUp(new MapperBuilder())
+                .batchTemplates("warmup-batch", "warmup")
+                .execute();
+
+        assertEquals(List.of("warmup-batch/insertLiteral.sql", "warmup/broken.sql"), report.templates());
+        assertTrue(report.failures().isEmpty());
+    }
+
+    @Test
+    void execute_templateEngine() {
+        WarmUp.Report report = new WarmUp(new MapperBuilder(), TemplateEngine.TEXT_FILE)
+                .templates("warmup")
+                .execute();
+
+        assertEquals(List.of("warmup/broken.sql"), report.templates());
+        assertTrue(report.failures().isEmpty());
+    }
+}
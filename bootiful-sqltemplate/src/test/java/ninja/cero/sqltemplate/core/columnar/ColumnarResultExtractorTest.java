@@ -0,0 +1,91 @@
+package ninja.cero.sqltemplate.core.columnar;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class ColumnarResultExtractorTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void extractData_columnTypes() {
+        ColumnarResult result = jdbcTemplate.query("select empno, cast(empno as bigint) as id, ename, job, mgr, sal, comm, cast(sal as decimal(7, 2)) as salary, hiredate from emp order by empno",
+                new ColumnarResultExtractor());
+
+        assertEquals(14, result.rowCount());
+        assertEquals(9, result.columns().size());
+
+        IntColumn empno = result.intColumn("EMPNO");
+        assertEquals(14, empno.size());
+        assertEquals(7369, empno.getInt(0));
+        assertEquals(7934, empno.toArray()[13]);
+        assertEquals(7369L, result.longColumn("id").getLong(0));
+
+        IntColumn mgr = result.intColumn("mgr");
+        assertFalse(mgr.isNull(0));
+        assertEquals(7902, mgr.get(0));
+        assertTrue(mgr.isNull(8));
+        assertNull(mgr.get(8));
+        assertEquals(0, mgr.getInt(8));
+
+        DoubleColumn comm = result.doubleColumn("comm");
+        assertTrue(comm.isNull(0));
+        assertEquals(300.0, comm.getDouble(1));
+        assertEquals(800.0, result.doubleColumn("sal").getDouble(0));
+
+        assertEquals(0, new BigDecimal("800").compareTo((BigDecimal) result.objectColumn("salary").get(0)));
+        assertNotNull(result.objectColumn("hiredate").get(0));
+    }
+
+    @Test
+    void extractData_stringColumn_dictionaryEncoded() {
+        ColumnarResult result = jdbcTemplate.query("select job, case when comm is null then null else ename end as commissioned from emp order by empno",
+                new ColumnarResultExtractor());
+
+        StringColumn job = result.stringColumn("job");
+        assertEquals(14, job.size());
+        assertArrayEquals(new String[]{"CLERK", "SALESMAN", "MANAGER", "ANALYST", "PRESIDENT"}, job.dictionary());
+        assertEquals("CLERK", job.getString(0));
+        assertEquals(job.getCode(0), job.getCode(13));
+        assertSame(job.getString(0), job.getString(13));
+
+        StringColumn commissioned = result.stringColumn("commissioned");
+        assertTrue(commissioned.isNull(0));
+        assertNull(commissioned.getString(0));
+        assertEquals(StringColumn.NULL_CODE, commissioned.getCode(0));
+        assertEquals("ALLEN", commissioned.getString(1));
+    }
+
+    @Test
+    void extractData_growsBeyondInitialCapacity() {
+        ColumnarResult result = jdbcTemplate.query("select x, case when mod(x, 2) = 0 then null else x end as odd from system_range(1, 1000)",
+                new ColumnarResultExtractor());
+
+        assertEquals(1000, result.rowCount());
+        LongColumn x = result.longColumn("x");
+        assertEquals(1000L, x.getLong(999));
+        LongColumn odd = result.longColumn("odd");
+        assertFalse(odd.isNull(998));
+        assertTrue(odd.isNull(999));
+        assertThrows(IndexOutOfBoundsException.class, () -> x.getLong(1000));
+    }
+
+    @Test
+    void column_unknownOrWrongType() {
+        ColumnarResult result = jdbcTemplate.query("select empno from emp", new ColumnarResultExtractor());
+
+        assertThrows(IllegalArgumentException.class, () -> result.column("ename"));
+        assertThrows(IllegalArgumentException.class, () -> result.stringColumn("empno"));
+    }
+}
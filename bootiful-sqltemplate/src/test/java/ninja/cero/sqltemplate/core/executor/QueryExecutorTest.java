@@ -0,0 +1,118 @@
+package ninja.cero.sqltemplate.core.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The default terminals of {@link QueryExecutor}, for the implementations which only have the original terminals.
+ */
+class QueryExecutorTest {
+    @Test
+    void forArrays_default_convertsMaps() {
+        List<Object[]> result = new ListExecutor().forArrays();
+
+        assertEquals(2, result.size());
+        assertArrayEquals(new Object[]{7369, "SMITH"}, result.get(0));
+        assertArrayEquals(new Object[]{7499, "ALLEN"}, result.get(1));
+    }
+
+    @Test
+    void forArrayStream_default_convertsMaps() {
+        List<Object> enames = new ListExecutor().forArrayStream(stream -> stream.map(row -> row[1]).toList());
+
+        assertEquals(List.of("SMITH", "ALLEN"), enames);
+    }
+
+    @Test
+    void forEachRow_default_passesEachRow() {
+        List<String> enames = new ArrayList<>();
+
+        new ListExecutor().forEachRow(String.class, enames::add);
+
+        assertEquals(List.of("SMITH", "ALLEN"), enames);
+    }
+
+    @Test
+    void forColumns_default_unsupported() {
+        assertThrows(UnsupportedOperationException.class, () -> new ListExecutor().forColumns());
+    }
+
+    static class ListExecutor implements QueryExecutor {
+        final List<Map<String, Object>> rows = List.of(row(7369, "SMITH"), row(7499, "ALLEN"));
+
+        static Map<String, Object> row(int empno, String ename) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("empno", empno);
+            row.put("ename", ename);
+            return row;
+        }
+
+        @Override
+        public <T> T forObject(Class<T> clazz) {
+            return forList(clazz).get(0);
+        }
+
+        @Override
+        public Map<String, Object> forMap() {
+            return rows.get(0);
+        }
+
+        @Override
+        public <T> Optional<T> forOptional(Class<T> clazz) {
+            return forList(clazz).stream().findFirst();
+        }
+
+        @Override
+        public Optional<Map<String, Object>> forOptional() {
+            return rows.stream().findFirst();
+        }
+
+        @Override
+        public <T> List<T> forList(Class<T> clazz) {
+            return rows.stream().map(row -> clazz.cast(row.get("ename"))).toList();
+        }
+
+        @Override
+        public List<Map<String, Object>> forList() {
+            return rows;
+        }
+
+        @Override
+        public <T, U> U forStream(Class<T> clazz, Function<? super Stream<T>, U> handler) {
+            try (Stream<T> stream = forStream(clazz)) {
+                return handler.apply(stream);
+            }
+        }
+
+        @Override
+        public <U> U forStream(Function<? super Stream<Map<String, Object>>, U> handler) {
+            try (Stream<Map<String, Object>> stream = forStream()) {
+                return handler.apply(stream);
+            }
+        }
+
+        @Override
+        public <T> Stream<T> forStream(Class<T> clazz) {
+            return forList(clazz).stream();
+        }
+
+        @Override
+        public Stream<Map<String, Object>> forStream() {
+            return rows.stream();
+        }
+
+        @Override
+        public int update() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link AggregateMapper} maps the parent on the first row of each group and {@link AggregateMapper#aggregate(Stream)}
+ * combines the groups into the parents.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class AggregateMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    static final String SQL = "select d.deptno, d.dname, e.empno, e.ename from dept d left join emp e on d.deptno = e.deptno";
+
+    static final Aggregate<DeptEmps, Emp> AGGREGATE = Aggregate.of(DeptEmps.class, "deptno", Emp.class, (dept, emps) -> {
+        dept.emps = emps;
+        return dept;
+    });
+
+    public static class DeptEmps {
+        public Integer deptno;
+        public String dname;
+        public List<Emp> emps;
+    }
+
+    @Test
+    void mapRow_parentOnFirstRowOfGroup() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE.childKey("empno"));
+        List<AggregateMapper.Row<DeptEmps, Emp>> rows = jdbcTemplate.query(SQL + " where d.deptno in (10, 40) order by d.deptno, e.empno", mapper);
+
+        assertEquals(4, rows.size());
+        assertEquals(10, rows.get(0).parent().deptno);
+        assertEquals(7782, rows.get(0).child().empno);
+        assertNull(rows.get(1).parent());
+        assertEquals(7839, rows.get(1).child().empno);
+        assertNull(rows.get(2).parent());
+        assertEquals(40, rows.get(3).parent().deptno);
+        assertNull(rows.get(3).child());
+    }
+
+    @Test
+    void aggregate_flushesLastGroup() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE.childKey("empno"));
+        try (Stream<DeptEmps> stream = mapper.aggregate(jdbcTemplate.queryForStream(SQL + " where d.deptno in (10, 20) order by d.deptno, e.empno", mapper))) {
+            List<DeptEmps> result = stream.toList();
+
+            assertEquals(2, result.size());
+            assertEquals("ACCOUNTING", result.get(0).dname);
+            assertEquals(List.of("CLARK", "KING", "MILLER"), result.get(0).emps.stream().map(emp -> emp.ename).toList());
+            assertEquals("RESEARCH", result.get(1).dname);
+            assertEquals(List.of(7369, 7566, 7788, 7876, 7902), result.get(1).emps.stream().map(emp -> emp.empno).toList());
+        }
+    }
+
+    @Test
+    void aggregate_noChild_withChildKey() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE.childKey("empno"));
+        try (Stream<DeptEmps> stream = mapper.aggregate(jdbcTemplate.queryForStream(SQL + " where d.deptno = 40", mapper))) {
+            List<DeptEmps> result = stream.toList();
+
+            assertEquals(1, result.size());
+            assertEquals("OPERATIONS", result.get(0).dname);
+            assertEquals(List.of(), result.get(0).emps);
+        }
+    }
+
+    @Test
+    void aggregate_noChild_withoutChildKey() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE);
+        try (Stream<DeptEmps> stream = mapper.aggregate(jdbcTemplate.queryForStream(SQL + " where d.deptno = 40", mapper))) {
+            List<DeptEmps> result = stream.toList();
+
+            // without the child key, the child is mapped from the NULL columns of the outer join
+            assertEquals(1, result.size());
+            assertEquals(1, result.get(0).emps.size());
+            assertNull(result.get(0).emps.get(0).empno);
+            assertNull(result.get(0).emps.get(0).ename);
+        }
+    }
+
+    @Test
+    void aggregate_singleRow() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE.childKey("empno"));
+        try (Stream<DeptEmps> stream = mapper.aggregate(jdbcTemplate.queryForStream(SQL + " where e.empno = 7839", mapper))) {
+            List<DeptEmps> result = stream.toList();
+
+            assertEquals(1, result.size());
+            assertEquals(10, result.get(0).deptno);
+            assertEquals(List.of("KING"), result.get(0).emps.stream().map(emp -> emp.ename).toList());
+        }
+    }
+
+    @Test
+    void aggregate_empty() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE.childKey("empno"));
+        try (Stream<DeptEmps> stream = mapper.aggregate(jdbcTemplate.queryForStream(SQL + " where d.deptno = 99", mapper))) {
+            assertEquals(List.of(), stream.toList());
+        }
+    }
+
+    @Test
+    void aggregate_closesRows() {
+        AggregateMapper<DeptEmps, Emp> mapper = new MapperBuilder().aggregateMapper(AGGREGATE);
+        DeptEmps dept = new DeptEmps();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<AggregateMapper.Row<DeptEmps, Emp>> rows = Stream.of(new AggregateMapper.Row<DeptEmps, Emp>(dept, new Emp()))
+                .onClose(() -> closed.set(true));
+
+        try (Stream<DeptEmps> stream = mapper.aggregate(rows)) {
+            assertFalse(closed.get());
+            assertSame(dept, stream.findFirst().orElseThrow());
+        }
+        assertTrue(closed.get());
+    }
+}
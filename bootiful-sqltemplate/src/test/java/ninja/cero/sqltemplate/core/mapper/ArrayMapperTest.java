@@ -0,0 +1,60 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ArrayMapper} maps the rows to arrays with the column types resolved once per ResultSet.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class ArrayMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mapRow_typedValues() {
+        Object[] row = jdbcTemplate.queryForObject("select empno, ename, hiredate, sal, comm, cast(sal as decimal(7, 2)) from emp where empno = 7369",
+                new ArrayMapper(ZoneId.systemDefault()));
+
+        assertArrayEquals(new Object[]{7369, "SMITH", LocalDate.of(1980, 12, 17), 800.0, null, new BigDecimal("800.00")}, row);
+    }
+
+    @Test
+    void mapRow_dateTime() {
+        Object[] row = jdbcTemplate.queryForObject("select local_date_time, local_date, local_time from date_time",
+                new ArrayMapper(ZoneId.systemDefault()));
+
+        assertInstanceOf(LocalDateTime.class, row[0]);
+        assertInstanceOf(LocalDate.class, row[1]);
+        assertInstanceOf(LocalTime.class, row[2]);
+    }
+
+    @Test
+    void mapRow_resolvesTypesPerResultSet() {
+        ArrayMapper mapper = new ArrayMapper(ZoneId.systemDefault());
+
+        List<Object[]> first = jdbcTemplate.query("select empno from emp order by empno", mapper);
+        Class<?>[] firstTypes = mapper.resultSetColumns.types;
+        List<Object[]> second = jdbcTemplate.query("select ename from emp order by empno", mapper);
+
+        assertEquals(14, first.size());
+        assertArrayEquals(new Class<?>[]{Integer.class}, firstTypes);
+        assertArrayEquals(new Class<?>[]{String.class}, mapper.resultSetColumns.types);
+        assertEquals("MILLER", second.get(13)[0]);
+    }
+}
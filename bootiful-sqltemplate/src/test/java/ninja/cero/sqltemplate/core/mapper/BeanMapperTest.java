@@ -0,0 +1,236 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.core.util.BeanAccessors;
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import ninja.cero.sqltemplate.test.entity.AccessorEmp;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The column bindings of {@link BeanMapper} are resolved on the first row of each ResultSet.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class BeanMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class PrimitiveEmp {
+        public int empno;
+        public double comm = -1;
+    }
+
+    public static class PrimitiveAccessorEmp {
+        private long empno;
+        private boolean commissioned;
+
+        public long getEmpno() {
+            return empno;
+        }
+
+        public void setEmpno(long empno) {
+            this.empno = empno;
+        }
+
+        public boolean isCommissioned() {
+            return commissioned;
+        }
+
+        public void setCommissioned(boolean commissioned) {
+            this.commissioned = commissioned;
+        }
+    }
+
+    @Test
+    void mapRow_differentColumnLayouts_rebindsPerResultSet() {
+        BeanMapper<Emp> mapper = new BeanMapper<>(Emp.class, ZoneId.systemDefault());
+
+        List<Emp> first = jdbcTemplate.query("select empno, ename from emp where empno = 7369", mapper);
+        List<Emp> second = jdbcTemplate.query("select job, empno from emp where empno = 7499", mapper);
+
+        assertEquals(7369, first.get(0).empno);
+        assertEquals("SMITH", first.get(0).ename);
+        assertNull(first.get(0).job);
+
+        assertEquals(7499, second.get(0).empno);
+        assertEquals("SALESMAN", second.get(0).job);
+        assertNull(second.get(0).ename);
+    }
+
+    @Test
+    void mapRow_accessor_allRows() {
+        BeanMapper<AccessorEmp> mapper = new BeanMapper<>(AccessorEmp.class, ZoneId.systemDefault());
+
+        List<AccessorEmp> result = jdbcTemplate.query("select * from emp order by empno", mapper);
+
+        assertEquals(14, result.size());
+        assertEquals("SMITH", result.get(0).getEname());
+        assertEquals("MILLER", result.get(13).getEname());
+        assertEquals(0, new BigDecimal("1300").compareTo(result.get(13).getSal()));
+    }
+
+    @Test
+    void mapRow_nullToPrimitive_keepsDefault() {
+        BeanMapper<PrimitiveEmp> mapper = new BeanMapper<>(PrimitiveEmp.class, ZoneId.systemDefault());
+
+        List<PrimitiveEmp> result = jdbcTemplate.query("select empno, comm from emp where empno in (7369, 7499) order by empno", mapper);
+
+        assertEquals(7369, result.get(0).empno);
+        assertEquals(-1, result.get(0).comm);
+        assertEquals(7499, result.get(1).empno);
+        assertEquals(300, result.get(1).comm);
+    }
+
+    @Test
+    void mapRow_primitiveAccessors_boundWithoutBoxing() {
+        BeanMapper<PrimitiveAccessorEmp> mapper = new BeanMapper<>(PrimitiveAccessorEmp.class, ZoneId.systemDefault());
+
+        List<PrimitiveAccessorEmp> result = jdbcTemplate.query("select empno, comm is not null as commissioned from emp where empno in (7369, 7499) order by empno", mapper);
+
+        assertEquals(7369L, result.get(0).getEmpno());
+        assertFalse(result.get(0).isCommissioned());
+        assertEquals(7499L, result.get(1).getEmpno());
+        assertTrue(result.get(1).isCommissioned());
+        assertInstanceOf(BeanAccessors.LongSetter.class, mapper.resultSetBinding.columns[0].primitiveSetter());
+        assertInstanceOf(BeanAccessors.BooleanSetter.class, mapper.resultSetBinding.columns[1].primitiveSetter());
+    }
+
+    @Test
+    void mapRow_getColumnValueOverridden_appliesToPrimitives() {
+        BeanMapper<PrimitiveEmp> mapper = new BeanMapper<>(PrimitiveEmp.class, ZoneId.systemDefault()) {
+            @Override
+            protected Object getColumnValue(ResultSet rs, int index, Class<?> requiredType) throws SQLException {
+                Object value = super.getColumnValue(rs, index, requiredType);
+                return value instanceof Integer empno ? empno + 10000 : value;
+            }
+        };
+
+        List<PrimitiveEmp> result = jdbcTemplate.query("select empno, comm from emp where empno = 7499", mapper);
+
+        assertEquals(17499, result.get(0).empno);
+        assertEquals(300, result.get(0).comm);
+        assertNull(mapper.resultSetBinding.columns[0].primitiveSetter());
+    }
+
+    @Test
+    void mapRow_sharedByConcurrentQueries_bindsEachResultSet() throws Exception {
+        BeanMapper<Emp> mapper = new BeanMapper<>(Emp.class, ZoneId.systemDefault());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                boolean byEmpno = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        List<Emp> result = byEmpno
+                                ? jdbcTemplate.query("select empno, ename from emp order by empno", mapper)
+                                : jdbcTemplate.query("select ename, job from emp order by empno", mapper);
+                        for (Emp emp : result) {
+                            assertNotNull(emp.ename);
+                            assertEquals(byEmpno, emp.empno != null);
+                            assertEquals(byEmpno, emp.job == null);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void reusing_refillsOneInstance() {
+        BeanMapper<PrimitiveEmp> mapper = new BeanMapper<>(PrimitiveEmp.class, ZoneId.systemDefault());
+        List<PrimitiveEmp> instances = new ArrayList<>();
+        List<Double> comms = new ArrayList<>();
+
+        // ALLEN, SMITH, WARD: the null comm of SMITH must not keep the 300 of ALLEN
+        jdbcTemplate.query("select empno, comm from emp where empno in (7369, 7499, 7521) order by comm nulls last, empno",
+                mapper.reusing(emp -> {
+                    instances.add(emp);
+                    comms.add(emp.comm);
+                }));
+
+        assertEquals(List.of(300.0, 500.0, -1.0), comms);
+        assertSame(instances.get(0), instances.get(2));
+        assertEquals(7369, instances.get(0).empno);
+    }
+
+    @Test
+    void reusableMapper_bytecodeMode_beanMapper() {
+        assertInstanceOf(BeanMapper.class, new MapperBuilder(ZoneId.systemDefault(), true).reusableMapper(Emp.class));
+        assertThrows(IllegalArgumentException.class, () -> new MapperBuilder().reusableMapper(EmpRecord.class));
+    }
+
+    @Test
+    void mapper_copiesCachedMapperForEachQuery() {
+        MapperBuilder builder = new MapperBuilder();
+
+        assertNotSame(builder.mapper(Emp.class), builder.mapper(Emp.class));
+    }
+
+    @Test
+    void mapper_subclassCreateMapper_notSharedWithOtherBuilders() {
+        RowMapper<PrimitiveEmp> custom = (rs, rowNum) -> new PrimitiveEmp();
+        MapperBuilder subclass = new MapperBuilder() {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected <T> RowMapper<T> createMapper(Class<T> mappedClass) {
+                return (RowMapper<T>) custom;
+            }
+        };
+
+        assertSame(custom, subclass.mapper(PrimitiveEmp.class));
+        assertNotSame(custom, new MapperBuilder().mapper(PrimitiveEmp.class));
+    }
+
+    @Test
+    void mapper_subclassCacheQualifier_cachedPerConfiguration() {
+        RowMapper<PrimitiveEmp> first = new ConfiguredMapperBuilder("first").mapper(PrimitiveEmp.class);
+        RowMapper<PrimitiveEmp> second = new ConfiguredMapperBuilder("second").mapper(PrimitiveEmp.class);
+
+        assertNotSame(first, second);
+        assertSame(first, new ConfiguredMapperBuilder("first").mapper(PrimitiveEmp.class));
+    }
+
+    static class ConfiguredMapperBuilder extends MapperBuilder {
+        final String configuration;
+
+        ConfiguredMapperBuilder(String configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        protected <T> RowMapper<T> createMapper(Class<T> mappedClass) {
+            return (rs, rowNum) -> mappedClass.cast(rs.getObject(configuration));
+        }
+
+        @Override
+        protected Object cacheQualifier() {
+            return configuration;
+        }
+    }
+}
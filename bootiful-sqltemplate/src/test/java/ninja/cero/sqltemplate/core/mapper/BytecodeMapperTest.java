@@ -0,0 +1,155 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import ninja.cero.sqltemplate.test.entity.AccessorEmp;
+import ninja.cero.sqltemplate.test.entity.DateTimeEntity;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BytecodeMapper} maps the rows with hidden classes, exactly like the reflective mappers.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class BytecodeMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class PrimitiveEmp {
+        public int empno;
+        public double comm = -1;
+    }
+
+    public record PrimitiveEmpRecord(int empno, double comm) {
+    }
+
+    public static class CharEmp {
+        public char job;
+    }
+
+    @Test
+    void mapRow_publicFields() {
+        BytecodeMapper<Emp> mapper = new BytecodeMapper<>(Emp.class, ZoneId.systemDefault());
+
+        List<Emp> result = jdbcTemplate.query("select * from emp order by empno", mapper);
+
+        assertEquals(14, result.size());
+        Emp smith = result.get(0);
+        assertEquals(7369, smith.empno);
+        assertEquals("SMITH", smith.ename);
+        assertEquals("CLERK", smith.job);
+        assertEquals(7902, smith.mgr);
+        assertEquals(LocalDate.of(1980, 12, 17), smith.hiredate);
+        assertEquals(0, new BigDecimal("800").compareTo(smith.sal));
+        assertNull(smith.comm);
+        assertEquals(20, smith.deptno);
+        assertNull(result.get(8).mgr);
+    }
+
+    @Test
+    void mapRow_accessors() {
+        BytecodeMapper<AccessorEmp> mapper = new BytecodeMapper<>(AccessorEmp.class, ZoneId.systemDefault());
+
+        List<AccessorEmp> result = jdbcTemplate.query("select * from emp order by empno", mapper);
+
+        assertEquals(14, result.size());
+        assertEquals("SMITH", result.get(0).getEname());
+        assertEquals("MILLER", result.get(13).getEname());
+        assertEquals(0, new BigDecimal("1300").compareTo(result.get(13).getSal()));
+    }
+
+    @Test
+    void mapRow_record() {
+        BytecodeMapper<EmpRecord> mapper = new BytecodeMapper<>(EmpRecord.class, ZoneId.systemDefault());
+
+        List<EmpRecord> result = jdbcTemplate.query("select * from emp order by empno", mapper);
+
+        RecordMapper<EmpRecord> reflective = new RecordMapper<>(EmpRecord.class, ZoneId.systemDefault());
+        assertEquals(jdbcTemplate.query("select * from emp order by empno", reflective), result);
+    }
+
+    @Test
+    void mapRow_nullToPrimitive_likeReflectiveMappers() {
+        BytecodeMapper<PrimitiveEmp> beanMapper = new BytecodeMapper<>(PrimitiveEmp.class, ZoneId.systemDefault());
+        BytecodeMapper<PrimitiveEmpRecord> recordMapper = new BytecodeMapper<>(PrimitiveEmpRecord.class, ZoneId.systemDefault());
+        String sql = "select empno, comm from emp where empno in (7369, 7499) order by empno";
+
+        List<PrimitiveEmp> beans = jdbcTemplate.query(sql, beanMapper);
+        List<PrimitiveEmpRecord> records = jdbcTemplate.query(sql, recordMapper);
+
+        assertEquals(-1, beans.get(0).comm);
+        assertEquals(300, beans.get(1).comm);
+        assertEquals(new PrimitiveEmpRecord(7369, 0), records.get(0));
+        assertEquals(new PrimitiveEmpRecord(7499, 300), records.get(1));
+    }
+
+    @Test
+    void mapRow_dateTime_likeBeanMapper() {
+        ZoneId zoneId = ZoneId.of("Asia/Tokyo");
+        DateTimeEntity expected = jdbcTemplate.queryForObject("select * from date_time", new BeanMapper<>(DateTimeEntity.class, zoneId));
+
+        DateTimeEntity actual = jdbcTemplate.queryForObject("select * from date_time", new BytecodeMapper<>(DateTimeEntity.class, zoneId));
+
+        assertEquals(expected.utilDate, actual.utilDate);
+        assertEquals(expected.sqlDate, actual.sqlDate);
+        assertEquals(expected.sqlTime, actual.sqlTime);
+        assertEquals(expected.sqlTimestamp, actual.sqlTimestamp);
+        assertEquals(expected.localDateTime, actual.localDateTime);
+        assertEquals(expected.localDate, actual.localDate);
+        assertEquals(expected.localTime, actual.localTime);
+        assertEquals(expected.zonedDateTime, actual.zonedDateTime);
+        assertEquals(expected.offsetDateTime, actual.offsetDateTime);
+        assertEquals(expected.offsetTime, actual.offsetTime);
+        assertEquals(expected.instant, actual.instant);
+    }
+
+    @Test
+    void mapRow_differentColumnLayouts_generatesClassPerLayout() {
+        BytecodeMapper<Emp> mapper = new BytecodeMapper<>(Emp.class, ZoneId.systemDefault());
+
+        List<Emp> first = jdbcTemplate.query("select empno, ename from emp where empno = 7369", mapper);
+        RowMapper<Emp> firstDelegate = mapper.delegate;
+        List<Emp> second = jdbcTemplate.query("select job, empno from emp where empno = 7499", mapper);
+
+        assertEquals("SMITH", first.get(0).ename);
+        assertNull(first.get(0).job);
+        assertEquals("SALESMAN", second.get(0).job);
+        assertNull(second.get(0).ename);
+        assertTrue(firstDelegate.getClass().isHidden());
+        assertNotSame(firstDelegate.getClass(), mapper.delegate.getClass());
+        assertEquals(2, mapper.constructors.size());
+
+        BytecodeMapper<Emp> copy = mapper.copy();
+        jdbcTemplate.query("select empno, ename from emp where empno = 7369", copy);
+        assertSame(firstDelegate.getClass(), copy.delegate.getClass());
+    }
+
+    @Test
+    void isSupported() {
+        assertTrue(BytecodeMapper.isSupported(Emp.class));
+        assertTrue(BytecodeMapper.isSupported(EmpRecord.class));
+        assertFalse(BytecodeMapper.isSupported(CharEmp.class));
+        assertFalse(BytecodeMapper.isSupported(RowMapper.class));
+    }
+
+    @Test
+    void mapper_bytecodeMode() {
+        assertInstanceOf(BytecodeMapper.class, new MapperBuilder(ZoneId.systemDefault(), true).mapper(Emp.class));
+        assertInstanceOf(BeanMapper.class, new MapperBuilder(ZoneId.systemDefault(), true).mapper(CharEmp.class));
+        assertInstanceOf(BeanMapper.class, new MapperBuilder(ZoneId.systemDefault(), false).mapper(Emp.class));
+    }
+}
@@ -0,0 +1,127 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PolymorphicMapper} maps the rows to the subtypes of a {@link Discriminator} type by the discriminator column.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class PolymorphicMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Discriminator("job")
+    public sealed interface Staff {
+    }
+
+    @DiscriminatorValue("CLERK")
+    public record Clerk(int empno, String ename) implements Staff {
+    }
+
+    @DiscriminatorValue("SALESMAN")
+    public static final class Salesman implements Staff {
+        public int empno;
+        public BigDecimal comm;
+    }
+
+    public abstract static sealed class Management implements Staff {
+        public int empno;
+        public Integer mgr;
+    }
+
+    @DiscriminatorValue("MANAGER")
+    public static final class Manager extends Management {
+    }
+
+    @DiscriminatorValue("PRESIDENT")
+    public static final class President extends Management {
+    }
+
+    @Discriminator(value = "job", subtypes = Analyst.class)
+    public interface OpenStaff {
+    }
+
+    @DiscriminatorValue("ANALYST")
+    public record Analyst(int empno) implements OpenStaff {
+    }
+
+    @Discriminator("job")
+    public sealed interface Duplicated {
+    }
+
+    public record Clerk1(int empno) implements Duplicated {
+    }
+
+    @DiscriminatorValue("Clerk1")
+    public record Clerk2(int empno) implements Duplicated {
+    }
+
+    @Test
+    void mapRow_dispatchesBySubtype() {
+        RowMapper<Staff> mapper = new MapperBuilder().mapper(Staff.class);
+
+        List<Staff> result = jdbcTemplate.query("select * from emp where deptno = 30 order by empno", mapper);
+
+        assertEquals(6, result.size());
+        Salesman allen = assertInstanceOf(Salesman.class, result.get(0));
+        assertEquals(7499, allen.empno);
+        assertEquals(0, new BigDecimal("300").compareTo(allen.comm));
+        Manager blake = assertInstanceOf(Manager.class, result.get(3));
+        assertEquals(7698, blake.empno);
+        assertEquals(7839, blake.mgr);
+        assertEquals(new Clerk(7900, "JAMES"), result.get(5));
+    }
+
+    @Test
+    void mapRow_nestedSealedType() {
+        List<Staff> result = jdbcTemplate.query("select * from emp where empno = 7839", new MapperBuilder().mapper(Staff.class));
+
+        President king = assertInstanceOf(President.class, result.get(0));
+        assertNull(king.mgr);
+    }
+
+    @Test
+    void mapRow_listedSubtypes() {
+        List<OpenStaff> result = jdbcTemplate.query("select * from emp where job = 'ANALYST' order by empno",
+                new MapperBuilder(ZoneId.systemDefault(), true).mapper(OpenStaff.class));
+
+        assertEquals(List.of(new Analyst(7788), new Analyst(7902)), result);
+    }
+
+    @Test
+    void mapRow_unknownValue_throws() {
+        RowMapper<OpenStaff> mapper = new MapperBuilder().mapper(OpenStaff.class);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                jdbcTemplate.query("select * from emp where empno = 7369", mapper));
+        assertTrue(e.getMessage().endsWith("for job = CLERK"));
+    }
+
+    @Test
+    void duplicatedValue_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new MapperBuilder().mapper(Duplicated.class));
+    }
+
+    @Test
+    void copy_copiesSubtypeMappers() {
+        PolymorphicMapper<Staff> mapper = (PolymorphicMapper<Staff>) new MapperBuilder().mapper(Staff.class);
+        PolymorphicMapper<Staff> copy = mapper.copy();
+
+        assertNotSame(mapper.mappers.get("SALESMAN"), copy.mappers.get("SALESMAN"));
+        assertSame(mapper.mappers.get("CLERK").getClass(), copy.mappers.get("CLERK").getClass());
+    }
+}
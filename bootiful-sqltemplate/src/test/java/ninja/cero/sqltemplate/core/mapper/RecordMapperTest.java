@@ -0,0 +1,63 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The column bindings of {@link RecordMapper} are resolved on the first row of each ResultSet,
+ * and the constructor arguments are reused for every row.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class RecordMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public record PrimitiveEmp(int empno, double comm) {
+    }
+
+    @Test
+    void mapRow_differentColumnLayouts_rebindsPerResultSet() {
+        RecordMapper<EmpRecord> mapper = new RecordMapper<>(EmpRecord.class, ZoneId.systemDefault());
+
+        List<EmpRecord> first = jdbcTemplate.query("select empno, ename from emp where empno = 7369", mapper);
+        List<EmpRecord> second = jdbcTemplate.query("select job, empno from emp where empno = 7499", mapper);
+
+        assertEquals(new EmpRecord(7369, "SMITH", null, null, null, null, null, null), first.get(0));
+        assertEquals(new EmpRecord(7499, null, "SALESMAN", null, null, null, null, null), second.get(0));
+    }
+
+    @Test
+    void mapRow_allRows_doNotShareArguments() {
+        RecordMapper<EmpRecord> mapper = new RecordMapper<>(EmpRecord.class, ZoneId.systemDefault());
+
+        List<EmpRecord> result = jdbcTemplate.query("select * from emp order by empno", mapper);
+
+        assertEquals(14, result.size());
+        assertEquals("SMITH", result.get(0).ename());
+        assertEquals(20, result.get(0).deptno());
+        assertEquals("MILLER", result.get(13).ename());
+        assertEquals(10, result.get(13).deptno());
+    }
+
+    @Test
+    void mapRow_nullToPrimitive_usesDefault() {
+        RecordMapper<PrimitiveEmp> mapper = new RecordMapper<>(PrimitiveEmp.class, ZoneId.systemDefault());
+
+        List<PrimitiveEmp> result = jdbcTemplate.query("select empno, comm from emp where empno in (7369, 7499) order by empno", mapper);
+
+        assertEquals(new PrimitiveEmp(7369, 0), result.get(0));
+        assertEquals(new PrimitiveEmp(7499, 300), result.get(1));
+    }
+}
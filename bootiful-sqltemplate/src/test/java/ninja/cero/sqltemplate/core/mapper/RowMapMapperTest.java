@@ -0,0 +1,113 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RowMapMapper} maps the rows to compact maps which behave like the maps of {@link ColumnMapRowMapper}.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class RowMapMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void mapRow_likeColumnMapRowMapper() {
+        String sql = "select * from emp order by empno";
+
+        List<Map<String, Object>> expected = jdbcTemplate.query(sql, new ColumnMapRowMapper());
+        List<Map<String, Object>> actual = jdbcTemplate.query(sql, new RowMapMapper());
+
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(new ArrayList<>(expected.get(0).keySet()), new ArrayList<>(actual.get(0).keySet()));
+        assertEquals(new ArrayList<>(expected.get(0).values()), new ArrayList<>(actual.get(0).values()));
+    }
+
+    @Test
+    void get_caseInsensitive() {
+        Map<String, Object> row = jdbcTemplate.queryForObject("select empno, ename, comm from emp where empno = 7369", new RowMapMapper());
+
+        assertEquals("SMITH", row.get("ENAME"));
+        assertEquals("SMITH", row.get("ename"));
+        assertEquals("SMITH", row.get("EName"));
+        assertTrue(row.containsKey("comm"));
+        assertNull(row.get("comm"));
+        assertFalse(row.containsKey("job"));
+        assertFalse(row.containsKey(1));
+        assertEquals("none", row.getOrDefault("job", "none"));
+        assertEquals(3, row.size());
+    }
+
+    @Test
+    void mapRow_duplicateLabels_likeColumnMapRowMapper() {
+        String sql = "select empno as id, ename, deptno as ID from emp where empno = 7369";
+
+        Map<String, Object> expected = jdbcTemplate.queryForObject(sql, new ColumnMapRowMapper());
+        Map<String, Object> actual = jdbcTemplate.queryForObject(sql, new RowMapMapper());
+
+        assertEquals(expected, actual);
+        assertEquals(2, actual.size());
+        assertEquals(7369, actual.get("id"));
+    }
+
+    @Test
+    void mapRow_readOnly() {
+        Map<String, Object> row = jdbcTemplate.queryForObject("select empno, ename from emp where empno = 7369", new RowMapMapper());
+
+        assertThrows(UnsupportedOperationException.class, () -> row.put("ename", "JONES"));
+        assertThrows(UnsupportedOperationException.class, () -> row.remove("ename"));
+        assertThrows(UnsupportedOperationException.class, () -> row.entrySet().iterator().next().setValue("JONES"));
+        assertEquals("SMITH", row.get("ename"));
+    }
+
+    @Test
+    void mapRow_serializedAsModifiableMap() throws Exception {
+        Map<String, Object> row = jdbcTemplate.queryForObject("select empno, ename from emp where empno = 7369", new RowMapMapper());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(row);
+        }
+        Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+
+        assertInstanceOf(LinkedCaseInsensitiveMap.class, copy);
+        assertEquals(row, copy);
+        assertEquals(List.of("EMPNO", "ENAME"), new ArrayList<>(((Map<?, ?>) copy).keySet()));
+        assertEquals("SMITH", ((Map<?, ?>) copy).get("ename"));
+    }
+
+    @Test
+    void mapRow_sharesColumnsPerResultSet() {
+        RowMapMapper mapper = new RowMapMapper();
+
+        List<Map<String, Object>> first = jdbcTemplate.query("select empno, ename from emp order by empno", mapper);
+        List<Map<String, Object>> second = jdbcTemplate.query("select job from emp order by empno", mapper);
+
+        assertSame(((RowMap) first.get(0)).columns, ((RowMap) first.get(13)).columns);
+        assertNotSame(((RowMap) first.get(0)).columns, ((RowMap) second.get(0)).columns);
+        assertEquals(List.of("EMPNO", "ENAME"), ((RowMap) first.get(0)).columns.keys());
+        assertEquals("CLERK", second.get(0).get("job"));
+    }
+}
@@ -0,0 +1,119 @@
+package ninja.cero.sqltemplate.core.mapper;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The views of {@link RowViewMapper} read the columns of the current row on access.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class RowViewMapperTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public interface EmpView {
+        int getEmpno();
+
+        String ename();
+
+        LocalDate getHiredate();
+
+        BigDecimal getComm();
+
+        Integer getMgr();
+
+        String getUnknown();
+
+        default String label() {
+            return getEmpno() + ":" + ename();
+        }
+    }
+
+    @Test
+    void mapRow_readsOnAccess() {
+        try (Stream<EmpView> stream = jdbcTemplate.queryForStream("select * from emp order by empno", new RowViewMapper<>(EmpView.class, ZoneId.systemDefault()))) {
+            List<String> result = stream
+                    .filter(emp -> emp.getComm() != null)
+                    .map(EmpView::label)
+                    .toList();
+
+            assertEquals(List.of("7499:ALLEN", "7521:WARD", "7654:MARTIN", "7844:TURNER"), result);
+        }
+    }
+
+    @Test
+    void mapRow_types() {
+        RowViewMapper<EmpView> mapper = new RowViewMapper<>(EmpView.class, ZoneId.systemDefault());
+        jdbcTemplate.query("select empno, ename, hiredate, comm, mgr from emp where empno = 7839", rs -> {
+            EmpView king = mapper.mapRow(rs, 0);
+
+            assertEquals(LocalDate.of(1981, 11, 17), king.getHiredate());
+            assertNull(king.getMgr());
+            assertNull(king.getComm());
+            assertEquals("7839:KING", king.label());
+            assertEquals(king, king);
+        });
+    }
+
+    @Test
+    void mapRow_invalidAfterNextRow() {
+        RowViewMapper<EmpView> mapper = new RowViewMapper<>(EmpView.class, ZoneId.systemDefault());
+        List<EmpView> views = jdbcTemplate.query("select empno, ename from emp where empno in (7369, 7499) order by empno", (rs, rowNum) -> {
+            EmpView view = mapper.mapRow(rs, rowNum);
+            // memoized before the next row
+            view.getEmpno();
+            return view;
+        });
+
+        assertEquals(7369, views.get(0).getEmpno());
+        assertThrows(IllegalStateException.class, () -> views.get(0).ename());
+        assertEquals(7499, views.get(1).getEmpno());
+    }
+
+    @Test
+    void mapRow_noColumn() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                jdbcTemplate.queryForObject("select empno from emp where empno = 7369", (rs, rowNum) ->
+                        new RowViewMapper<>(EmpView.class, ZoneId.systemDefault()).mapRow(rs, rowNum).getUnknown()));
+        assertTrue(ex.getMessage().startsWith("No column for getUnknown()"));
+    }
+
+    interface PackagePrivateView {
+        String getEname();
+    }
+
+    @Test
+    void mapRow_proxyConstructorResolvedOnce() {
+        RowViewMapper<PackagePrivateView> mapper = new RowViewMapper<>(PackagePrivateView.class, ZoneId.systemDefault());
+        assertNotNull(mapper.proxyConstructor);
+        assertSame(mapper.proxyConstructor, mapper.copy().proxyConstructor);
+
+        try (Stream<PackagePrivateView> stream = jdbcTemplate.queryForStream("select ename from emp where deptno = 10 order by empno", mapper)) {
+            List<PackagePrivateView> views = stream.peek(view -> assertTrue(Proxy.isProxyClass(view.getClass()))).toList();
+
+            assertEquals(3, views.size());
+            assertSame(views.get(0).getClass(), views.get(2).getClass());
+            assertSame(mapper.proxyConstructor.getDeclaringClass(), views.get(0).getClass());
+        }
+    }
+
+    @Test
+    void viewMapper_notInterface() {
+        assertThrows(IllegalArgumentException.class, () -> new MapperBuilder().viewMapper(String.class));
+    }
+}
@@ -0,0 +1,111 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import ninja.cero.sqltemplate.test.entity.AccessorEmp;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BeanParameter} resolves the readable parameters once per class into a shared {@link BeanParameter.Descriptor},
+ * and the dotted paths once per path.
+ */
+class BeanParameterTest {
+    public static class MixedEmp {
+        public String ename = "field";
+        public Integer empno;
+
+        public String getEname() {
+            return "getter";
+        }
+    }
+
+    public record Location(String city) {
+    }
+
+    public static class Dept {
+        public Integer deptno;
+        public Location location;
+    }
+
+    public record Criteria(Dept dept, EmpRecord emp) {
+    }
+
+    @Test
+    void descriptor_sharedByClass() {
+        Emp smith = new Emp();
+        smith.empno = 7369;
+        Emp allen = new Emp();
+        allen.empno = 7499;
+
+        BeanParameter first = new BeanParameter(smith, ZoneId.systemDefault());
+        BeanParameter second = new BeanParameter(allen, ZoneId.systemDefault());
+
+        assertSame(first.descriptor, second.descriptor);
+        assertEquals(7369, first.getValue("empno"));
+        assertEquals(7499, second.getValue("empno"));
+    }
+
+    @Test
+    void publicFields() {
+        Emp emp = new Emp();
+        emp.hiredate = LocalDate.of(1980, 12, 17);
+        BeanParameter parameter = new BeanParameter(emp, ZoneId.systemDefault());
+
+        assertTrue(parameter.hasValue("hiredate"));
+        assertFalse(parameter.hasValue("unknown"));
+        assertFalse(parameter.hasValue("class"));
+        assertEquals(java.sql.Date.valueOf("1980-12-17"), parameter.getValue("hiredate"));
+        assertNull(parameter.getValue("ename"));
+        assertEquals(Types.DATE, parameter.getSqlType("hiredate"));
+    }
+
+    @Test
+    void accessors() {
+        AccessorEmp emp = new AccessorEmp();
+        emp.setEname("SMITH");
+        BeanParameter parameter = new BeanParameter(emp, ZoneId.systemDefault());
+
+        assertTrue(parameter.hasValue("ename"));
+        assertEquals("SMITH", parameter.getValue("ename"));
+        assertEquals(Types.VARCHAR, parameter.getSqlType("ename"));
+    }
+
+    @Test
+    void getterBeforeField() {
+        BeanParameter parameter = new BeanParameter(new MixedEmp(), ZoneId.systemDefault());
+
+        assertEquals("getter", parameter.getValue("ename"));
+        assertTrue(parameter.hasValue("empno"));
+    }
+
+    @Test
+    void record() {
+        BeanParameter parameter = new BeanParameter(new EmpRecord(7369, "SMITH", null, null, null, null, null, 20), ZoneId.systemDefault());
+
+        assertTrue(parameter.hasValue("ename"));
+        assertEquals("SMITH", parameter.getValue("ename"));
+        assertNull(parameter.getValue("hiredate"));
+        assertEquals(Types.DATE, parameter.getSqlType("hiredate"));
+    }
+
+    @Test
+    void dottedPath() {
+        Dept dept = new Dept();
+        dept.location = new Location("DALLAS");
+        BeanParameter parameter = new BeanParameter(new Criteria(dept, null), ZoneId.systemDefault());
+
+        assertEquals("DALLAS", parameter.getValue("dept.location.city"));
+        assertEquals(Types.VARCHAR, parameter.getSqlType("dept.location.city"));
+        assertTrue(parameter.hasValue("emp.ename"));
+        assertNull(parameter.getValue("emp.ename"));
+        assertFalse(parameter.hasValue("dept.unknown"));
+        assertFalse(parameter.hasValue("dept.location.city.length"));
+        assertSame(parameter.descriptor.property("dept.location.city"), parameter.descriptor.property("dept.location.city"));
+    }
+}
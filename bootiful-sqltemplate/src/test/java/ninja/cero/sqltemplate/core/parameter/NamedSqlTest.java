@@ -0,0 +1,114 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link NamedSql} compiles a named SQL once and binds the parameter sources by position.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class NamedSqlTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compile() {
+        NamedSql namedSql = NamedSql.of("select ename from emp where deptno = :deptno and (job = :job or :job is null) and ':x' <> 'y'");
+
+        assertEquals("select ename from emp where deptno = ? and (job = ? or ? is null) and ':x' <> 'y'", namedSql.getSql());
+        assertArrayEquals(new String[]{"deptno", "job", "job"}, namedSql.getParameterNames());
+        assertSame(namedSql, NamedSql.of("select ename from emp where deptno = :deptno and (job = :job or :job is null) and ':x' <> 'y'"));
+    }
+
+    @Test
+    void compile_mixedPlaceholders() {
+        NamedSql namedSql = NamedSql.of("select ename from emp where deptno = :deptno and job = ?");
+
+        assertNull(namedSql.getSql());
+        assertNull(namedSql.newPreparedStatementCreator(new MapParameter(Map.of("deptno", 10), ZoneId.systemDefault())));
+    }
+
+    @Test
+    void newPreparedStatementCreator() {
+        NamedSql namedSql = NamedSql.of("select ename from emp where deptno = :deptno and job = :job order by empno");
+        PreparedStatementCreator creator = namedSql.newPreparedStatementCreator(
+                new MapParameter(Map.of("deptno", 10, "job", "CLERK"), ZoneId.systemDefault()));
+
+        List<String> result = jdbcTemplate.query(creator, new SingleColumnRowMapper<>(String.class));
+
+        assertEquals(List.of("MILLER"), result);
+    }
+
+    @Test
+    void newPreparedStatementCreator_expandedOrMissing_null() {
+        NamedSql namedSql = NamedSql.of("select ename from emp where deptno in (:deptno)");
+
+        assertNull(namedSql.newPreparedStatementCreator(new MapParameter(Map.of("deptno", List.of(10, 20)), ZoneId.systemDefault())));
+        assertNull(namedSql.newPreparedStatementCreator(new MapParameter(Map.of(), ZoneId.systemDefault())));
+        assertNotNull(namedSql.newPreparedStatementCreator(new MapParameter(Map.of("deptno", 10), ZoneId.systemDefault())));
+    }
+
+    @Test
+    void newPreparedStatementCreator_inListBuckets() {
+        NamedSql namedSql = NamedSql.of("select empno from emp where empno in (:empno) and deptno = :deptno order by empno");
+        InListBuckets buckets = InListBuckets.powersOfTwo();
+
+        PreparedStatementCreator three = namedSql.newPreparedStatementCreator(
+                new MapParameter(Map.of("empno", List.of(7369, 7499, 7876), "deptno", 20), ZoneId.systemDefault()), buckets);
+        PreparedStatementCreator four = namedSql.newPreparedStatementCreator(
+                new MapParameter(Map.of("empno", List.of(7369, 7499, 7521, 7876), "deptno", 20), ZoneId.systemDefault()), buckets);
+
+        assertEquals("select empno from emp where empno in (?, ?, ?, ?) and deptno = ? order by empno", ((SqlProvider) three).getSql());
+        assertSame(((SqlProvider) three).getSql(), ((SqlProvider) four).getSql());
+        assertEquals(List.of(7369, 7876), jdbcTemplate.query(three, new SingleColumnRowMapper<>(Integer.class)));
+        assertEquals(List.of(7369, 7876), jdbcTemplate.query(four, new SingleColumnRowMapper<>(Integer.class)));
+        assertNull(namedSql.newPreparedStatementCreator(new MapParameter(Map.of("empno", List.of(), "deptno", 20), ZoneId.systemDefault()), buckets));
+    }
+
+    @Test
+    void newPreparedStatementCreator_inListBuckets_notRandomAccess() {
+        NamedSql namedSql = NamedSql.of("select empno from emp where empno in (:empno) order by empno");
+        InListBuckets buckets = InListBuckets.powersOfTwo();
+
+        PreparedStatementCreator linked = namedSql.newPreparedStatementCreator(
+                new MapParameter(Map.of("empno", new LinkedList<>(List.of(7369, 7499, 7521))), ZoneId.systemDefault()), buckets);
+        PreparedStatementCreator set = namedSql.newPreparedStatementCreator(
+                new MapParameter(Map.of("empno", new LinkedHashSet<>(List.of(7369, 7499, 7521))), ZoneId.systemDefault()), buckets);
+
+        assertEquals("select empno from emp where empno in (?, ?, ?, ?) order by empno", ((SqlProvider) linked).getSql());
+        assertEquals(List.of(7369, 7499, 7521), jdbcTemplate.query(linked, new SingleColumnRowMapper<>(Integer.class)));
+        assertEquals(List.of(7369, 7499, 7521), jdbcTemplate.query(set, new SingleColumnRowMapper<>(Integer.class)));
+    }
+
+    @Test
+    void inListBuckets_bucketSize() {
+        InListBuckets powersOfTwo = InListBuckets.powersOfTwo();
+        assertEquals(1, powersOfTwo.bucketSize(1));
+        assertEquals(2, powersOfTwo.bucketSize(2));
+        assertEquals(4, powersOfTwo.bucketSize(3));
+        assertEquals(128, powersOfTwo.bucketSize(100));
+
+        InListBuckets sizes = InListBuckets.of(50, 10);
+        assertEquals(10, sizes.bucketSize(1));
+        assertEquals(50, sizes.bucketSize(11));
+        assertEquals(150, sizes.bucketSize(101));
+        assertThrows(IllegalArgumentException.class, () -> InListBuckets.of(0, 10));
+    }
+}
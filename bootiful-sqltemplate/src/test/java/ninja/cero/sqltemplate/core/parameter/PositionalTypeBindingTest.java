@@ -2,6 +2,8 @@ package ninja.cero.sqltemplate.core.parameter;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -18,12 +20,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Unit test for the issue #14 fix. The positional parameter sources ({@link ArrayParameter},
  * {@link BatchArgsParameter}, {@link SingleParamBatchArgsParameter}) now bind each non-null value
  * with the SQL type derived from its runtime class (instead of {@code TYPE_UNKNOWN}), while a
- * {@code null} - which carries no type - is still bound as {@code TYPE_UNKNOWN}.
+ * {@code null} - which carries no type - is still bound as {@code TYPE_UNKNOWN}. The common classes are bound
+ * with the setters specialized for them by {@link ParameterBinder}.
  *
  * <p>Verified against a recording {@link PreparedStatement} (a dynamic proxy), so it is deterministic
  * and needs no database.
@@ -40,8 +45,8 @@ class PositionalTypeBindingTest {
                 new Object[][]{{42, Color.RED, LocalDate.of(2026, 1, 2)}}, ZoneId.systemDefault())
                 .setValues(rec.preparedStatement(), 0);
 
-        // Integer -> INTEGER, passed explicitly to setObject(index, value, sqlType)
-        assertEquals(List.of("setObject", 1, 42, Types.INTEGER), rec.call(0));
+        // Integer -> setInt, specialized by the value class
+        assertEquals(List.of("setInt", 1, 42), rec.call(0));
         // enum -> VARCHAR: value converted to name() and bound as a String
         assertEquals(List.of("setString", 2, "RED"), rec.call(1));
         // LocalDate -> DATE: value converted to java.sql.Date and bound via setDate
@@ -66,8 +71,8 @@ class PositionalTypeBindingTest {
         new SingleParamBatchArgsParameter(new Object[]{7L}, ZoneId.systemDefault())
                 .setValues(rec.preparedStatement(), 0);
 
-        // Long -> BIGINT
-        assertEquals(List.of("setObject", 1, 7L, Types.BIGINT), rec.call(0));
+        // Long -> setLong
+        assertEquals(List.of("setLong", 1, 7L), rec.call(0));
     }
 
     @Test
@@ -77,10 +82,57 @@ class PositionalTypeBindingTest {
         new ArrayParameter(new Object[]{42, Color.RED}, ZoneId.systemDefault())
                 .setValues(rec.preparedStatement());
 
-        assertEquals(List.of("setObject", 1, 42, Types.INTEGER), rec.call(0));
+        assertEquals(List.of("setInt", 1, 42), rec.call(0));
         assertEquals(List.of("setString", 2, "RED"), rec.call(1));
     }
 
+    @Test
+    void batchArgs_binderReusedWhileClassesMatch() throws SQLException {
+        Recorder rec = new Recorder();
+        BatchArgsParameter parameter = new BatchArgsParameter(
+                new Object[][]{{1, "A"}, {2, "B"}, {3, null}, {new StringBuilder("x"), "D"}}, ZoneId.systemDefault());
+
+        parameter.setValues(rec.preparedStatement(), 0);
+        ParameterBinder first = parameter.binder;
+        parameter.setValues(rec.preparedStatement(), 1);
+        assertSame(first, parameter.binder);
+        parameter.setValues(rec.preparedStatement(), 2);
+        assertNotSame(first, parameter.binder);
+        parameter.setValues(rec.preparedStatement(), 3);
+
+        assertEquals(List.of("setString", 2, "B"), rec.call(3));
+        assertEquals(List.of("setNull", 2, Types.NULL), rec.call(5));
+        // no specialized setter: Spring binds the CharSequence of unknown SQL type as a String
+        assertEquals(List.of("setString", 1, "x"), rec.call(6));
+        assertSame(ParameterBinder.of(new Object[]{1, "A"}), first);
+    }
+
+    public static class Token {
+    }
+
+    @Test
+    void binder_notCacheSafeClass_notCached() throws Exception {
+        // Token defined again by a child ClassLoader, like a class of a redeployable web application
+        ClassLoader child = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(Token.class.getName())) {
+                    return super.loadClass(name, resolve);
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        };
+        Object token = child.loadClass(Token.class.getName()).getConstructor().newInstance();
+
+        assertNotSame(ParameterBinder.of(new Object[]{token}), ParameterBinder.of(new Object[]{token}));
+        assertSame(ParameterBinder.of(new Object[]{new Token()}), ParameterBinder.of(new Object[]{new Token()}));
+    }
+
     @Test
     void arrayParameter_null_boundAsUnknownType() throws SQLException {
         Recorder rec = new Recorder();
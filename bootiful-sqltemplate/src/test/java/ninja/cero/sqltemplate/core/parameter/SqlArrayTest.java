@@ -0,0 +1,106 @@
+package ninja.cero.sqltemplate.core.parameter;
+
+import ninja.cero.sqltemplate.core.executor.CompiledNamedParameterJdbcTemplate;
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link SqlArray} is bound as one SQL array, or rewritten into an IN clause for the databases without arrays.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class SqlArrayTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void positional() {
+        List<String> result = jdbcTemplate.query("select ename from emp where empno = any(?) order by empno",
+                new ArrayParameter(new Object[]{SqlArray.of(7369L, 7499L, 9999L)}, ZoneId.systemDefault()),
+                new SingleColumnRowMapper<>(String.class));
+
+        assertEquals(List.of("SMITH", "ALLEN"), result);
+    }
+
+    @Test
+    void named() {
+        CompiledNamedParameterJdbcTemplate namedJdbcTemplate = new CompiledNamedParameterJdbcTemplate(jdbcTemplate);
+
+        List<String> result = namedJdbcTemplate.query("select ename from emp where empno = any(:empnos) and job = ANY (:jobs) order by empno",
+                new MapParameter(Map.of("empnos", SqlArray.of(7369, 7499, 7876), "jobs", SqlArray.of("CLERK")), ZoneId.systemDefault()),
+                new SingleColumnRowMapper<>(String.class));
+
+        assertTrue(namedJdbcTemplate.isArraysSupported());
+        assertEquals(List.of("SMITH", "ADAMS"), result);
+    }
+
+    @Test
+    void named_arraysNotSupported_inClause() {
+        CompiledNamedParameterJdbcTemplate namedJdbcTemplate = new CompiledNamedParameterJdbcTemplate(jdbcTemplate);
+        namedJdbcTemplate.setArraysSupported(false);
+        namedJdbcTemplate.setInListBuckets(InListBuckets.powersOfTwo());
+
+        List<String> result = namedJdbcTemplate.query("select ename from emp where empno = any(:empnos) and job <> all(:jobs) order by empno",
+                new MapParameter(Map.of("empnos", SqlArray.of(7369L, 7499L, 7876L), "jobs", SqlArray.of("CLERK")), ZoneId.systemDefault()),
+                new SingleColumnRowMapper<>(String.class));
+
+        assertEquals(List.of("ALLEN"), result);
+    }
+
+    @Test
+    void named_arraysNotSupported_emptyArray() {
+        CompiledNamedParameterJdbcTemplate namedJdbcTemplate = new CompiledNamedParameterJdbcTemplate(jdbcTemplate);
+        namedJdbcTemplate.setArraysSupported(false);
+
+        List<String> result = namedJdbcTemplate.query("select ename from emp where empno = any(:empnos) and job = any(:jobs) order by empno",
+                new MapParameter(Map.of("empnos", SqlArray.of(new long[0]), "jobs", SqlArray.of("CLERK")), ZoneId.systemDefault()),
+                new SingleColumnRowMapper<>(String.class));
+        assertEquals(List.of(), result);
+
+        MapParameter allParameter = new MapParameter(Map.of("jobs", SqlArray.of(new String[0])), ZoneId.systemDefault());
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> namedJdbcTemplate.query(
+                "select ename from emp where job <> all(:jobs)", allParameter, new SingleColumnRowMapper<>(String.class)));
+    }
+
+    @Test
+    void rewriteToInClause() {
+        assertEquals("select * from emp where empno IN (:empnos) and empno NOT IN (:empnos) and deptno = any(:empnos2)",
+                SqlArray.rewriteToInClause("select * from emp where empno = ANY ( :empnos ) and empno <> all(:empnos) and deptno = any(:empnos2)", "empnos"));
+    }
+
+    @Test
+    void rewriteToInClause_quotedTextAndComments_kept() {
+        assertEquals("select '= any(:empnos)' as \"<> all(:empnos)\" from emp -- = any(:empnos)\n"
+                        + "where /* <> all(:empnos) */ empno IN (:empnos) and sal >= any(:empnos)",
+                SqlArray.rewriteToInClause("select '= any(:empnos)' as \"<> all(:empnos)\" from emp -- = any(:empnos)\n"
+                        + "where /* <> all(:empnos) */ empno = any(:empnos) and sal >= any(:empnos)", "empnos"));
+    }
+
+    @Test
+    void rewriteToInClauses_cached() {
+        String sql = "select * from emp where empno = any(:empnos)";
+        assertSame(SqlArray.rewriteToInClauses(sql, List.of("empnos"), List.of()),
+                SqlArray.rewriteToInClauses(sql, List.of("empnos"), List.of()));
+        assertEquals("select * from emp where empno IN (NULL)", SqlArray.rewriteToInClauses(sql, List.of("empnos"), List.of("empnos")));
+    }
+
+    @Test
+    void toList() {
+        assertEquals(List.of(1L, 2L), SqlArray.of(1L, 2L).toList());
+        assertEquals(List.of(1, 2), SqlArray.of(1, 2).toList());
+        assertEquals(List.of("a"), SqlArray.ofType("VARCHAR", "a").toList());
+    }
+}
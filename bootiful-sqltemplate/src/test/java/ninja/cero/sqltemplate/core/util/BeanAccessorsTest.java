@@ -0,0 +1,114 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeanAccessorsTest {
+    /** package-private, so the accessors need a private lookup */
+    static class Bean {
+        private int id;
+        private String name;
+        public Long count;
+        public double rate;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    @Test
+    void property_nonPublicClass_getAndSet() {
+        BeanAccessors accessors = BeanAccessors.of(Bean.class);
+        Bean bean = (Bean) accessors.newInstance();
+
+        accessors.property("id").setter().set(bean, 42);
+        accessors.property("name").setter().set(bean, "SMITH");
+
+        assertEquals(42, bean.getId());
+        assertEquals("SMITH", bean.getName());
+        assertEquals(42, accessors.property("id").getter().get(bean));
+        assertEquals("SMITH", accessors.property("name").getter().get(bean));
+        assertEquals(int.class, accessors.property("id").type());
+    }
+
+    @Test
+    void property_nonPublicClass_boundByLambdaMetafactory() {
+        BeanAccessors.Accessor id = BeanAccessors.of(Bean.class).property("id");
+
+        // lambdas spun by LambdaMetafactory are defined in the lookup class, not in BeanAccessors (the reflection fallback)
+        assertTrue(id.getter().getClass().getName().startsWith(Bean.class.getName()));
+        assertTrue(id.setter().getClass().getName().startsWith(Bean.class.getName()));
+    }
+
+    @Test
+    void field_getAndSet() {
+        BeanAccessors accessors = BeanAccessors.of(Bean.class);
+        Bean bean = new Bean();
+
+        accessors.field("count").setter().set(bean, 7L);
+
+        assertEquals(7L, bean.count);
+        assertEquals(7L, accessors.field("count").getter().get(bean));
+        assertNull(accessors.field("name"));
+    }
+
+    @Test
+    void primitiveSetter_setWithoutBoxing() {
+        BeanAccessors accessors = BeanAccessors.of(Bean.class);
+        Bean bean = new Bean();
+
+        ((BeanAccessors.IntSetter) accessors.property("id").primitiveSetter()).set(bean, 42);
+        ((BeanAccessors.DoubleSetter) accessors.field("rate").primitiveSetter()).set(bean, 1.5);
+
+        assertEquals(42, bean.getId());
+        assertEquals(1.5, bean.rate);
+        assertNull(accessors.property("name").primitiveSetter());
+        assertNull(accessors.field("count").primitiveSetter());
+    }
+
+    @Test
+    void field_nonPublicClass_accessedByHiddenClass() {
+        BeanAccessors.Accessor rate = BeanAccessors.of(Bean.class).field("rate");
+        Bean bean = new Bean();
+
+        rate.setter().set(bean, 2.5);
+        assertEquals(2.5, rate.getter().get(bean));
+
+        // one hidden class which reads and writes the field directly, not a lambda of BeanAccessors (the MethodHandle fallback)
+        assertTrue(rate.getter().getClass().isHidden());
+        assertTrue(rate.getter().getClass().getName().startsWith(Bean.class.getName() + FieldAccessorGenerator.SUFFIX));
+        assertSame(rate.getter(), rate.setter());
+        assertSame(rate.getter(), rate.primitiveSetter());
+    }
+
+    @Test
+    void field_final_getterOnly() {
+        BeanAccessors.Accessor code = BeanAccessors.of(FinalFieldBean.class).field("code");
+
+        assertEquals("A", code.getter().get(new FinalFieldBean()));
+        assertNull(code.setter());
+        assertNull(code.primitiveSetter());
+    }
+
+    public static class FinalFieldBean {
+        public final String code = "A";
+    }
+
+    @Test
+    void of_sameClass_cached() {
+        assertSame(BeanAccessors.of(Bean.class), BeanAccessors.of(Bean.class));
+    }
+}
@@ -0,0 +1,96 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassCacheTest {
+    @Test
+    void get_sameKey_hitsCache() {
+        ClassCache<String> cache = new ClassCache<>(10);
+
+        String first = cache.get(String.class, ZoneId.of("UTC"), Class::getName);
+        String second = cache.get(String.class, ZoneId.of("UTC"), c -> fail("should be cached"));
+
+        assertSame(first, second);
+        assertEquals(new ClassCache.Stats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void get_differentQualifier_missesCache() {
+        ClassCache<String> cache = new ClassCache<>(10);
+
+        cache.get(String.class, ZoneId.of("UTC"), Class::getName);
+        cache.get(String.class, ZoneId.of("Asia/Tokyo"), Class::getName);
+
+        assertEquals(new ClassCache.Stats(0, 2, 0, 2), cache.stats());
+    }
+
+    @Test
+    void get_overMaxSize_evictsOldest() {
+        ClassCache<String> cache = new ClassCache<>(2);
+
+        cache.get(String.class, null, Class::getName);
+        cache.get(Integer.class, null, Class::getName);
+        cache.get(Long.class, null, Class::getName);
+
+        assertEquals(new ClassCache.Stats(0, 3, 1, 2), cache.stats());
+
+        // String.class was evicted, so it is loaded again
+        cache.get(String.class, null, Class::getName);
+        assertEquals(4, cache.stats().missCount());
+    }
+
+    @Test
+    void clearClassLoader_removesClassesOfChildLoader() throws Exception {
+        ClassCache<String> cache = new ClassCache<>(10);
+        IsolatedClassLoader loader = new IsolatedClassLoader(getClass().getClassLoader());
+        Class<?> isolated = loader.loadClass(Isolated.class.getName());
+        assertNotSame(Isolated.class, isolated);
+
+        cache.get(String.class, null, Class::getName);
+        cache.get(isolated, null, Class::getName);
+        assertEquals(2, cache.stats().size());
+        // a class of a child loader is not cache-safe, so it must not be held strongly
+        assertFalse(cache.strongCache.containsKey(new ClassCache.Key(isolated, null)));
+
+        cache.clearClassLoader(loader);
+        assertEquals(1, cache.stats().size());
+    }
+
+    public static class Isolated {
+    }
+
+    /**
+     * Defines {@link Isolated} by itself instead of delegating to the parent, like a web application ClassLoader.
+     */
+    static class IsolatedClassLoader extends ClassLoader {
+        IsolatedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Isolated.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ninja.cero.sqltemplate.core.util;
+
+import ninja.cero.sqltemplate.core.mapper.MapperBuilder;
+import ninja.cero.sqltemplate.test.H2TestConfig;
+import ninja.cero.sqltemplate.test.entity.Emp;
+import ninja.cero.sqltemplate.test.entity.EmpRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link StringDeduplication} makes the equal String values of the chosen columns share one instance.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = H2TestConfig.class)
+class StringDeduplicationTest {
+    static final String SQL = "select empno, ename, job from emp order by empno";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void columns_bean() {
+        StringDeduplication deduplication = StringDeduplication.columns("JOB");
+        MapperBuilder builder = new MapperBuilder(ZoneId.systemDefault(), false, deduplication);
+
+        List<Emp> result = jdbcTemplate.query(SQL, builder.mapper(Emp.class));
+
+        // ALLEN and WARD are SALESMEN
+        assertEquals("SALESMAN", result.get(1).job);
+        assertSame(result.get(1).job, result.get(2).job);
+        assertEquals(new StringDeduplication.Stats(14, 9), deduplication.stats());
+        assertEquals(9.0 / 14, deduplication.stats().ratio());
+    }
+
+    @Test
+    void columns_recordAndBytecode() {
+        StringDeduplication deduplication = StringDeduplication.columns("job");
+
+        List<EmpRecord> records = jdbcTemplate.query(SQL, new MapperBuilder(ZoneId.systemDefault(), false, deduplication).mapper(EmpRecord.class));
+        List<Emp> beans = jdbcTemplate.query(SQL, new MapperBuilder(ZoneId.systemDefault(), true, deduplication).mapper(Emp.class));
+
+        assertSame(records.get(1).job(), records.get(2).job());
+        assertSame(beans.get(1).job, beans.get(2).job);
+        assertEquals(new StringDeduplication.Stats(28, 18), deduplication.stats());
+    }
+
+    @Test
+    void shorterThan_mapAndArray() {
+        // job is VARCHAR(10) and ename is VARCHAR(20)
+        StringDeduplication deduplication = StringDeduplication.shorterThan(10);
+        MapperBuilder builder = new MapperBuilder(ZoneId.systemDefault(), false, deduplication);
+
+        List<Map<String, Object>> maps = jdbcTemplate.query(SQL, builder.mapMapper());
+        List<Object[]> arrays = jdbcTemplate.query(SQL, builder.arrayMapper());
+
+        assertSame(maps.get(1).get("job"), maps.get(2).get("job"));
+        assertSame(arrays.get(1)[2], arrays.get(2)[2]);
+        assertEquals(new StringDeduplication.Stats(28, 18), deduplication.stats());
+    }
+
+    public static class LocaleEmp {
+        public int empno;
+        public Locale locale;
+    }
+
+    public record LocaleEmpRecord(int empno, Locale locale) {
+    }
+
+    @Test
+    void columns_nonStringProperty_converted() {
+        String sql = "select empno, 'ja' as locale from emp order by empno";
+        MapperBuilder builder = new MapperBuilder(ZoneId.systemDefault(), false, StringDeduplication.columns("locale"));
+
+        List<LocaleEmp> beans = jdbcTemplate.query(sql, builder.mapper(LocaleEmp.class));
+        List<LocaleEmpRecord> records = jdbcTemplate.query(sql, builder.mapper(LocaleEmpRecord.class));
+
+        assertEquals(Locale.JAPANESE, beans.get(0).locale);
+        assertEquals(Locale.JAPANESE, records.get(0).locale());
+    }
+
+    @Test
+    void maxEntries_bounded() {
+        StringDeduplication deduplication = StringDeduplication.columns("job").maxEntries(1);
+        MapperBuilder builder = new MapperBuilder(ZoneId.systemDefault(), false, deduplication);
+
+        jdbcTemplate.query(SQL, builder.mapper(Emp.class));
+
+        // only CLERK, the job of the first row, is held
+        assertEquals(new StringDeduplication.Stats(14, 3), deduplication.stats());
+    }
+
+    @Test
+    void table_perResultSet() {
+        StringDeduplication deduplication = StringDeduplication.columns("job");
+        StringDeduplication.Table first = deduplication.newTable();
+        StringDeduplication.Table second = deduplication.newTable();
+        String value = new String("CLERK");
+
+        assertSame(value, first.canonicalize(value));
+        assertSame(value, first.canonicalize(new String("CLERK")));
+        assertNotSame(value, second.canonicalize(new String("CLERK")));
+        assertNull(first.canonicalize(null));
+        assertEquals(new StringDeduplication.Stats(3, 1), deduplication.stats());
+    }
+}
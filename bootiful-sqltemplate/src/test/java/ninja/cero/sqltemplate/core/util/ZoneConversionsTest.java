@@ -0,0 +1,100 @@
+package ninja.cero.sqltemplate.core.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ZoneConversions} must build the same Timestamps as {@link Timestamp#valueOf(LocalDateTime)},
+ * including the gaps and overlaps of both the converted zone and the default time zone.
+ */
+class ZoneConversionsTest {
+    private static final TimeZone DEFAULT = TimeZone.getDefault();
+
+    private static final List<ZoneId> ZONES = List.of(ZoneId.of("America/New_York"), ZoneId.of("Europe/Berlin"),
+            ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Asia/Tokyo"), ZoneOffset.ofHours(-3));
+
+    @AfterEach
+    void restoreDefault() {
+        TimeZone.setDefault(DEFAULT);
+    }
+
+    @Test
+    void getOffset_sameAsRules() {
+        for (ZoneId zoneId : ZONES) {
+            ZoneConversions conversions = ZoneConversions.of(zoneId);
+            for (long epochSecond = 946684800L; epochSecond < 1893456000L; epochSecond += 1800) {
+                assertEquals(zoneId.getRules().getOffset(Instant.ofEpochSecond(epochSecond)), conversions.getOffset(epochSecond),
+                        zoneId + " " + epochSecond);
+            }
+        }
+    }
+
+    @Test
+    void toTimestamp_localDateTime_sameAsValueOf() {
+        for (ZoneId defaultZone : ZONES) {
+            TimeZone.setDefault(TimeZone.getTimeZone(defaultZone));
+            LocalDateTime end = LocalDateTime.of(2031, 1, 1, 0, 0);
+            for (LocalDateTime local = LocalDateTime.of(2020, 1, 1, 0, 0, 0, 123456789); local.isBefore(end); local = local.plusMinutes(15)) {
+                assertEquals(Timestamp.valueOf(local), ZoneConversions.toTimestamp(local), defaultZone + " " + local);
+            }
+        }
+    }
+
+    @Test
+    void toTimestamp_instant_sameAsValueOf() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+        for (ZoneId zoneId : ZONES) {
+            ZoneConversions conversions = ZoneConversions.of(zoneId);
+            for (long epochSecond = 1577836800L; epochSecond < 1924992000L; epochSecond += 900) {
+                ZonedDateTime value = Instant.ofEpochSecond(epochSecond, 5000).atZone(ZoneOffset.UTC);
+                assertEquals(Timestamp.valueOf(value.withZoneSameInstant(zoneId).toLocalDateTime()),
+                        conversions.toTimestamp(value.toEpochSecond(), value.getNano()), zoneId + " " + value);
+            }
+        }
+    }
+
+    @Test
+    void toTimestamp_beforeGregorian_sameAsValueOf() {
+        LocalDateTime local = LocalDateTime.of(1500, 3, 1, 12, 0);
+
+        assertEquals(Timestamp.valueOf(local), ZoneConversions.toTimestamp(local));
+    }
+
+    @Test
+    void convertIfNecessary_offsetDateTime_sameAsBefore() {
+        ZoneId zoneId = ZoneId.of("America/New_York");
+        OffsetDateTime value = OffsetDateTime.of(2021, 11, 7, 5, 30, 0, 0, ZoneOffset.UTC);
+
+        assertEquals(Timestamp.valueOf(value.atZoneSameInstant(zoneId).toLocalDateTime()), JdbcValueUtils.convertIfNecessary(value, zoneId));
+    }
+
+    @Test
+    void systemDefault_followsDefaultTimeZone() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        ZoneConversions tokyo = ZoneConversions.systemDefault();
+        assertSame(tokyo, ZoneConversions.systemDefault());
+        assertSame(ZoneConversions.of(ZoneId.of("Asia/Tokyo")), tokyo);
+
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+        assertSame(ZoneConversions.of(ZoneId.of("Europe/Berlin")), ZoneConversions.systemDefault());
+        LocalDateTime local = LocalDateTime.of(2021, 3, 28, 1, 30);
+        assertEquals(Timestamp.valueOf(local), ZoneConversions.toTimestamp(local));
+    }
+
+    @Test
+    void of_cached() {
+        assertSame(ZoneConversions.of(ZoneId.of("Asia/Tokyo")), ZoneConversions.of(ZoneId.of("Asia/Tokyo")));
+    }
+}
@@ -0,0 +1 @@
+INSERT INTO emp (empno, ename) VALUES (?, '${name}')
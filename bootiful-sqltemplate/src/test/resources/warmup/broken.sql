@@ -0,0 +1 @@
+SELECT * FROM emp WHERE <#if>